@@ -0,0 +1,131 @@
+package com.fabriciojf.threadpool.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fabriciojf.threadpool.Callback;
+import com.fabriciojf.threadpool.Delay;
+import com.fabriciojf.threadpool.RepetitionEnum;
+
+/**
+ * Atraso entre o instante previsto e o instante real de início das execuções
+ * de processos {@link RepetitionEnum#PERIODIC} e
+ * {@link RepetitionEnum#SEQUENTIAL}. O benchmark apenas coleta, a cada 10 ms,
+ * os atrasos registrados pelos processos; o resultado de interesse está nos
+ * contadores secundários: a soma dos atrasos em microssegundos e o número de
+ * disparos da iteração, cuja razão é o atraso médio.
+ *
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@Threads(1)
+public class DisparoBenchmark {
+
+    static final long INTERVALO_EM_MILIS = 50;
+
+    @State(Scope.Benchmark)
+    public static class Medicao {
+
+        @Param({"PERIODIC", "SEQUENTIAL"})
+        public RepetitionEnum repeticao;
+
+        @Param({"100", "1000"})
+        public int medidos;
+
+        final AtomicLong somaDosAtrasosNanos = new AtomicLong();
+        final AtomicLong disparos = new AtomicLong();
+
+        private final List<Delay> processos = new ArrayList<Delay>();
+
+        @Setup(Level.Trial)
+        public void iniciar(PoolCarregado pool) {
+            final long intervaloNanos
+                    = TimeUnit.MILLISECONDS.toNanos(INTERVALO_EM_MILIS);
+            for (int i = 0; i < medidos; i++) {
+                final Delay delay = pool.novo("medido-" + i);
+                final long[] previsto = {System.nanoTime() + intervaloNanos};
+                delay.setCallback(new Callback() {
+                    @Override
+                    public void run() {
+                        long inicio = System.nanoTime();
+                        somaDosAtrasosNanos.addAndGet(
+                                Math.max(inicio - previsto[0], 0));
+                        disparos.incrementAndGet();
+                        if (repeticao == RepetitionEnum.PERIODIC) {
+                            previsto[0] += intervaloNanos;
+                        } else {
+                            previsto[0] = System.nanoTime() + intervaloNanos;
+                        }
+                    }
+                });
+                delay.setRepeticao(repeticao);
+                delay.setAtraso(INTERVALO_EM_MILIS, TimeUnit.MILLISECONDS);
+                delay.setIntervalo(INTERVALO_EM_MILIS, TimeUnit.MILLISECONDS);
+                delay.executar();
+                processos.add(delay);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void encerrar() {
+            for (Delay delay : processos) {
+                delay.interromper();
+            }
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Atraso {
+
+        public long atrasoTotalMicros;
+        public long disparos;
+
+        long somaAnterior;
+        long disparosAnteriores;
+
+        @Setup(Level.Iteration)
+        public void zerar(Medicao medicao) {
+            atrasoTotalMicros = 0;
+            disparos = 0;
+            somaAnterior = medicao.somaDosAtrasosNanos.get();
+            disparosAnteriores = medicao.disparos.get();
+        }
+    }
+
+    @Benchmark
+    public void coletar(Medicao medicao, Atraso atraso)
+            throws InterruptedException {
+        TimeUnit.MILLISECONDS.sleep(10);
+        long soma = medicao.somaDosAtrasosNanos.get();
+        long disparos = medicao.disparos.get();
+        atraso.atrasoTotalMicros += (soma - atraso.somaAnterior) / 1000;
+        atraso.disparos += disparos - atraso.disparosAnteriores;
+        atraso.somaAnterior = soma;
+        atraso.disparosAnteriores = disparos;
+    }
+}
@@ -0,0 +1,54 @@
+package com.fabriciojf.threadpool.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fabriciojf.threadpool.Delay;
+
+/**
+ * Vazão de {@link Delay#executar()} para processos de execução única sem
+ * atraso, com 1 a 64 threads submetendo ao mesmo pool.
+ *
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExecutarBenchmark {
+
+    @Benchmark
+    @Threads(1)
+    public boolean executar01(PoolCarregado pool) {
+        return pool.novo("submissao").executar();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean executar04(PoolCarregado pool) {
+        return pool.novo("submissao").executar();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public boolean executar16(PoolCarregado pool) {
+        return pool.novo("submissao").executar();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public boolean executar64(PoolCarregado pool) {
+        return pool.novo("submissao").executar();
+    }
+}
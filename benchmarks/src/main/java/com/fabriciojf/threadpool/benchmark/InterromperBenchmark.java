@@ -0,0 +1,61 @@
+package com.fabriciojf.threadpool.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fabriciojf.threadpool.Delay;
+
+/**
+ * Custo de agendar e cancelar repetidamente um processo que não chega a
+ * disparar, com {@link Delay#executar()} seguido de
+ * {@link Delay#interromper()}.
+ *
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InterromperBenchmark {
+
+    @State(Scope.Thread)
+    public static class Processo {
+
+        Delay delay;
+
+        @Setup(Level.Trial)
+        public void iniciar(PoolCarregado pool) {
+            delay = pool.novo("rotatividade-" + Thread.currentThread().getId());
+            delay.setAtraso(PoolCarregado.UM_DIA_EM_SEGUNDOS);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void agendarECancelar01(Processo processo) {
+        processo.delay.executar();
+        processo.delay.interromper();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void agendarECancelar16(Processo processo) {
+        processo.delay.executar();
+        processo.delay.interromper();
+    }
+}
@@ -0,0 +1,89 @@
+package com.fabriciojf.threadpool.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fabriciojf.threadpool.Multiton;
+import com.fabriciojf.threadpool.PoolDeThreads;
+
+/**
+ * Contenção em {@link Multiton#obter(String, Class)} com 1 a 64 threads
+ * consultando nomes já registrados.
+ *
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MultitonBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int registros;
+
+    private String[] nomes;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        nomes = new String[registros];
+        for (int i = 0; i < registros; i++) {
+            nomes[i] = "multiton-" + i;
+            Multiton.getInstance().obter(nomes[i], PoolDeThreads.class);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        for (String nome : nomes) {
+            Multiton.getInstance().descartar(nome, PoolDeThreads.class);
+        }
+    }
+
+    private PoolDeThreads obter() {
+        String nome = nomes[ThreadLocalRandom.current().nextInt(registros)];
+        return Multiton.getInstance().obter(nome, PoolDeThreads.class);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public PoolDeThreads obter01() {
+        return obter();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public PoolDeThreads obter04() {
+        return obter();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public PoolDeThreads obter16() {
+        return obter();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public PoolDeThreads obter64() {
+        return obter();
+    }
+}
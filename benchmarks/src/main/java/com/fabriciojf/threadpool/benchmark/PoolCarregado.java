@@ -0,0 +1,100 @@
+package com.fabriciojf.threadpool.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.fabriciojf.threadpool.Callback;
+import com.fabriciojf.threadpool.Delay;
+import com.fabriciojf.threadpool.LoopProcess;
+import com.fabriciojf.threadpool.Multiton;
+import com.fabriciojf.threadpool.PoolDeThreads;
+import com.fabriciojf.threadpool.RepetitionEnum;
+import com.fabriciojf.threadpool.SchedulerEnum;
+
+/**
+ * Pool de threads nomeado, registrado no {@link Multiton}, já carregado com a
+ * quantidade indicada de processos agendados que não disparam durante a
+ * medição. Permite observar como o custo das operações escala com o número de
+ * processos registrados.
+ *
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+public class PoolCarregado {
+
+    static final long UM_DIA_EM_SEGUNDOS = 24 * 60 * 60;
+    static final Callback VAZIO = new Callback() {
+        @Override
+        public void run() {
+        }
+    };
+
+    private static final AtomicInteger sequencia = new AtomicInteger();
+
+    @Param({"EXECUTOR", "TIMING_WHEEL", "VIRTUAL_THREADS"})
+    public SchedulerEnum motor;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int processos;
+
+    /**
+     * Número de partições do pool; zero usa uma partição por núcleo.
+     */
+    @Param({"1", "0"})
+    public int particoes;
+
+    public String nome;
+    public PoolDeThreads pool;
+
+    private List<LoopProcess> ociosos;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        nome = "benchmark-" + motor + "-" + sequencia.incrementAndGet();
+        int nucleos = Runtime.getRuntime().availableProcessors();
+        pool = PoolDeThreads.registrarParticionado(nome, nucleos, motor,
+                particoes > 0 ? particoes : nucleos);
+        ociosos = new ArrayList<LoopProcess>(processos);
+        for (int i = 0; i < processos; i++) {
+            Delay ocioso = novo("ocioso-" + i);
+            ocioso.setRepeticao(RepetitionEnum.PERIODIC);
+            ocioso.setAtraso(UM_DIA_EM_SEGUNDOS);
+            ocioso.setSegundos(UM_DIA_EM_SEGUNDOS);
+            ocioso.executar();
+            ociosos.add(ocioso);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        for (LoopProcess ocioso : ociosos) {
+            ocioso.interromper();
+        }
+        ociosos.clear();
+        pool.shutdown(true);
+        Multiton.getInstance().descartar(nome, PoolDeThreads.class);
+    }
+
+    /**
+     * Novo processo vazio executado neste pool.
+     *
+     * @param nomeDoProcesso Nome do processo.
+     * @return Processo vazio executado neste pool.
+     */
+    public Delay novo(String nomeDoProcesso) {
+        Delay delay = new Delay(VAZIO);
+        delay.setNome(nomeDoProcesso);
+        delay.setPoolDeThreads(nome);
+        return delay;
+    }
+}
@@ -0,0 +1,284 @@
+package com.fabriciojf.threadpool;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base dos motores de agendamento do pacote. Concentra a semântica de
+ * repetição em {@link TarefaAgendada} de modo que cada motor precise apenas
+ * guardar as tarefas até o instante do disparo e despachá-las para execução.
+ *
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+abstract class AbstractSchedulerEngine implements SchedulerEngine {
+
+    @Override
+    public Future<?> agendarUmaExecucao(Runnable processo, long atraso,
+            TimeUnit unidade) {
+        return agendar(new Agendamento(processo, RepetitionEnum.ONCE,
+                unidade.toNanos(atraso), 0));
+    }
+
+    @Override
+    public Future<?> agendarPeriodo(Runnable processo, long atraso,
+            long intervalo, TimeUnit unidade) {
+        return agendar(new Agendamento(processo, RepetitionEnum.PERIODIC,
+                unidade.toNanos(atraso), unidade.toNanos(intervalo)));
+    }
+
+    @Override
+    public Future<?> agendarSequencia(Runnable processo, long atraso,
+            long intervalo, TimeUnit unidade) {
+        return agendar(new Agendamento(processo, RepetitionEnum.SEQUENTIAL,
+                unidade.toNanos(atraso), unidade.toNanos(intervalo)));
+    }
+
+    /**
+     * Agenda o processo conforme a descrição completa do agendamento. Com
+     * {@link Agendamento#substituida} a nova tarefa assume o agendamento da
+     * anterior, veja {@link TarefaAgendada#substituir(TarefaAgendada)}.
+     *
+     * @param agendamento A descrição do agendamento.
+     * @return O objeto para gerenciamento da execução do processo.
+     */
+    TarefaAgendada agendar(Agendamento agendamento) {
+        TarefaAgendada tarefa = criar(agendamento);
+        TarefaAgendada substituida = agendamento.substituida;
+        if (substituida == null) {
+            inserir(tarefa);
+            return tarefa;
+        }
+        // a substituída não é cancelada se este motor não aceitar a tarefa
+        if (isDesligado()) {
+            throw new RejectedExecutionException("Motor encerrado");
+        }
+        agendamento.substituida = null;
+        substituida.substituir(tarefa);
+        return tarefa;
+    }
+
+    /**
+     * Agenda vários processos de uma só vez, com uma única inserção em lote
+     * no motor. Um agendamento inválido não impede os demais.
+     *
+     * @param agendamentos As descrições dos agendamentos.
+     * @param erros Recebe, na posição de cada agendamento recusado, o motivo
+     * da recusa.
+     * @return As tarefas na ordem dos agendamentos, com nulo nas posições
+     * recusadas.
+     */
+    TarefaAgendada[] agendarTodos(List<Agendamento> agendamentos,
+            RuntimeException[] erros) {
+        TarefaAgendada[] tarefas = new TarefaAgendada[agendamentos.size()];
+        List<TarefaAgendada> criadas = new ArrayList<TarefaAgendada>(
+                tarefas.length);
+        for (int i = 0; i < tarefas.length; i++) {
+            try {
+                tarefas[i] = criar(agendamentos.get(i));
+                criadas.add(tarefas[i]);
+            } catch (RuntimeException ex) {
+                erros[i] = ex;
+            }
+        }
+        try {
+            inserirTodos(criadas);
+        } catch (RuntimeException ex) {
+            for (int i = 0; i < tarefas.length; i++) {
+                if (tarefas[i] != null) {
+                    tarefas[i] = null;
+                    erros[i] = ex;
+                }
+            }
+        }
+        return tarefas;
+    }
+
+    private TarefaAgendada criar(Agendamento agendamento) {
+        if (agendamento.processo == null || agendamento.repeticao == null) {
+            throw new NullPointerException();
+        }
+        if (agendamento.repeticao == RepetitionEnum.CRON) {
+            if (agendamento.cron == null) {
+                throw new IllegalArgumentException(
+                        "Expressão cron não informada");
+            }
+        } else if (agendamento.repeticao != RepetitionEnum.ONCE) {
+            validarIntervalo(agendamento.intervaloNanos);
+        }
+        long atraso = Math.max(agendamento.atrasoNanos, 0);
+        Relogio relogio = getRelogio();
+        TarefaAgendada tarefa = new TarefaAgendada(this, agendamento,
+                relogio.nanoTime() + atraso);
+        // um cron imediato dispara após o atraso e só então segue a expressão
+        if (agendamento.repeticao == RepetitionEnum.CRON
+                && !agendamento.imediato
+                && !tarefa.planejarCron(relogio.currentTimeMillis()
+                        + TimeUnit.NANOSECONDS.toMillis(atraso))) {
+            throw new IllegalArgumentException(
+                    "Expressão cron sem próximo disparo: " + agendamento.cron);
+        }
+        return tarefa;
+    }
+
+    private static void validarIntervalo(long intervalo) {
+        if (intervalo <= 0) {
+            throw new IllegalArgumentException(
+                    "O intervalo deve ser maior que zero: " + intervalo);
+        }
+    }
+
+    /**
+     * Fonte de tempo dos disparos deste motor.
+     *
+     * @return Relógio do motor, por padrão o do sistema.
+     */
+    Relogio getRelogio() {
+        return Relogio.SISTEMA;
+    }
+
+    /**
+     * Guarda a tarefa até o instante indicado por
+     * {@link TarefaAgendada#getDisparoNanos()}. Pode ser chamado de qualquer
+     * thread, inclusive de dentro da execução da própria tarefa.
+     *
+     * @param tarefa A tarefa a ser agendada.
+     */
+    abstract void inserir(TarefaAgendada tarefa);
+
+    /**
+     * Guarda várias tarefas de uma só vez. Motores com estruturas
+     * compartilhadas sobrescrevem este método para tocá-las uma única vez
+     * por lote.
+     *
+     * @param tarefas As tarefas a serem agendadas.
+     */
+    void inserirTodos(List<TarefaAgendada> tarefas) {
+        for (TarefaAgendada tarefa : tarefas) {
+            inserir(tarefa);
+        }
+    }
+
+    /**
+     * Retira a tarefa cancelada das estruturas do motor.
+     *
+     * @param tarefa A tarefa cancelada.
+     */
+    abstract void remover(TarefaAgendada tarefa);
+
+    /**
+     * Retira várias tarefas canceladas de uma só vez.
+     *
+     * @param tarefas As tarefas canceladas.
+     */
+    void removerTodos(List<TarefaAgendada> tarefas) {
+        for (TarefaAgendada tarefa : tarefas) {
+            remover(tarefa);
+        }
+    }
+
+    /**
+     * Diz se o motor foi encerrado. Processos repetitivos não são mais
+     * reagendados após o encerramento.
+     *
+     * @return Verdadeiro se o motor foi encerrado.
+     */
+    abstract boolean isDesligado();
+
+    /**
+     * Executor em que as tarefas vencidas são executadas.
+     *
+     * @return Executor das tarefas vencidas.
+     */
+    abstract ExecutorService getExecutor();
+
+    /**
+     * Número de threads configurado no executor do motor.
+     *
+     * @return Número de threads configurado, ou -1 se o executor não puder
+     * ser redimensionado.
+     */
+    int getThreads() {
+        ExecutorService executor = getExecutor();
+        if (executor instanceof ThreadPoolExecutor) {
+            return ((ThreadPoolExecutor) executor).getCorePoolSize();
+        }
+        if (executor instanceof ThreadPerTaskExecutor) {
+            return ((ThreadPerTaskExecutor) executor).getLimite();
+        }
+        return -1;
+    }
+
+    /**
+     * Número de threads executando tarefas no momento.
+     *
+     * @return Número aproximado de threads ocupadas.
+     */
+    int getThreadsAtivas() {
+        ExecutorService executor = getExecutor();
+        if (executor instanceof ThreadPoolExecutor) {
+            return ((ThreadPoolExecutor) executor).getActiveCount();
+        }
+        if (executor instanceof ThreadPerTaskExecutor) {
+            return ((ThreadPerTaskExecutor) executor).getAtivas();
+        }
+        return 0;
+    }
+
+    /**
+     * Número de tarefas vencidas aguardando uma thread livre.
+     *
+     * @return Número aproximado de tarefas vencidas na fila.
+     */
+    int getProntas() {
+        ExecutorService executor = getExecutor();
+        if (executor instanceof ThreadPoolExecutor) {
+            return ((ThreadPoolExecutor) executor).getQueue().size();
+        }
+        if (executor instanceof ThreadPerTaskExecutor) {
+            return ((ThreadPerTaskExecutor) executor).getPendentes();
+        }
+        return 0;
+    }
+
+    /**
+     * Altera o número de threads do executor sem afetar as tarefas agendadas.
+     * Threads ociosas por mais tempo que a ociosidade indicada são encerradas
+     * e recriadas conforme a demanda.
+     *
+     * @param threads Novo número de threads.
+     * @param ociosidadeNanos Tempo máximo de ociosidade de uma thread.
+     * @return Verdadeiro se o executor pôde ser redimensionado.
+     */
+    boolean redimensionar(int threads, long ociosidadeNanos) {
+        ExecutorService executor = getExecutor();
+        if (executor instanceof ThreadPoolExecutor) {
+            ThreadPoolExecutor pool = (ThreadPoolExecutor) executor;
+            pool.setKeepAliveTime(ociosidadeNanos, TimeUnit.NANOSECONDS);
+            pool.allowCoreThreadTimeOut(true);
+            // o núcleo nunca pode ultrapassar o máximo durante a troca
+            if (threads > pool.getMaximumPoolSize()) {
+                pool.setMaximumPoolSize(threads);
+                pool.setCorePoolSize(threads);
+            } else {
+                pool.setCorePoolSize(threads);
+                if (!(pool instanceof ScheduledThreadPoolExecutor)) {
+                    pool.setMaximumPoolSize(threads);
+                }
+            }
+            return true;
+        }
+        if (executor instanceof ThreadPerTaskExecutor) {
+            ((ThreadPerTaskExecutor) executor).setLimite(threads);
+            return true;
+        }
+        return false;
+    }
+}
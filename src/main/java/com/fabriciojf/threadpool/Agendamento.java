@@ -0,0 +1,43 @@
+package com.fabriciojf.threadpool;
+
+/**
+ * Descrição completa do agendamento de um processo, usada entre
+ * {@link LoopProcess}, {@link PoolDeThreads} e os motores de agendamento para
+ * transportar opções que não cabem nos métodos agendar* públicos.
+ *
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+final class Agendamento {
+
+    Runnable processo;
+    String chave;
+    RepetitionEnum repeticao = RepetitionEnum.ONCE;
+    long atrasoNanos;
+    long intervaloNanos;
+    ExpressaoCron cron;
+    boolean imediato;
+    OverrunEnum sobreposicao = OverrunEnum.CATCH_UP;
+    int recuperacoesPorIntervalo = 2;
+    int execucoesSimultaneas = 1;
+    MetricasDeExecucao metricasDoProcesso;
+    MetricasDeExecucao metricasDoPool;
+    ControleDeAdmissao admissao;
+    Limitador limitador;
+    int prioridade;
+    long prazoNanos;
+    long tempoLimiteNanos;
+    TimeoutEnum acaoNoTempoLimite = TimeoutEnum.RESCHEDULE;
+    // tarefa que o novo agendamento substitui, veja TarefaAgendada#substituir
+    TarefaAgendada substituida;
+    boolean continuarGrade;
+
+    Agendamento(Runnable processo, RepetitionEnum repeticao, long atrasoNanos,
+            long intervaloNanos) {
+        this.processo = processo;
+        this.repeticao = repeticao;
+        this.atrasoNanos = atrasoNanos;
+        this.intervaloNanos = intervaloNanos;
+    }
+}
@@ -0,0 +1,64 @@
+package com.fabriciojf.threadpool;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Processo auto-executável assíncrono. Em vez de {@link #run()}, classes
+ * interessadas definem {@link #processar()}, que inicia o trabalho, por
+ * exemplo uma chamada NIO ou HTTP, e devolve um {@link CompletionStage} sem
+ * esperar por ele. A thread do pool é liberada assim que o método retorna e a
+ * execução só termina quando o estágio for concluído: é a partir deste
+ * instante que o intervalo de um processo {@link RepetitionEnum#SEQUENTIAL} é
+ * contado, que o próximo disparo de um processo periódico é calculado conforme
+ * a {@link OverrunEnum política de sobreposição} e que a duração da execução
+ * é medida. Um estágio concluído com exceção encerra o agendamento, como uma
+ * exceção lançada por {@link LoopProcess#run()}.
+ *
+ * Desta forma poucas threads conseguem manter milhares de processos em
+ * andamento ao mesmo tempo. O estágio pode ser concluído em qualquer thread;
+ * o reagendamento acontece na thread que o concluir.
+ *
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+public abstract class AsyncLoopProcess extends LoopProcess {
+
+    /**
+     * Constrói um processo assíncrono com um nome definido.
+     *
+     * @param nome O nome do processo.
+     */
+    public AsyncLoopProcess(String nome) {
+        super(nome);
+    }
+
+    /**
+     * Inicia uma execução do processo sem bloquear a thread do pool.
+     *
+     * @return Estágio cuja conclusão marca o fim da execução. Nulo indica uma
+     * execução já concluída.
+     */
+    public abstract CompletionStage<?> processar();
+
+    @Override
+    CompletionStage<?> iniciar() {
+        return processar();
+    }
+
+    /**
+     * Executa o processo e aguarda a conclusão do estágio devolvido por
+     * {@link #processar()}, para uso fora de um {@link PoolDeThreads}. Os
+     * motores do pool nunca chamam este método.
+     *
+     * @throws CompletionException Se o estágio for concluído com exceção.
+     */
+    @Override
+    public final void run() {
+        CompletionStage<?> estagio = processar();
+        if (estagio != null) {
+            estagio.toCompletableFuture().join();
+        }
+    }
+}
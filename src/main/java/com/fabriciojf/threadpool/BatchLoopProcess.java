@@ -0,0 +1,391 @@
+package com.fabriciojf.threadpool;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Processo que acumula itens recebidos de várias threads e os entrega em
+ * lotes a {@link #processarLote(List)}, por exemplo para gravá-los em um
+ * banco de dados. Os itens entram por {@link #adicionar(Object)} em uma fila
+ * limitada sem bloqueio e o lote é entregue quando atinge
+ * {@link #getTamanhoDoLote()} itens ou quando o item mais antigo completa
+ * {@link #getRetencao(TimeUnit) o tempo máximo de retenção}, o que acontecer
+ * primeiro. Nenhum agendamento é feito por item.
+ *
+ * O processo é agendado como {@link RepetitionEnum#SEQUENTIAL} com o tempo
+ * de retenção como intervalo; quando a fila acumula um lote completo uma
+ * execução extra é agendada imediatamente no mesmo pool. Somente uma execução
+ * por vez esvazia a fila. Com a fila cheia, {@link #adicionar(Object)} aplica
+ * a {@link #getRejeicao() política de rejeição} do processo.
+ *
+ * Diferente de {@link LoopProcess#run()}, uma exceção lançada por
+ * {@link #processarLote(List)} não encerra o agendamento: ela é registrada
+ * no log, o lote é descartado e a entrega dos próximos lotes continua.
+ *
+ * @param <T> Tipo dos itens.
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+public abstract class BatchLoopProcess<T> extends LoopProcess {
+
+    private final FilaMpsc<T> fila;
+    private final List<T> lote = new ArrayList<T>();
+    // papel de consumidor da fila, mantido só enquanto itens são retirados
+    private final AtomicBoolean esvaziando = new AtomicBoolean();
+    private final AtomicBoolean entregando = new AtomicBoolean();
+    private final AtomicBoolean solicitado = new AtomicBoolean();
+    private final AtomicLong rejeitados = new AtomicLong();
+    private final AtomicLong lotesComFalha = new AtomicLong();
+    private final Object espaco = new Object();
+    private volatile int aguardando;
+    private volatile int tamanhoDoLote = 100;
+    private volatile RejectionEnum rejeicao = RejectionEnum.BLOCK;
+    private volatile long esperaMaximaNanos = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * Constrói um processo de lotes com capacidade para 8192 itens e retenção
+     * máxima de um segundo.
+     *
+     * @param nome O nome do processo.
+     */
+    public BatchLoopProcess(String nome) {
+        this(nome, 8192);
+    }
+
+    /**
+     * Constrói um processo de lotes com retenção máxima de um segundo.
+     *
+     * @param nome O nome do processo.
+     * @param capacidade Número máximo de itens aguardando entrega,
+     * arredondado para a próxima potência de dois.
+     */
+    public BatchLoopProcess(String nome, int capacidade) {
+        super(nome);
+        this.fila = new FilaMpsc<T>(capacidade);
+        setRepeticao(RepetitionEnum.SEQUENTIAL);
+        setRetencao(1, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Entrega um lote de itens. A lista é reaproveitada entre as chamadas e
+     * não deve ser guardada após o retorno.
+     *
+     * @param lote Itens na ordem em que foram adicionados, no máximo
+     * {@link #getTamanhoDoLote()}.
+     */
+    public abstract void processarLote(List<T> lote);
+
+    /**
+     * Adiciona um item para entrega no próximo lote. Pode ser chamado por
+     * qualquer thread.
+     *
+     * @param item Item a entregar.
+     * @throws RejectedExecutionException Se a fila estiver cheia e a política
+     * de rejeição recusar o item.
+     */
+    public void adicionar(T item) {
+        if (item == null) {
+            throw new NullPointerException();
+        }
+        if (!fila.oferecer(item)) {
+            aplicarRejeicao(item);
+        }
+        if (fila.tamanho() >= tamanhoDoLote) {
+            solicitar();
+        }
+    }
+
+    private void aplicarRejeicao(T item) {
+        switch (rejeicao) {
+            case CALLER_RUNS:
+                // esvazia a fila na thread do produtor, se ninguém o faz
+                run();
+                if (fila.oferecer(item) || aguardar(item)) {
+                    return;
+                }
+                break;
+            case DROP_OLDEST:
+                while (!fila.oferecer(item)) {
+                    if (!descartarMaisAntigo()) {
+                        Thread.yield();
+                    }
+                }
+                return;
+            case BLOCK:
+                if (aguardar(item)) {
+                    return;
+                }
+                break;
+            default:
+            case FAIL_FAST:
+                break;
+        }
+        rejeitados.incrementAndGet();
+        throw new RejectedExecutionException(
+                "Fila do processo " + getNome() + " cheia: "
+                + fila.getCapacidade());
+    }
+
+    private boolean aguardar(T item) {
+        long limite = System.nanoTime() + esperaMaximaNanos;
+        synchronized (espaco) {
+            aguardando++;
+            try {
+                while (!fila.oferecer(item)) {
+                    long restante = limite - System.nanoTime();
+                    if (restante <= 0) {
+                        return false;
+                    }
+                    solicitar();
+                    TimeUnit.NANOSECONDS.timedWait(espaco, restante);
+                }
+                return true;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return false;
+            } finally {
+                aguardando--;
+            }
+        }
+    }
+
+    /**
+     * Descarta o item mais antigo da fila, assumindo o papel de consumidor
+     * somente se ninguém estiver retirando itens no momento. A entrega de um
+     * lote acontece fora desse papel, de modo que o produtor nunca espera
+     * por {@link #processarLote(List)}.
+     */
+    private boolean descartarMaisAntigo() {
+        if (!esvaziando.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            if (fila.retirar() != null) {
+                rejeitados.incrementAndGet();
+            }
+            return true;
+        } finally {
+            esvaziando.set(false);
+        }
+    }
+
+    /**
+     * Agenda uma execução imediata para entregar um lote completo, uma única
+     * vez até a próxima execução.
+     */
+    private void solicitar() {
+        if (solicitado.get() || !isExecutando()
+                || !solicitado.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executarAgora();
+        } catch (RuntimeException ex) {
+            // o lote será entregue pela execução sequencial
+            solicitado.set(false);
+        }
+    }
+
+    /**
+     * Esvazia a fila entregando os itens em lotes de até
+     * {@link #getTamanhoDoLote()}. Não faz nada se outra execução já estiver
+     * esvaziando a fila.
+     */
+    @Override
+    public final void run() {
+        if (!entregando.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            // itens que chegarem durante a entrega ficam para a próxima
+            int restantes = fila.tamanho();
+            while (restantes > 0) {
+                retirarLote(tamanhoDoLote);
+                if (lote.isEmpty()) {
+                    break;
+                }
+                restantes -= lote.size();
+                acordarProdutores();
+                entregar();
+            }
+        } finally {
+            entregando.set(false);
+            solicitado.set(false);
+        }
+        if (fila.tamanho() >= tamanhoDoLote) {
+            solicitar();
+        }
+    }
+
+    /**
+     * Retira até o tamanho indicado de itens para o lote. Um produtor que
+     * descarta o item mais antigo ocupa o papel de consumidor só pelo tempo
+     * de uma retirada.
+     */
+    private void retirarLote(int tamanho) {
+        while (!esvaziando.compareAndSet(false, true)) {
+            Thread.yield();
+        }
+        try {
+            T item;
+            while (lote.size() < tamanho && (item = fila.retirar()) != null) {
+                lote.add(item);
+            }
+        } finally {
+            esvaziando.set(false);
+        }
+    }
+
+    private void entregar() {
+        try {
+            processarLote(lote);
+        } catch (RuntimeException ex) {
+            lotesComFalha.incrementAndGet();
+            log.error("Exceção processando lote de " + lote.size()
+                    + " itens do processo " + getNome(), ex);
+        } finally {
+            lote.clear();
+        }
+    }
+
+    private void acordarProdutores() {
+        if (aguardando > 0) {
+            synchronized (espaco) {
+                espaco.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Número de itens aguardando entrega.
+     *
+     * @return Número aproximado de itens na fila.
+     */
+    public int getPendentes() {
+        return fila.tamanho();
+    }
+
+    /**
+     * Número máximo de itens aguardando entrega.
+     *
+     * @return Capacidade da fila, uma potência de dois.
+     */
+    public int getCapacidade() {
+        return fila.getCapacidade();
+    }
+
+    /**
+     * Número de itens recusados ou descartados com a fila cheia.
+     *
+     * @return Número de itens rejeitados.
+     */
+    public long getRejeitados() {
+        return rejeitados.get();
+    }
+
+    /**
+     * Número de lotes descartados por uma exceção de
+     * {@link #processarLote(List)}.
+     *
+     * @return Número de lotes com falha.
+     */
+    public long getLotesComFalha() {
+        return lotesComFalha.get();
+    }
+
+    /**
+     * Número máximo de itens entregues em cada lote. Ao atingir este número
+     * de itens na fila o lote é entregue sem esperar o tempo de retenção.
+     *
+     * @return Número máximo de itens por lote. O padrão é 100.
+     */
+    public int getTamanhoDoLote() {
+        return tamanhoDoLote;
+    }
+
+    /**
+     * Número máximo de itens entregues em cada lote.
+     *
+     * @param tamanhoDoLote Número máximo de itens por lote.
+     */
+    public void setTamanhoDoLote(int tamanhoDoLote) {
+        if (tamanhoDoLote <= 0) {
+            throw new IllegalArgumentException(
+                    "Tamanho do lote inválido: " + tamanhoDoLote);
+        }
+        this.tamanhoDoLote = tamanhoDoLote;
+    }
+
+    /**
+     * Tempo máximo que um item aguarda na fila antes da entrega de um lote
+     * incompleto, que é o intervalo do agendamento sequencial.
+     *
+     * @param unidade Unidade de tempo desejada.
+     * @return Tempo máximo de retenção, truncado para a unidade indicada.
+     */
+    public long getRetencao(TimeUnit unidade) {
+        return getIntervalo(unidade);
+    }
+
+    /**
+     * Tempo máximo que um item aguarda na fila antes da entrega de um lote
+     * incompleto, acrescido da duração da entrega anterior.
+     *
+     * @param retencao Tempo máximo de retenção.
+     * @param unidade Unidade de tempo da retenção.
+     */
+    public void setRetencao(long retencao, TimeUnit unidade) {
+        setIntervalo(retencao, unidade);
+    }
+
+    /**
+     * Política aplicada a {@link #adicionar(Object)} com a fila cheia:
+     * {@link RejectionEnum#BLOCK}, padrão, aguarda espaço até
+     * {@link #getEsperaMaxima(TimeUnit)}; {@link RejectionEnum#CALLER_RUNS}
+     * entrega os lotes na thread do produtor;
+     * {@link RejectionEnum#DROP_OLDEST} descarta o item mais antigo; ou,
+     * {@link RejectionEnum#FAIL_FAST} recusa o item.
+     *
+     * @return Política aplicada com a fila cheia.
+     */
+    public RejectionEnum getRejeicao() {
+        return rejeicao;
+    }
+
+    /**
+     * Política aplicada a {@link #adicionar(Object)} com a fila cheia.
+     *
+     * @param rejeicao Política aplicada com a fila cheia.
+     * @see #getRejeicao()
+     */
+    public void setRejeicao(RejectionEnum rejeicao) {
+        this.rejeicao = rejeicao;
+    }
+
+    /**
+     * Tempo máximo de espera por espaço na fila com a política
+     * {@link RejectionEnum#BLOCK}.
+     *
+     * @param unidade Unidade de tempo desejada.
+     * @return Tempo máximo de espera, truncado para a unidade indicada.
+     */
+    public long getEsperaMaxima(TimeUnit unidade) {
+        return unidade.convert(esperaMaximaNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Tempo máximo de espera por espaço na fila com a política
+     * {@link RejectionEnum#BLOCK}.
+     *
+     * @param espera Tempo máximo de espera.
+     * @param unidade Unidade de tempo da espera.
+     */
+    public void setEsperaMaxima(long espera, TimeUnit unidade) {
+        this.esperaMaximaNanos = unidade.toNanos(espera);
+    }
+}
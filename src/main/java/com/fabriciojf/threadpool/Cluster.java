@@ -0,0 +1,423 @@
+package com.fabriciojf.threadpool;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Modo cluster: vários nós executando o mesmo serviço dividem entre si os
+ * processos, e cada processo executa em um único nó. Os processos são
+ * distribuídos por hash consistente do {@link LoopProcess#getNome() nome}
+ * entre os nós vivos, de modo que a entrada ou a saída de um nó move apenas
+ * a parte dos processos que lhe cabe.
+ *
+ * Cada nó se anuncia e renova as posses dos seus processos na
+ * {@link CoordenacaoDeCluster coordenação} a cada terço da
+ * {@link #getValidade(TimeUnit) validade}. Um processo só executa se o nó
+ * tiver a posse e ela não tiver vencido no relógio local; um nó que perde
+ * contato com a coordenação para de executar antes que outro nó possa
+ * adquirir a posse. O {@link #getToken(LoopProcess) token de cerca} permite
+ * que recursos externos recusem escritas de um dono antigo cuja execução
+ * começou antes da perda da posse.
+ *
+ * <pre>
+ * Cluster cluster = new Cluster("no-1",
+ *         new CoordenacaoPorDiretorio(Paths.get("/var/run/cluster")));
+ * cluster.iniciar();
+ * cluster.adicionar(processo); // em vez de processo.executar()
+ * </pre>
+ *
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+public final class Cluster {
+
+    static Logger log = LoggerFactory.getLogger(Cluster.class);
+
+    /**
+     * Pontos de cada nó no anel de hash consistente.
+     */
+    static final int PONTOS_POR_NO = 128;
+
+    private final String no;
+    private final CoordenacaoDeCluster coordenacao;
+    private final ConcurrentHashMap<String, LoopProcess> processos
+            = new ConcurrentHashMap<String, LoopProcess>();
+    private volatile long validadeNanos = TimeUnit.SECONDS.toNanos(15);
+    private volatile Anel anel;
+    private ScheduledExecutorService servico;
+
+    /**
+     * Constrói o nó do cluster, que só participa após {@link #iniciar()}.
+     *
+     * @param no Nome do nó, único no cluster.
+     * @param coordenacao Serviço de coordenação compartilhado pelos nós.
+     */
+    public Cluster(String no, CoordenacaoDeCluster coordenacao) {
+        if (no == null || no.isEmpty() || coordenacao == null) {
+            throw new IllegalArgumentException(
+                    "O nó e a coordenação são obrigatórios");
+        }
+        this.no = no;
+        this.coordenacao = coordenacao;
+        this.anel = new Anel(Collections.singleton(no));
+    }
+
+    /**
+     * Nome deste nó.
+     *
+     * @return Nome do nó.
+     */
+    public String getNo() {
+        return no;
+    }
+
+    /**
+     * Validade do registro do nó e das posses dos processos.
+     *
+     * @param unidade Unidade de tempo desejada.
+     * @return Validade. O padrão é 15 segundos.
+     */
+    public long getValidade(TimeUnit unidade) {
+        return unidade.convert(validadeNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Validade do registro do nó e das posses dos processos, que é também o
+     * tempo máximo para que outro nó assuma os processos de um nó que caiu.
+     * Deve ser definida antes de {@link #iniciar()} e ser a mesma em todos
+     * os nós.
+     *
+     * @param validade Validade.
+     * @param unidade Unidade de tempo da validade.
+     */
+    public void setValidade(long validade, TimeUnit unidade) {
+        long nanos = unidade.toNanos(validade);
+        if (nanos < TimeUnit.MILLISECONDS.toNanos(300)) {
+            throw new IllegalArgumentException(
+                    "Validade inválida: " + validade + " " + unidade);
+        }
+        this.validadeNanos = nanos;
+    }
+
+    /**
+     * Nós vivos conforme a última consulta à coordenação.
+     *
+     * @return Nomes dos nós, em ordem.
+     */
+    public Set<String> getNos() {
+        return anel.nos;
+    }
+
+    /**
+     * Nó ao qual o processo cabe conforme os nós vivos conhecidos.
+     *
+     * @param processo Nome do processo.
+     * @return Nome do nó.
+     */
+    public String getDono(String processo) {
+        return anel.dono(processo);
+    }
+
+    /**
+     * Diz se este nó tem a posse válida do processo.
+     *
+     * @param processo Processo adicionado ao cluster.
+     * @return Verdadeiro se o processo pode executar neste nó.
+     */
+    public boolean isDono(LoopProcess processo) {
+        Posse posse = processo.getPosse();
+        return posse != null && posse.isValida();
+    }
+
+    /**
+     * Token de cerca da posse do processo, para ser enviado junto com as
+     * escritas do processo a recursos externos. Um recurso que guarde o
+     * maior token recebido e recuse os menores impede que um dono antigo
+     * sobrescreva o trabalho do novo.
+     *
+     * @param processo Processo adicionado ao cluster.
+     * @return Token da posse, ou zero se este nó não tiver a posse.
+     */
+    public long getToken(LoopProcess processo) {
+        Posse posse = processo.getPosse();
+        return posse != null && posse.isValida() ? posse.token : 0;
+    }
+
+    /**
+     * Passa a participar do cluster, anunciando o nó e assumindo os
+     * processos que lhe cabem.
+     */
+    public synchronized void iniciar() {
+        if (servico != null) {
+            return;
+        }
+        servico = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "Cluster-" + no);
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        long periodo = validadeNanos / 3;
+        servico.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                coordenar();
+            }
+        }, 0, periodo, TimeUnit.NANOSECONDS);
+        log.info("Nó {} iniciado no cluster", no);
+    }
+
+    /**
+     * Deixa o cluster: interrompe os processos deste nó, libera as posses e
+     * remove o registro do nó, para que os outros nós assumam os processos
+     * sem esperar a validade.
+     */
+    public synchronized void encerrar() {
+        if (servico == null) {
+            return;
+        }
+        servico.shutdownNow();
+        try {
+            servico.awaitTermination(validadeNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        servico = null;
+        for (LoopProcess processo : processos.values()) {
+            abandonar(processo);
+        }
+        try {
+            coordenacao.retirar(no);
+        } catch (IOException ex) {
+            log.warn("Falha retirando o nó {} do cluster: {}", no,
+                    ex.getMessage());
+        }
+        log.info("Nó {} deixou o cluster", no);
+    }
+
+    /**
+     * Adiciona o processo ao cluster. O processo será executado por este nó
+     * se lhe couber, e interrompido quando passar a caber a outro nó. O
+     * processo deve ser adicionado em todos os nós, e não deve ser executado
+     * diretamente.
+     *
+     * @param processo Processo a adicionar.
+     */
+    public void adicionar(LoopProcess processo) {
+        if (processo.getPosse() != null) {
+            throw new IllegalStateException(
+                    "Processo já pertence a um cluster: " + processo.getNome());
+        }
+        // a posse existe antes que a coordenação ou remover vejam o processo
+        processo.setPosse(new Posse());
+        if (processos.putIfAbsent(processo.getNome(), processo) != null) {
+            processo.setPosse(null);
+            throw new IllegalArgumentException(
+                    "Já existe um processo com o nome " + processo.getNome());
+        }
+        synchronized (this) {
+            if (servico != null) {
+                servico.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        coordenar();
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Remove o processo do cluster, interrompendo-o se executar neste nó. A
+     * remoção espera o ajuste do processo que a coordenação estiver fazendo,
+     * de modo que o processo não volta a executar depois de removido.
+     *
+     * @param processo Processo a remover.
+     */
+    public void remover(LoopProcess processo) {
+        Posse posse = processo.getPosse();
+        if (posse == null) {
+            return;
+        }
+        synchronized (posse) {
+            if (processos.remove(processo.getNome(), processo)) {
+                abandonar(processo);
+                processo.setPosse(null);
+            }
+        }
+    }
+
+    /**
+     * Anuncia o nó, atualiza o anel com os nós vivos e ajusta os processos:
+     * assume ou renova os que cabem a este nó e abandona os demais. Executa
+     * sempre na thread do serviço do nó; cada processo é ajustado sob o
+     * monitor da sua posse, o mesmo de {@link #remover(LoopProcess)}.
+     */
+    private void coordenar() {
+        try {
+            long antes = System.nanoTime();
+            long validadeMillis = TimeUnit.NANOSECONDS.toMillis(validadeNanos);
+            coordenacao.anunciar(no, validadeMillis);
+            Set<String> vivos = coordenacao.listarNos();
+            vivos.add(no);
+            if (!vivos.equals(anel.nos)) {
+                anel = new Anel(vivos);
+                log.info("Nós do cluster vistos por {}: {}", no, anel.nos);
+            }
+            // margem para a diferença entre os relógios dos nós
+            long validaAte = antes + validadeNanos - validadeNanos / 5;
+            for (LoopProcess processo : processos.values()) {
+                Posse posse = processo.getPosse();
+                if (posse == null) {
+                    continue;
+                }
+                synchronized (posse) {
+                    if (processos.get(processo.getNome()) != processo) {
+                        // removido depois de listado
+                        continue;
+                    }
+                    ajustar(processo, posse, validadeMillis, validaAte);
+                }
+            }
+        } catch (Exception ex) {
+            // as posses vencem sozinhas se a coordenação ficar inacessível
+            log.warn("Falha coordenando o nó {} do cluster: {}", no,
+                    ex.toString());
+        }
+    }
+
+    private void ajustar(LoopProcess processo, Posse posse,
+            long validadeMillis, long validaAte) throws IOException {
+        if (no.equals(anel.dono(processo.getNome()))) {
+            long token = coordenacao.adquirir(processo.getNome(), no,
+                    validadeMillis);
+            if (token > 0) {
+                assumir(processo, posse, token, validaAte);
+            } else if (posse.token != 0) {
+                // outro nó assumiu depois que a posse venceu
+                abandonar(processo);
+            }
+        } else if (posse.token != 0) {
+            abandonar(processo);
+        }
+    }
+
+    private void assumir(LoopProcess processo, Posse posse, long token,
+            long validaAte) {
+        boolean nova = posse.token != token;
+        posse.validaAteNanos = validaAte;
+        posse.token = token;
+        if (nova) {
+            log.info("Nó {} assumiu o processo {} com o token {}", no,
+                    processo.getNome(), token);
+        }
+        if (!processo.isExecutando()) {
+            processo.executar();
+        }
+    }
+
+    private void abandonar(LoopProcess processo) {
+        Posse posse = processo.getPosse();
+        long token = posse == null ? 0 : posse.token;
+        if (posse != null) {
+            posse.token = 0;
+        }
+        if (processo.isExecutando()) {
+            processo.interromper();
+        }
+        if (token == 0) {
+            return;
+        }
+        try {
+            coordenacao.liberar(processo.getNome(), no);
+            log.info("Nó {} liberou o processo {}", no, processo.getNome());
+        } catch (IOException ex) {
+            log.warn("Falha liberando o processo {}: {}", processo.getNome(),
+                    ex.getMessage());
+        }
+    }
+
+    /**
+     * Posse de um processo por este nó, consultada a cada disparo.
+     */
+    static final class Posse {
+
+        volatile long token;
+        volatile long validaAteNanos;
+
+        boolean isValida() {
+            return token != 0 && System.nanoTime() - validaAteNanos < 0;
+        }
+    }
+
+    /**
+     * Anel de hash consistente imutável, com {@link #PONTOS_POR_NO} pontos
+     * por nó.
+     */
+    private static final class Anel {
+
+        final Set<String> nos;
+        private final long[] pontos;
+        private final String[] donos;
+
+        Anel(Set<String> vivos) {
+            this.nos = Collections.unmodifiableSet(new TreeSet<String>(vivos));
+            long[] chaves = new long[nos.size() * PONTOS_POR_NO];
+            int i = 0;
+            int indice = 0;
+            for (String no : nos) {
+                for (int p = 0; p < PONTOS_POR_NO; p++) {
+                    // hash no alto, posição do nó ordenado no baixo
+                    chaves[i++] = (long) hash(no + '#' + p) << 32 | indice;
+                }
+                indice++;
+            }
+            Arrays.sort(chaves);
+            String[] ordenados = nos.toArray(new String[nos.size()]);
+            this.pontos = new long[chaves.length];
+            this.donos = new String[chaves.length];
+            for (int k = 0; k < chaves.length; k++) {
+                pontos[k] = chaves[k] >> 32;
+                donos[k] = ordenados[(int) chaves[k]];
+            }
+        }
+
+        String dono(String processo) {
+            long chave = hash(processo);
+            int posicao = Arrays.binarySearch(pontos, chave);
+            if (posicao < 0) {
+                posicao = -posicao - 1;
+            }
+            return donos[posicao == pontos.length ? 0 : posicao];
+        }
+
+        /**
+         * FNV-1a de 64 bits com mistura final, o mesmo em todas as JVMs.
+         */
+        private static int hash(String texto) {
+            long h = 0xcbf29ce484222325L;
+            for (int i = 0; i < texto.length(); i++) {
+                h = (h ^ texto.charAt(i)) * 0x100000001b3L;
+            }
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            return (int) h;
+        }
+    }
+}
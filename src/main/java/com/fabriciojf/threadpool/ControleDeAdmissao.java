@@ -0,0 +1,182 @@
+package com.fabriciojf.threadpool;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Controle das execuções únicas pendentes de um {@link PoolDeThreads}, isto
+ * é, agendadas e ainda não iniciadas. Mantém a contagem usada como medidor de
+ * ocupação da fila e, quando o pool tem capacidade limitada, aplica a
+ * {@link RejectionEnum política de rejeição} às execuções excedentes.
+ *
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+final class ControleDeAdmissao {
+
+    private final int capacidade;
+    private final RejectionEnum rejeicao;
+    private final long esperaNanos;
+    private final MetricasDeExecucao metricas;
+    private final AtomicInteger pendentes = new AtomicInteger();
+    private final Queue<TarefaAgendada> ordem
+            = new ConcurrentLinkedQueue<TarefaAgendada>();
+    private final Object vaga = new Object();
+    private volatile int aguardando;
+
+    ControleDeAdmissao(int capacidade, RejectionEnum rejeicao,
+            long esperaNanos, MetricasDeExecucao metricas) {
+        this.capacidade = capacidade;
+        this.rejeicao = rejeicao;
+        this.esperaNanos = esperaNanos;
+        this.metricas = metricas;
+    }
+
+    /**
+     * Número de execuções únicas agendadas e ainda não iniciadas.
+     *
+     * @return Número de execuções únicas pendentes.
+     */
+    int getPendentes() {
+        return pendentes.get();
+    }
+
+    /**
+     * Agenda uma execução única no motor indicado respeitando a capacidade.
+     *
+     * @param motor Motor de agendamento do pool.
+     * @param agendamento Agendamento de uma execução única.
+     * @return O objeto para gerenciamento da execução do processo.
+     * @throws RejectedExecutionException Se a execução for rejeitada.
+     */
+    Future<?> agendar(AbstractSchedulerEngine motor, Agendamento agendamento) {
+        if (!reservar()) {
+            switch (rejeicao) {
+                case CALLER_RUNS:
+                    FutureTask<Object> tarefa
+                            = new FutureTask<Object>(agendamento.processo, null);
+                    tarefa.run();
+                    return tarefa;
+                case DROP_OLDEST:
+                    if (!descartarMaisAntiga()) {
+                        throw rejeitar();
+                    }
+                    break;
+                case BLOCK:
+                    if (!aguardar()) {
+                        throw rejeitar();
+                    }
+                    break;
+                default:
+                case FAIL_FAST:
+                    throw rejeitar();
+            }
+        }
+        agendamento.admissao = this;
+        TarefaAgendada tarefa;
+        try {
+            tarefa = motor.agendar(agendamento);
+        } catch (RuntimeException ex) {
+            liberar();
+            throw ex;
+        }
+        if (rejeicao == RejectionEnum.DROP_OLDEST) {
+            ordem.offer(tarefa);
+            // a tarefa pode ter iniciado antes de entrar na ordem
+            if (!tarefa.isPendente()) {
+                ordem.remove(tarefa);
+            }
+        }
+        return tarefa;
+    }
+
+    /**
+     * Devolve a vaga de uma execução que saiu da fila, ao iniciar ou ao ser
+     * cancelada, e a retira da ordem de descarte. A tarefa é quase sempre
+     * uma das primeiras da ordem, de modo que a busca termina cedo.
+     *
+     * @param tarefa Tarefa que saiu da fila.
+     */
+    void liberar(TarefaAgendada tarefa) {
+        if (rejeicao == RejectionEnum.DROP_OLDEST) {
+            ordem.remove(tarefa);
+        }
+        liberar();
+    }
+
+    /**
+     * Devolve a vaga de uma execução que saiu da fila, ao iniciar ou ao ser
+     * cancelada.
+     */
+    private void liberar() {
+        pendentes.decrementAndGet();
+        metricas.registrarPendentes(-1);
+        if (aguardando > 0) {
+            synchronized (vaga) {
+                vaga.notify();
+            }
+        }
+    }
+
+    private boolean reservar() {
+        while (true) {
+            int atual = pendentes.get();
+            if (atual >= capacidade) {
+                return false;
+            }
+            if (pendentes.compareAndSet(atual, atual + 1)) {
+                metricas.registrarPendentes(1);
+                return true;
+            }
+        }
+    }
+
+    private boolean aguardar() {
+        long limite = System.nanoTime() + esperaNanos;
+        synchronized (vaga) {
+            aguardando++;
+            try {
+                while (!reservar()) {
+                    long restante = limite - System.nanoTime();
+                    if (restante <= 0) {
+                        return false;
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(vaga, restante);
+                }
+                return true;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return false;
+            } finally {
+                aguardando--;
+            }
+        }
+    }
+
+    private boolean descartarMaisAntiga() {
+        while (true) {
+            if (reservar()) {
+                return true;
+            }
+            TarefaAgendada antiga = ordem.poll();
+            if (antiga == null) {
+                return reservar();
+            }
+            if (antiga.cancelarPendente()) {
+                metricas.registrarRejeicao();
+            }
+        }
+    }
+
+    private RejectedExecutionException rejeitar() {
+        metricas.registrarRejeicao();
+        return new RejectedExecutionException(
+                "Capacidade do pool de threads esgotada: " + capacidade);
+    }
+}
@@ -0,0 +1,72 @@
+package com.fabriciojf.threadpool;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Serviço compartilhado pelos nós de um {@link Cluster}: guarda os nós vivos
+ * e as posses dos processos. Implementações podem usar um banco de dados, um
+ * serviço de coordenação ou, como {@link CoordenacaoPorDiretorio}, um
+ * diretório compartilhado.
+ *
+ * Uma posse vale por um tempo determinado e traz um token de cerca, que
+ * cresce sempre que a posse muda de dono ou é readquirida depois de
+ * expirar. Um recurso externo que guarde o maior token recebido pode assim
+ * recusar as escritas de um dono antigo que ainda não percebeu a perda da
+ * posse.
+ *
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+public interface CoordenacaoDeCluster {
+
+    /**
+     * Registra o nó como vivo, ou renova o registro, pelo tempo informado.
+     *
+     * @param no Nome do nó.
+     * @param validadeMillis Validade do registro em milissegundos.
+     * @throws IOException Se o serviço não puder ser acessado.
+     */
+    void anunciar(String no, long validadeMillis) throws IOException;
+
+    /**
+     * Remove o registro do nó, que deixa o cluster.
+     *
+     * @param no Nome do nó.
+     * @throws IOException Se o serviço não puder ser acessado.
+     */
+    void retirar(String no) throws IOException;
+
+    /**
+     * Nós com registro válido.
+     *
+     * @return Nomes dos nós vivos.
+     * @throws IOException Se o serviço não puder ser acessado.
+     */
+    Set<String> listarNos() throws IOException;
+
+    /**
+     * Adquire ou renova a posse do recurso pelo tempo informado. A posse só
+     * é concedida se estiver livre, expirada ou já pertencer ao nó.
+     *
+     * @param recurso Nome do recurso, o nome do processo.
+     * @param no Nome do nó.
+     * @param validadeMillis Validade da posse em milissegundos.
+     * @return Token de cerca da posse, maior que zero, ou zero se a posse
+     * pertencer a outro nó.
+     * @throws IOException Se o serviço não puder ser acessado.
+     */
+    long adquirir(String recurso, String no, long validadeMillis)
+            throws IOException;
+
+    /**
+     * Libera a posse do recurso, se pertencer ao nó, mantendo o token para
+     * que o próximo dono receba um token maior.
+     *
+     * @param recurso Nome do recurso.
+     * @param no Nome do nó.
+     * @throws IOException Se o serviço não puder ser acessado.
+     */
+    void liberar(String recurso, String no) throws IOException;
+}
@@ -0,0 +1,197 @@
+package com.fabriciojf.threadpool;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coordenação de cluster em um diretório compartilhado, para testes locais e
+ * nós na mesma máquina. Cada nó vivo é um arquivo em "nos" com o instante em
+ * que expira, e cada posse é um arquivo em "posses" com o dono, o token e o
+ * instante em que expira. As posses são alteradas sob uma trava de arquivo
+ * e os arquivos são substituídos atomicamente.
+ *
+ * As validades usam o relógio de parede de cada nó, cuja diferença deve
+ * ficar bem abaixo da validade da posse. Travas de arquivo em sistemas de
+ * arquivos de rede nem sempre são confiáveis; em produção use uma
+ * implementação sobre um serviço de coordenação ou banco de dados.
+ *
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+public final class CoordenacaoPorDiretorio implements CoordenacaoDeCluster {
+
+    // a trava de arquivo é da JVM inteira, então nós na mesma JVM também
+    // precisam se excluir entre si
+    private static final ConcurrentHashMap<Path, Object> monitores
+            = new ConcurrentHashMap<Path, Object>();
+
+    private final Path nos;
+    private final Path posses;
+    private final Path trava;
+    private final Object monitor;
+
+    /**
+     * Constrói a coordenação no diretório informado, criado se preciso.
+     *
+     * @param diretorio Diretório compartilhado pelos nós.
+     * @throws IOException Se não for possível criar o diretório.
+     */
+    public CoordenacaoPorDiretorio(Path diretorio) throws IOException {
+        Path raiz = diretorio.toAbsolutePath().normalize();
+        this.nos = Files.createDirectories(raiz.resolve("nos"));
+        this.posses = Files.createDirectories(raiz.resolve("posses"));
+        this.trava = raiz.resolve("trava");
+        Object novo = new Object();
+        Object existente = monitores.putIfAbsent(raiz, novo);
+        this.monitor = existente != null ? existente : novo;
+    }
+
+    @Override
+    public void anunciar(String no, long validadeMillis) throws IOException {
+        escrever(nos.resolve(codificar(no)),
+                String.valueOf(System.currentTimeMillis() + validadeMillis));
+    }
+
+    @Override
+    public void retirar(String no) throws IOException {
+        Files.deleteIfExists(nos.resolve(codificar(no)));
+    }
+
+    @Override
+    public Set<String> listarNos() throws IOException {
+        long agora = System.currentTimeMillis();
+        Set<String> vivos = new HashSet<String>();
+        DirectoryStream<Path> arquivos = Files.newDirectoryStream(nos);
+        try {
+            for (Path arquivo : arquivos) {
+                String conteudo = ler(arquivo);
+                if (conteudo != null && !arquivo.getFileName().toString()
+                        .startsWith(".") && Long.parseLong(conteudo) > agora) {
+                    vivos.add(decodificar(arquivo.getFileName().toString()));
+                }
+            }
+        } finally {
+            arquivos.close();
+        }
+        return vivos;
+    }
+
+    @Override
+    public long adquirir(String recurso, String no, long validadeMillis)
+            throws IOException {
+        Path arquivo = posses.resolve(codificar(recurso));
+        synchronized (monitor) {
+            FileChannel canal = travar();
+            try {
+                long agora = System.currentTimeMillis();
+                String conteudo = ler(arquivo);
+                long token = 1;
+                if (conteudo != null) {
+                    // dono, token e instante em que a posse expira
+                    String[] posse = conteudo.split(" ");
+                    long anterior = Long.parseLong(posse[1]);
+                    boolean valida = Long.parseLong(posse[2]) > agora;
+                    if (valida && !posse[0].equals(no)) {
+                        return 0;
+                    }
+                    token = valida ? anterior : anterior + 1;
+                }
+                escrever(arquivo, no + " " + token + " "
+                        + (agora + validadeMillis));
+                return token;
+            } finally {
+                canal.close();
+            }
+        }
+    }
+
+    @Override
+    public void liberar(String recurso, String no) throws IOException {
+        Path arquivo = posses.resolve(codificar(recurso));
+        synchronized (monitor) {
+            FileChannel canal = travar();
+            try {
+                String conteudo = ler(arquivo);
+                if (conteudo != null) {
+                    String[] posse = conteudo.split(" ");
+                    if (posse[0].equals(no)) {
+                        escrever(arquivo, no + " " + posse[1] + " 0");
+                    }
+                }
+            } finally {
+                canal.close();
+            }
+        }
+    }
+
+    /**
+     * Abre e trava o arquivo de trava; fechar o canal libera a trava.
+     */
+    private FileChannel travar() throws IOException {
+        FileChannel canal = FileChannel.open(trava, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE);
+        try {
+            FileLock lock = canal.lock();
+            if (lock == null) {
+                throw new IOException("Trava não obtida: " + trava);
+            }
+            return canal;
+        } catch (IOException ex) {
+            canal.close();
+            throw ex;
+        }
+    }
+
+    private static String ler(Path arquivo) throws IOException {
+        try {
+            return new String(Files.readAllBytes(arquivo),
+                    StandardCharsets.UTF_8).trim();
+        } catch (NoSuchFileException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Grava em um arquivo temporário e o move sobre o destino, de modo que
+     * os leitores nunca vejam um arquivo pela metade.
+     */
+    private static void escrever(Path arquivo, String conteudo)
+            throws IOException {
+        Path temporario = Files.createTempFile(arquivo.getParent(), ".",
+                ".tmp");
+        Files.write(temporario, conteudo.getBytes(StandardCharsets.UTF_8));
+        Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String codificar(String nome) {
+        try {
+            return URLEncoder.encode(nome, "UTF-8");
+        } catch (UnsupportedEncodingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static String decodificar(String nome) {
+        try {
+            return URLDecoder.decode(nome, "UTF-8");
+        } catch (UnsupportedEncodingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
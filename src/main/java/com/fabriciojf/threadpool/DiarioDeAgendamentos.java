@@ -0,0 +1,629 @@
+package com.fabriciojf.threadpool;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Diário durável dos agendamentos de processos. Cada agendamento, execução
+ * concluída e interrupção de um {@link LoopProcess} é acrescentado a um
+ * arquivo mapeado em memória, em registros protegidos por CRC32. Ao abrir o
+ * diário o estado é reconstruído em uma única leitura sequencial do arquivo;
+ * um registro incompleto, deixado por uma queda no meio da gravação, encerra
+ * a leitura sem invalidar os anteriores. Quando o arquivo enche, o diário é
+ * compactado em um arquivo novo contendo apenas o estado vigente, que
+ * substitui o anterior de forma atômica.
+ * <p>
+ * O diário guarda tempos, não código: após reiniciar, a aplicação volta a
+ * criar e executar seus processos normalmente, e {@link LoopProcess#executar()}
+ * usa o diário do pool para restaurar a última execução de cada processo e
+ * calcular o primeiro disparo conforme a {@link MisfireEnum política de
+ * disparos perdidos} do pool.
+ * <p>
+ * O registro de uma execução concluída não aloca memória, não disputa a
+ * trava do diário e não força a gravação em disco: reserva o seu espaço no
+ * arquivo com uma única operação atômica e sobrevive à queda da aplicação,
+ * mas não necessariamente à do sistema operacional. Agendamentos e
+ * interrupções são forçados em disco imediatamente, depois que os registros
+ * reservados antes deles terminam de ser gravados; {@link #sincronizar()}
+ * força os demais.
+ *
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+public class DiarioDeAgendamentos implements Closeable {
+
+    static Logger log = LoggerFactory.getLogger(DiarioDeAgendamentos.class);
+
+    /**
+     * Tamanho inicial do arquivo do diário.
+     */
+    public static final int CAPACIDADE_INICIAL = 1 << 20;
+
+    static final byte AGENDADO = 1;
+    static final byte EXECUTADO = 2;
+    static final byte REMOVIDO = 3;
+
+    private static final int MAGICO = 0x4C504A31;
+    private static final int INICIO = 8;
+    private static final int CABECALHO = 8;
+    private static final int TAMANHO_EXECUTADO = 13;
+    private static final int TAMANHO_REMOVIDO = 5;
+    // posição que recusa reservas enquanto o arquivo é trocado ou fechado
+    private static final long FECHADO = 0xFFFFFFFFL;
+
+    private static final ThreadLocal<CRC32> crcDaThread
+            = new ThreadLocal<CRC32>() {
+        @Override
+        protected CRC32 initialValue() {
+            return new CRC32();
+        }
+    };
+
+    private final File arquivo;
+    private final CRC32 crc = new CRC32();
+    private final Map<String, Registro> porNome = new HashMap<String, Registro>();
+    private volatile Registro[] porId = new Registro[64];
+    private int proximoId;
+    private RandomAccessFile acesso;
+    private volatile MappedByteBuffer mapa;
+    private volatile int capacidade;
+    // geração do arquivo no alto e posição livre no baixo; a geração muda a
+    // cada compactação, de modo que uma reserva nunca cai no arquivo errado
+    private final AtomicLong posicao = new AtomicLong();
+    // posição até onde todos os registros reservados já foram selados
+    private int selado;
+
+    private DiarioDeAgendamentos(File arquivo) {
+        this.arquivo = arquivo;
+    }
+
+    /**
+     * Abre o diário no arquivo indicado, criando-o se não existir, e
+     * reconstrói o estado gravado.
+     *
+     * @param arquivo Arquivo do diário.
+     * @return O diário aberto.
+     * @throws IOException Se o arquivo não puder ser lido ou criado.
+     */
+    public static DiarioDeAgendamentos abrir(File arquivo) throws IOException {
+        DiarioDeAgendamentos diario = new DiarioDeAgendamentos(arquivo);
+        synchronized (diario) {
+            if (!arquivo.exists() || arquivo.length() < INICIO) {
+                diario.compactar(0);
+            } else {
+                diario.mapear();
+                diario.recuperar();
+            }
+        }
+        return diario;
+    }
+
+    /**
+     * Arquivo do diário.
+     *
+     * @return Arquivo do diário.
+     */
+    public File getArquivo() {
+        return arquivo;
+    }
+
+    /**
+     * Nomes dos processos com agendamento vigente no diário, úteis para
+     * recriar os processos após reiniciar a aplicação.
+     *
+     * @return Nomes dos processos agendados.
+     */
+    public synchronized Set<String> getProcessos() {
+        return Collections.unmodifiableSet(
+                new HashSet<String>(porNome.keySet()));
+    }
+
+    /**
+     * Instante da última execução concluída do processo, conforme o diário.
+     *
+     * @param nome Nome do processo.
+     * @return Instante em milissegundos desde a época, ou zero se não houver.
+     */
+    public synchronized long getUltimaExecucao(String nome) {
+        Registro registro = porNome.get(nome);
+        return registro == null ? 0 : registro.ultimaExecucaoMillis;
+    }
+
+    /**
+     * Cópia do registro vigente do processo.
+     *
+     * @param nome Nome do processo.
+     * @return Cópia do registro, ou nulo se o processo não estiver agendado.
+     */
+    synchronized Registro obter(String nome) {
+        Registro registro = porNome.get(nome);
+        return registro == null ? null : registro.copia();
+    }
+
+    /**
+     * Grava o agendamento de um processo. Um processo já registrado com o
+     * mesmo nome mantém o identificador e a última execução.
+     *
+     * @param modelo Dados do agendamento; o identificador é ignorado.
+     * @return Identificador do processo no diário.
+     */
+    synchronized int registrar(Registro modelo) {
+        Registro registro = porNome.get(modelo.nome);
+        if (registro == null) {
+            registro = new Registro();
+            registro.id = proximoId++;
+            registro.nome = modelo.nome;
+            porNome.put(registro.nome, registro);
+            guardar(registro);
+        }
+        registro.pool = modelo.pool;
+        registro.repeticao = modelo.repeticao;
+        registro.atrasoNanos = modelo.atrasoNanos;
+        registro.intervaloNanos = modelo.intervaloNanos;
+        registro.cron = modelo.cron;
+        registro.fuso = modelo.fuso;
+        registro.agendadoEmMillis = modelo.agendadoEmMillis;
+        if (modelo.ultimaExecucaoMillis > registro.ultimaExecucaoMillis) {
+            registro.ultimaExecucaoMillis = modelo.ultimaExecucaoMillis;
+        }
+        byte[] conteudo = codificar(registro);
+        int inicio = reservar(conteudo.length);
+        if (inicio >= 0) {
+            for (int i = 0; i < conteudo.length; i++) {
+                mapa.put(inicio + CABECALHO + i, conteudo[i]);
+            }
+            selar(inicio, conteudo.length);
+            forcar(inicio);
+        }
+        return registro.id;
+    }
+
+    /**
+     * Grava a conclusão de uma execução. Não aloca memória e, fora da
+     * compactação, não usa a trava do diário: o espaço do registro é
+     * reservado por uma troca atômica da posição livre.
+     *
+     * @param id Identificador do processo no diário.
+     * @param millis Instante da conclusão em milissegundos desde a época.
+     */
+    void executado(int id, long millis) {
+        Registro[] registros = porId;
+        Registro registro = id < registros.length ? registros[id] : null;
+        if (registro == null) {
+            return;
+        }
+        registro.ultimaExecucaoMillis = millis;
+        int tamanho = CABECALHO + TAMANHO_EXECUTADO;
+        while (true) {
+            long atual = posicao.get();
+            // lidos depois da posição: se o arquivo for trocado, a troca
+            // atômica abaixo falha
+            MappedByteBuffer buffer = mapa;
+            int inicio = (int) atual;
+            if (buffer == null || (atual & FECHADO) == FECHADO
+                    || inicio > capacidade - tamanho) {
+                executadoComTrava(id, millis);
+                return;
+            }
+            if (posicao.compareAndSet(atual, atual + tamanho)) {
+                escreverExecutado(buffer, inicio, id, millis);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Grava a conclusão de uma execução quando o arquivo está cheio ou sendo
+     * trocado, compactando-o se necessário.
+     */
+    private synchronized void executadoComTrava(int id, long millis) {
+        int inicio = reservar(TAMANHO_EXECUTADO);
+        if (inicio >= 0) {
+            escreverExecutado(mapa, inicio, id, millis);
+        }
+    }
+
+    private static void escreverExecutado(MappedByteBuffer buffer, int inicio,
+            int id, long millis) {
+        int conteudo = inicio + CABECALHO;
+        buffer.put(conteudo, EXECUTADO);
+        buffer.putInt(conteudo + 1, id);
+        buffer.putLong(conteudo + 5, millis);
+        CRC32 crc = crcDaThread.get();
+        crc.reset();
+        for (int i = 0; i < TAMANHO_EXECUTADO; i++) {
+            crc.update(buffer.get(conteudo + i));
+        }
+        buffer.putInt(inicio + 4, (int) crc.getValue());
+        buffer.putInt(inicio, TAMANHO_EXECUTADO);
+    }
+
+    /**
+     * Grava a interrupção de um processo, que deixa de ser recuperado.
+     *
+     * @param id Identificador do processo no diário.
+     */
+    synchronized void remover(int id) {
+        Registro registro = id < porId.length ? porId[id] : null;
+        if (registro == null) {
+            return;
+        }
+        porId[id] = null;
+        porNome.remove(registro.nome);
+        int inicio = reservar(TAMANHO_REMOVIDO);
+        if (inicio >= 0) {
+            mapa.put(inicio + CABECALHO, REMOVIDO);
+            mapa.putInt(inicio + CABECALHO + 1, id);
+            selar(inicio, TAMANHO_REMOVIDO);
+            forcar(inicio);
+        }
+    }
+
+    /**
+     * Força em disco todos os registros gravados.
+     */
+    public synchronized void sincronizar() {
+        if (mapa != null) {
+            mapa.force();
+        }
+    }
+
+    /**
+     * Reescreve o diário contendo apenas o estado vigente. Acontece
+     * automaticamente quando o arquivo enche.
+     *
+     * @throws IOException Se o arquivo novo não puder ser gravado.
+     */
+    public synchronized void compactar() throws IOException {
+        compactar(0);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (acesso != null) {
+            posicao.set(posicao.get() | FECHADO);
+            mapa.force();
+            acesso.close();
+            acesso = null;
+            mapa = null;
+        }
+    }
+
+    private void guardar(Registro registro) {
+        Registro[] registros = porId;
+        if (registro.id >= registros.length) {
+            registros = Arrays.copyOf(registros,
+                    Math.max(registros.length * 2, registro.id + 1));
+        }
+        registros[registro.id] = registro;
+        porId = registros;
+    }
+
+    /**
+     * Reserva o espaço de um registro no fim do arquivo, compactando-o se
+     * estiver cheio. Executa sob a trava do diário.
+     *
+     * @return Posição do registro, ou -1 se o diário estiver fechado.
+     */
+    private int reservar(int tamanho) {
+        if (mapa == null) {
+            return -1;
+        }
+        while (true) {
+            long atual = posicao.get();
+            int inicio = (int) atual;
+            if (inicio + CABECALHO + tamanho <= capacidade) {
+                if (posicao.compareAndSet(atual,
+                        atual + CABECALHO + tamanho)) {
+                    return inicio;
+                }
+                continue;
+            }
+            try {
+                compactar(tamanho);
+            } catch (IOException ex) {
+                log.error("Exceção compactando o diário " + arquivo, ex);
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Fecha o registro cujo conteúdo acabou de ser escrito na posição
+     * informada. O tamanho é escrito por último, de modo que um registro
+     * interrompido no meio fica com tamanho zero ou com CRC inválido.
+     */
+    private void selar(int inicio, int tamanho) {
+        mapa.putInt(inicio + 4, crc(mapa, inicio + CABECALHO, tamanho));
+        mapa.putInt(inicio, tamanho);
+    }
+
+    /**
+     * Força em disco o registro selado na posição informada, depois de
+     * esperar que as execuções reservadas antes dele sejam seladas; assim a
+     * leitura sequencial da recuperação nunca para antes de um registro
+     * forçado.
+     */
+    private void forcar(int inicio) {
+        while (selado < inicio) {
+            int tamanho = mapa.getInt(selado);
+            if (tamanho == 0) {
+                Thread.yield();
+            } else {
+                selado += CABECALHO + tamanho;
+            }
+        }
+        selado = inicio + CABECALHO + mapa.getInt(inicio);
+        mapa.force();
+    }
+
+    /**
+     * CRC de um trecho do buffer, lido por uma cópia da visão para não
+     * alterar a posição e o limite do buffer compartilhado.
+     */
+    private int crc(ByteBuffer buffer, int inicio, int tamanho) {
+        crc.reset();
+        ByteBuffer trecho = buffer.duplicate();
+        trecho.limit(inicio + tamanho);
+        trecho.position(inicio);
+        crc.update(trecho);
+        return (int) crc.getValue();
+    }
+
+    private void mapear() throws IOException {
+        acesso = new RandomAccessFile(arquivo, "rw");
+        capacidade = (int) Math.min(acesso.length(), Integer.MAX_VALUE);
+        mapa = acesso.getChannel().map(FileChannel.MapMode.READ_WRITE, 0,
+                capacidade);
+    }
+
+    private void recuperar() throws IOException {
+        if (mapa.getInt(0) != MAGICO) {
+            throw new IOException("Arquivo não é um diário de agendamentos: "
+                    + arquivo);
+        }
+        int atual = INICIO;
+        int registros = 0;
+        while (atual + CABECALHO <= capacidade) {
+            int tamanho = mapa.getInt(atual);
+            if (tamanho <= 0 || atual + CABECALHO + tamanho > capacidade) {
+                break;
+            }
+            if (crc(mapa, atual + CABECALHO, tamanho) != mapa.getInt(atual + 4)) {
+                log.warn("Registro incompleto no diário {} na posição {}, "
+                        + "descartando o restante", arquivo, atual);
+                // apaga o resto para que gravações novas não se misturem
+                for (int i = atual; i < capacidade; i++) {
+                    mapa.put(i, (byte) 0);
+                }
+                break;
+            }
+            aplicar(atual + CABECALHO, tamanho);
+            atual += CABECALHO + tamanho;
+            registros++;
+        }
+        posicao.set(atual);
+        selado = atual;
+        log.info("Diário {} recuperado: {} registros, {} processos", arquivo,
+                registros, porNome.size());
+    }
+
+    private void aplicar(int inicio, int tamanho) throws IOException {
+        byte tipo = mapa.get(inicio);
+        int id = mapa.getInt(inicio + 1);
+        Registro registro = id >= 0 && id < porId.length ? porId[id] : null;
+        switch (tipo) {
+            case AGENDADO:
+                byte[] conteudo = new byte[tamanho];
+                for (int i = 0; i < tamanho; i++) {
+                    conteudo[i] = mapa.get(inicio + i);
+                }
+                Registro lido = decodificar(conteudo);
+                if (registro != null && !registro.nome.equals(lido.nome)) {
+                    porNome.remove(registro.nome);
+                }
+                guardar(lido);
+                porNome.put(lido.nome, lido);
+                proximoId = Math.max(proximoId, lido.id + 1);
+                break;
+            case EXECUTADO:
+                if (registro != null) {
+                    registro.ultimaExecucaoMillis = mapa.getLong(inicio + 5);
+                }
+                break;
+            case REMOVIDO:
+                if (registro != null) {
+                    porId[id] = null;
+                    porNome.remove(registro.nome);
+                }
+                break;
+            default:
+                throw new IOException("Registro desconhecido no diário "
+                        + arquivo + ": " + tipo);
+        }
+    }
+
+    private void compactar(int reserva) throws IOException {
+        // recusa novas reservas; as já feitas caem no arquivo antigo e o seu
+        // conteúdo já está nos registros em memória
+        long anterior = posicao.getAndSet(posicao.get() | FECHADO);
+        int tamanho;
+        try {
+            tamanho = reescrever(reserva);
+        } catch (IOException ex) {
+            posicao.set(anterior);
+            throw ex;
+        }
+        selado = tamanho;
+        posicao.set(((anterior >>> 32) + 1) << 32 | tamanho);
+    }
+
+    /**
+     * Grava o estado vigente em um arquivo novo que substitui o atual.
+     *
+     * @return Posição livre do arquivo novo.
+     */
+    private int reescrever(int reserva) throws IOException {
+        List<byte[]> conteudos = new ArrayList<byte[]>(porNome.size());
+        long total = INICIO;
+        for (Registro registro : porNome.values()) {
+            byte[] conteudo = codificar(registro);
+            conteudos.add(conteudo);
+            total += CABECALHO + conteudo.length;
+        }
+        long necessario = 2 * (total + CABECALHO + reserva);
+        int novaCapacidade = CAPACIDADE_INICIAL;
+        while (novaCapacidade < necessario) {
+            if (novaCapacidade > Integer.MAX_VALUE / 2) {
+                throw new IOException("Diário excede o tamanho máximo: "
+                        + arquivo);
+            }
+            novaCapacidade <<= 1;
+        }
+
+        int tamanho;
+        File temporario = new File(arquivo.getPath() + ".tmp");
+        RandomAccessFile novo = new RandomAccessFile(temporario, "rw");
+        try {
+            novo.setLength(0);
+            novo.setLength(novaCapacidade);
+            MappedByteBuffer buffer = novo.getChannel().map(
+                    FileChannel.MapMode.READ_WRITE, 0, novaCapacidade);
+            buffer.putInt(0, MAGICO);
+            int atual = INICIO;
+            for (byte[] conteudo : conteudos) {
+                for (int i = 0; i < conteudo.length; i++) {
+                    buffer.put(atual + CABECALHO + i, conteudo[i]);
+                }
+                buffer.putInt(atual + 4,
+                        crc(buffer, atual + CABECALHO, conteudo.length));
+                buffer.putInt(atual, conteudo.length);
+                atual += CABECALHO + conteudo.length;
+            }
+            buffer.force();
+            tamanho = atual;
+        } finally {
+            novo.close();
+        }
+
+        if (acesso != null) {
+            acesso.close();
+        }
+        Files.move(temporario.toPath(), arquivo.toPath(),
+                StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        mapear();
+        log.debug("Diário {} compactado: {} processos, {} bytes", arquivo,
+                conteudos.size(), novaCapacidade);
+        return tamanho;
+    }
+
+    private static byte[] codificar(Registro registro) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+            DataOutputStream saida = new DataOutputStream(bytes);
+            saida.writeByte(AGENDADO);
+            saida.writeInt(registro.id);
+            saida.writeByte(registro.repeticao == null
+                    ? -1 : registro.repeticao.ordinal());
+            saida.writeLong(registro.atrasoNanos);
+            saida.writeLong(registro.intervaloNanos);
+            saida.writeLong(registro.agendadoEmMillis);
+            saida.writeLong(registro.ultimaExecucaoMillis);
+            saida.writeUTF(registro.nome);
+            saida.writeUTF(texto(registro.pool));
+            saida.writeUTF(texto(registro.cron));
+            saida.writeUTF(texto(registro.fuso));
+            saida.flush();
+            return bytes.toByteArray();
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static Registro decodificar(byte[] conteudo) throws IOException {
+        DataInputStream entrada = new DataInputStream(
+                new ByteArrayInputStream(conteudo));
+        entrada.readByte();
+        Registro registro = new Registro();
+        registro.id = entrada.readInt();
+        int repeticao = entrada.readByte();
+        registro.repeticao = repeticao < 0
+                ? null : RepetitionEnum.values()[repeticao];
+        registro.atrasoNanos = entrada.readLong();
+        registro.intervaloNanos = entrada.readLong();
+        registro.agendadoEmMillis = entrada.readLong();
+        registro.ultimaExecucaoMillis = entrada.readLong();
+        registro.nome = entrada.readUTF();
+        registro.pool = nulo(entrada.readUTF());
+        registro.cron = nulo(entrada.readUTF());
+        registro.fuso = nulo(entrada.readUTF());
+        return registro;
+    }
+
+    private static String texto(String valor) {
+        return valor == null ? "" : valor;
+    }
+
+    private static String nulo(String valor) {
+        return valor.isEmpty() ? null : valor;
+    }
+
+    /**
+     * Estado de um processo guardado no diário.
+     */
+    static final class Registro {
+
+        int id;
+        String nome;
+        String pool;
+        RepetitionEnum repeticao;
+        long atrasoNanos;
+        long intervaloNanos;
+        String cron;
+        String fuso;
+        long agendadoEmMillis;
+        // gravado também fora da trava, pela conclusão das execuções
+        volatile long ultimaExecucaoMillis;
+
+        Registro copia() {
+            Registro copia = new Registro();
+            copia.id = id;
+            copia.nome = nome;
+            copia.pool = pool;
+            copia.repeticao = repeticao;
+            copia.atrasoNanos = atrasoNanos;
+            copia.intervaloNanos = intervaloNanos;
+            copia.cron = cron;
+            copia.fuso = fuso;
+            copia.agendadoEmMillis = agendadoEmMillis;
+            copia.ultimaExecucaoMillis = ultimaExecucaoMillis;
+            return copia;
+        }
+    }
+}
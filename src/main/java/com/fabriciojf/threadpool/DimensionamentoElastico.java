@@ -0,0 +1,163 @@
+package com.fabriciojf.threadpool;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Ajuste periódico do número de threads de um {@link PoolDeThreads} elástico.
+ * A cada amostra são medidos o atraso médio de início das execuções na
+ * janela, as tarefas vencidas aguardando thread e a ocupação das threads. O
+ * pool cresce após {@value #AMOSTRAS_PARA_CRESCER} amostras seguidas com
+ * sobrecarga e encolhe após {@value #AMOSTRAS_PARA_REDUZIR} amostras seguidas
+ * com folga, evitando oscilar em cargas irregulares. O redimensionamento não
+ * toca nas tarefas agendadas.
+ *
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+final class DimensionamentoElastico implements Runnable {
+
+    static Logger log = LoggerFactory.getLogger(DimensionamentoElastico.class);
+
+    static final int AMOSTRAS_PARA_CRESCER = 2;
+    static final int AMOSTRAS_PARA_REDUZIR = 10;
+
+    private final PoolDeThreads pool;
+    private final AbstractSchedulerEngine motor;
+    private final long periodoNanos;
+    private long contagemAnterior;
+    private long atrasoAnterior;
+    private long duracaoAnterior;
+    private int sobrecargas;
+    private int folgas;
+    private Future<?> gatilho;
+
+    DimensionamentoElastico(PoolDeThreads pool, AbstractSchedulerEngine motor,
+            long periodoNanos) {
+        this.pool = pool;
+        this.motor = motor;
+        this.periodoNanos = periodoNanos;
+    }
+
+    /**
+     * Inicia as amostragens periódicas.
+     */
+    synchronized void iniciar() {
+        if (gatilho == null) {
+            MetricasDeExecucao metricas = pool.getMetricas();
+            contagemAnterior = metricas.getAtraso().getContagem();
+            atrasoAnterior = metricas.getAtraso().getSoma();
+            duracaoAnterior = metricas.getDuracao().getSoma();
+            gatilho = Amostrador.SERVICO.scheduleAtFixedRate(this,
+                    periodoNanos, periodoNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Encerra as amostragens.
+     */
+    synchronized void parar() {
+        if (gatilho != null) {
+            gatilho.cancel(false);
+            gatilho = null;
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            avaliar();
+        } catch (Throwable ex) {
+            // uma exceção cancelaria as amostragens seguintes
+            log.error("Exceção redimensionando o pool de threads", ex);
+        }
+    }
+
+    private synchronized void avaliar() {
+        int atuais = motor.getThreads();
+        if (atuais <= 0 || motor.isDesligado()) {
+            return;
+        }
+        int minimo = pool.getMinimoDeThreads();
+        int maximo = Math.max(pool.getMaximoDeThreads(), minimo);
+
+        MetricasDeExecucao metricas = pool.getMetricas();
+        long contagem = metricas.getAtraso().getContagem();
+        long atrasoTotal = metricas.getAtraso().getSoma();
+        long duracaoTotal = metricas.getDuracao().getSoma();
+        long execucoes = contagem - contagemAnterior;
+        long atraso = execucoes > 0
+                ? (atrasoTotal - atrasoAnterior) / execucoes : 0;
+        long ocupacao = duracaoTotal - duracaoAnterior;
+        contagemAnterior = contagem;
+        atrasoAnterior = atrasoTotal;
+        duracaoAnterior = duracaoTotal;
+
+        int prontas = motor.getProntas();
+        // threads necessárias: as ocupadas agora ou as que a soma das
+        // durações na janela manteria ocupadas, o que for maior
+        long necessarias = Math.max(motor.getThreadsAtivas(),
+                (ocupacao + periodoNanos - 1) / periodoNanos);
+        long alvo = pool.getAtrasoAlvo(TimeUnit.NANOSECONDS);
+
+        int novas = atuais;
+        if (atuais > maximo || atuais < minimo) {
+            novas = Math.min(Math.max(atuais, minimo), maximo);
+            sobrecargas = 0;
+            folgas = 0;
+        } else if (atraso > alvo || prontas > 0) {
+            folgas = 0;
+            if (++sobrecargas >= AMOSTRAS_PARA_CRESCER) {
+                sobrecargas = 0;
+                novas = Math.min(maximo, Math.max(atuais + 1,
+                        atuais + Math.min(prontas, atuais)));
+            }
+        } else if (atraso <= alvo / 2 && necessarias < atuais) {
+            sobrecargas = 0;
+            if (++folgas >= AMOSTRAS_PARA_REDUZIR) {
+                folgas = 0;
+                long sobra = atuais - necessarias - 1;
+                novas = (int) Math.max(minimo,
+                        atuais - Math.max(1, sobra / 2));
+            }
+        } else {
+            sobrecargas = 0;
+            folgas = 0;
+        }
+
+        if (novas != atuais) {
+            if (motor.redimensionar(novas,
+                    pool.getOciosidade(TimeUnit.NANOSECONDS))) {
+                log.info("Pool de threads {} redimensionado de {} para {} "
+                        + "threads (atraso medio {} us, prontas {})",
+                        metricas.getNome(), atuais, novas,
+                        TimeUnit.NANOSECONDS.toMicros(atraso), prontas);
+            }
+        }
+    }
+
+    /**
+     * Thread única compartilhada pelas amostragens de todos os pools, criada
+     * no primeiro pool elástico.
+     */
+    private static final class Amostrador {
+
+        static final ScheduledExecutorService SERVICO
+                = Executors.newSingleThreadScheduledExecutor(
+                        new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable r) {
+                        Thread thread = new Thread(r, "PoolDeThreads-elastico");
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+    }
+}
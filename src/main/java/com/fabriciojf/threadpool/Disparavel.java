@@ -0,0 +1,27 @@
+package com.fabriciojf.threadpool;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Processo que deseja conhecer o instante previsto para cada disparo, por
+ * exemplo para medir o atraso de início. Os motores do pacote chamam
+ * {@link #disparar(long)} no lugar de {@link #run()} para estes processos.
+ * Um processo assíncrono devolve o estágio cuja conclusão marca o fim da
+ * execução, de modo que o motor só calcula o próximo disparo depois dela.
+ *
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+interface Disparavel extends Runnable {
+
+    /**
+     * Executa o processo.
+     *
+     * @param previstoNanos Instante previsto para o disparo, conforme
+     * {@link System#nanoTime()}.
+     * @return Nulo se a execução terminou antes do retorno, ou o estágio cuja
+     * conclusão marca o fim da execução.
+     */
+    CompletionStage<?> disparar(long previstoNanos);
+}
@@ -0,0 +1,50 @@
+package com.fabriciojf.threadpool;
+
+/**
+ * Eventos do JDK Flight Recorder para as execuções dos processos. Esta é a
+ * versão para Java 8, que não publica eventos; o jar multi-release traz em
+ * META-INF/versions/21 a versão que os publica.
+ *
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+final class EventosJfr {
+
+    private EventosJfr() {
+    }
+
+    /**
+     * Publica o agendamento de um processo.
+     *
+     * @param pool Nome do pool de threads.
+     * @param processo Nome do processo.
+     * @param atrasoNanos Atraso do primeiro disparo.
+     */
+    static void agendado(String pool, String processo, long atrasoNanos) {
+    }
+
+    /**
+     * Publica uma execução concluída de um processo.
+     *
+     * @param pool Nome do pool de threads.
+     * @param processo Nome do processo.
+     * @param atrasoNanos Atraso do início em relação ao previsto.
+     * @param duracaoNanos Duração da execução.
+     * @param erro Exceção que encerrou a execução, ou nulo.
+     */
+    static void executado(String pool, String processo, long atrasoNanos,
+            long duracaoNanos, Throwable erro) {
+    }
+
+    /**
+     * Publica o cancelamento do agendamento de um processo.
+     *
+     * @param pool Nome do pool de threads.
+     * @param processo Nome do processo.
+     * @param imediatamente Se a execução em andamento foi interrompida.
+     */
+    static void cancelado(String pool, String processo,
+            boolean imediatamente) {
+    }
+}
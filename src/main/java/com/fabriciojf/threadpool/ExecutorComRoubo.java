@@ -0,0 +1,113 @@
+package com.fabriciojf.threadpool;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor de threads fixas de uma partição de um pool particionado. Quando
+ * todas as suas threads estão ocupadas e há tarefas em fila, pede ajuda a uma
+ * partição ociosa do mesmo grupo, que executa até {@link #LOTE_DE_ROUBO}
+ * tarefas da fila desta e, se a sobrecarga persistir, devolve o pedido ao
+ * grupo. Assim a ajudante volta à própria fila a cada lote e a ajuda se
+ * espalha pelas partições ociosas. Sem sobrecarga nenhuma estrutura de outra
+ * partição é tocada.
+ *
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+final class ExecutorComRoubo extends ThreadPoolExecutor {
+
+    /**
+     * Máximo de tarefas executadas por pedido de ajuda.
+     */
+    static final int LOTE_DE_ROUBO = 4;
+
+    private final AtomicInteger ocupadas = new AtomicInteger();
+    private final AtomicBoolean ajudando = new AtomicBoolean();
+    private ExecutorComRoubo[] grupo;
+
+    ExecutorComRoubo(int threads) {
+        this(threads, new LinkedBlockingQueue<Runnable>());
+    }
+
+    ExecutorComRoubo(int threads, BlockingQueue<Runnable> fila) {
+        super(threads, threads, 0L, TimeUnit.MILLISECONDS, fila);
+    }
+
+    /**
+     * Define as partições que podem ajudar umas às outras. Deve ser chamado
+     * antes da primeira tarefa.
+     *
+     * @param grupo Todos os executores do pool particionado, inclusive este.
+     */
+    void setGrupo(ExecutorComRoubo[] grupo) {
+        this.grupo = grupo;
+    }
+
+    @Override
+    public void execute(Runnable tarefa) {
+        super.execute(tarefa);
+        if (isSobrecarregado()) {
+            pedirAjuda();
+        }
+    }
+
+    private boolean isSobrecarregado() {
+        return grupo != null && ocupadas.get() >= getCorePoolSize()
+                && !getQueue().isEmpty();
+    }
+
+    private void pedirAjuda() {
+        int inicio = ThreadLocalRandom.current().nextInt(grupo.length);
+        for (int i = 0; i < grupo.length; i++) {
+            ExecutorComRoubo ajudante = grupo[(inicio + i) % grupo.length];
+            if (ajudante != this && !ajudante.isShutdown()
+                    && ajudante.ocupadas.get() < ajudante.getCorePoolSize()
+                    && ajudante.ajudando.compareAndSet(false, true)) {
+                ajudante.ajudar(this);
+                return;
+            }
+        }
+    }
+
+    private void ajudar(final ExecutorComRoubo vitima) {
+        try {
+            super.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        Runnable roubada;
+                        for (int i = 0; i < LOTE_DE_ROUBO
+                                && (roubada = vitima.getQueue().poll()) != null;
+                                i++) {
+                            roubada.run();
+                        }
+                    } finally {
+                        ajudando.set(false);
+                    }
+                    if (vitima.isSobrecarregado()) {
+                        vitima.pedirAjuda();
+                    }
+                }
+            });
+        } catch (RuntimeException ex) {
+            ajudando.set(false);
+        }
+    }
+
+    @Override
+    protected void beforeExecute(Thread thread, Runnable tarefa) {
+        ocupadas.incrementAndGet();
+    }
+
+    @Override
+    protected void afterExecute(Runnable tarefa, Throwable falha) {
+        ocupadas.decrementAndGet();
+    }
+}
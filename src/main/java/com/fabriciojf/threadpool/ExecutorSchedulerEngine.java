@@ -0,0 +1,242 @@
+package com.fabriciojf.threadpool;
+
+import java.util.List;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Motor de agendamento baseado em {@link ScheduledThreadPoolExecutor}. Cada
+ * disparo é guardado na fila de prioridade do executor, com custo
+ * logarítmico para agendar. É o motor padrão dos pools.
+ *
+ * Cada tarefa tem um único {@link Gatilho} na fila do executor, criado no
+ * primeiro agendamento e devolvido à fila a cada novo disparo, de modo que a
+ * execução de processos repetitivos não aloca memória. Em troca, cancelar
+ * percorre a fila, já que ela só conhece a posição das tarefas criadas pelo
+ * próprio executor. No encerramento as tarefas repetitivas pendentes são
+ * descartadas e as execuções únicas ainda são executadas, como no
+ * {@link ScheduledThreadPoolExecutor}.
+ *
+ * Com {@link PoolDeThreads#setDespachoPorPrioridade(boolean) despacho por
+ * prioridade} o executor agendado passa a ter uma única thread, que apenas
+ * entrega os disparos vencidos a um executor de trabalho cuja fila respeita a
+ * prioridade das tarefas.
+ *
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+public class ExecutorSchedulerEngine extends AbstractSchedulerEngine {
+
+    static Logger log = LoggerFactory.getLogger(
+            ExecutorSchedulerEngine.class);
+
+    private final ScheduledThreadPoolExecutor servico;
+    private final ExecutorService trabalhadores;
+
+    /**
+     * Instancia o motor com o número de threads informado.
+     *
+     * @param threads Número de threads do executor.
+     */
+    public ExecutorSchedulerEngine(int threads) {
+        this.servico = new ScheduledThreadPoolExecutor(threads);
+        this.servico.setRemoveOnCancelPolicy(true);
+        this.trabalhadores = null;
+    }
+
+    /**
+     * Instancia o motor com uma thread de temporização que entrega os
+     * disparos vencidos ao executor informado.
+     *
+     * @param trabalhadores Executor das tarefas.
+     */
+    ExecutorSchedulerEngine(ExecutorService trabalhadores) {
+        this.servico = new ScheduledThreadPoolExecutor(1);
+        this.servico.setRemoveOnCancelPolicy(true);
+        this.trabalhadores = trabalhadores;
+    }
+
+    /**
+     * Executor usado por este motor.
+     *
+     * @return Executor usado por este motor.
+     */
+    public ScheduledExecutorService getServico() {
+        return servico;
+    }
+
+    @Override
+    ExecutorService getExecutor() {
+        return trabalhadores != null ? trabalhadores : servico;
+    }
+
+    /**
+     * A fila do executor guarda também os disparos futuros, então apenas a
+     * tarefa do topo é examinada para saber se há disparos vencidos
+     * esperando thread.
+     */
+    @Override
+    int getProntas() {
+        if (trabalhadores != null) {
+            return super.getProntas();
+        }
+        Delayed topo = (Delayed) servico.getQueue().peek();
+        return topo != null && topo.getDelay(TimeUnit.NANOSECONDS) <= 0
+                ? 1 : 0;
+    }
+
+    @Override
+    void inserir(TarefaAgendada tarefa) {
+        if (servico.isShutdown()) {
+            throw new RejectedExecutionException("Motor encerrado");
+        }
+        Gatilho gatilho = (Gatilho) tarefa.gatilho;
+        if (gatilho == null) {
+            gatilho = new Gatilho(tarefa);
+            tarefa.gatilho = gatilho;
+        }
+        gatilho.disparoNanos = tarefa.getDisparoNanos();
+        servico.getQueue().add(gatilho);
+        if (servico.isShutdown()) {
+            // encerrado durante a inserção
+            if (servico.remove(gatilho)) {
+                tarefa.descartar();
+            }
+        } else {
+            // as threads do núcleo podem ter expirado por ociosidade
+            servico.prestartCoreThread();
+        }
+    }
+
+    private void despachar(TarefaAgendada tarefa) {
+        try {
+            trabalhadores.execute(tarefa);
+        } catch (RejectedExecutionException ex) {
+            log.warn("Processo descartado pelo executor: " + tarefa);
+            tarefa.descartar();
+        }
+    }
+
+    @Override
+    void remover(TarefaAgendada tarefa) {
+        Gatilho gatilho = (Gatilho) tarefa.gatilho;
+        if (gatilho != null) {
+            servico.remove(gatilho);
+        }
+    }
+
+    @Override
+    boolean isDesligado() {
+        return servico.isShutdown();
+    }
+
+    @Override
+    public void shutdown() {
+        servico.shutdown();
+        if (trabalhadores != null) {
+            trabalhadores.shutdown();
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        List<Runnable> pendentes = servico.shutdownNow();
+        if (trabalhadores != null) {
+            pendentes.addAll(trabalhadores.shutdownNow());
+        }
+        return pendentes;
+    }
+
+    /**
+     * Entrada da tarefa na fila do executor, reaproveitada em todos os
+     * disparos. O instante do disparo é copiado da tarefa na inserção, pois a
+     * ordem da fila não pode mudar enquanto a entrada estiver nela. O
+     * encerramento do executor descarta as tarefas repetitivas pela
+     * {@link #cancel(boolean)}.
+     */
+    private final class Gatilho implements RunnableScheduledFuture<Object> {
+
+        private final TarefaAgendada tarefa;
+        long disparoNanos;
+
+        Gatilho(TarefaAgendada tarefa) {
+            this.tarefa = tarefa;
+        }
+
+        @Override
+        public void run() {
+            if (trabalhadores != null) {
+                despachar(tarefa);
+            } else {
+                tarefa.run();
+            }
+        }
+
+        @Override
+        public boolean isPeriodic() {
+            return tarefa.isRepetitiva();
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(disparoNanos - System.nanoTime(),
+                    TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed outro) {
+            if (outro == this) {
+                return 0;
+            }
+            long diferenca = outro instanceof Gatilho
+                    ? disparoNanos - ((Gatilho) outro).disparoNanos
+                    : getDelay(TimeUnit.NANOSECONDS)
+                            - outro.getDelay(TimeUnit.NANOSECONDS);
+            return diferenca < 0 ? -1 : (diferenca > 0 ? 1 : 0);
+        }
+
+        @Override
+        public boolean cancel(boolean interromper) {
+            servico.remove(this);
+            return tarefa.descartar();
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return tarefa.isCancelled();
+        }
+
+        @Override
+        public boolean isDone() {
+            return tarefa.isDone();
+        }
+
+        @Override
+        public Object get() throws InterruptedException, ExecutionException {
+            return tarefa.get();
+        }
+
+        @Override
+        public Object get(long timeout, TimeUnit unit)
+                throws InterruptedException, ExecutionException,
+                TimeoutException {
+            return tarefa.get(timeout, unit);
+        }
+
+        @Override
+        public String toString() {
+            return tarefa.toString();
+        }
+    }
+}
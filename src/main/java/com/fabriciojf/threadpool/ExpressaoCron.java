@@ -0,0 +1,398 @@
+package com.fabriciojf.threadpool;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Locale;
+
+/**
+ * Expressão cron compilada. A expressão é interpretada uma única vez em
+ * máscaras de bits e o próximo disparo é calculado com aritmética de
+ * calendário sobre inteiros, sem alocação. O deslocamento do fuso horário
+ * fica em cache enquanto não houver transição de horário de verão; apenas a
+ * renovação do cache, perto de uma transição, aloca memória.
+ * <p>
+ * Aceita cinco campos, "minuto hora dia-do-mes mes dia-da-semana", ou seis,
+ * com os segundos à frente. Cada campo aceita "*", "?", valores, listas
+ * separadas por vírgula, intervalos "a-b" e passos "/n"; meses e dias da
+ * semana aceitam também as abreviações em inglês (JAN, SUN). Domingo é 0 ou
+ * 7. Quando dia do mês e dia da semana são ambos restritos basta um deles
+ * conferir, como no cron tradicional. Também são aceitas as abreviações
+ * {@code @yearly}, {@code @annually}, {@code @monthly}, {@code @weekly},
+ * {@code @daily}, {@code @midnight} e {@code @hourly}.
+ * <p>
+ * Horários inexistentes por causa do horário de verão disparam no fim do
+ * salto, no instante da transição: com o relógio saltando das 02:00 para as
+ * 03:00, um disparo previsto para as 02:30 acontece às 03:00, uma única vez
+ * mesmo que vários horários do salto confiram. Horários repetidos disparam
+ * uma única vez, na primeira ocorrência.
+ *
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+public final class ExpressaoCron {
+
+    /**
+     * Valor devolvido por {@link #proximo(long)} quando a expressão não tem
+     * mais disparos, por exemplo em 30 de fevereiro.
+     */
+    public static final long NENHUM = -1;
+
+    private static final int SEGUNDOS_POR_DIA = 24 * 60 * 60;
+    private static final int LIMITE_DE_DIAS = 366 * 28;
+    private static final String[] MESES = {"JAN", "FEB", "MAR", "APR", "MAY",
+        "JUN", "JUL", "AUG", "SEP", "OCT", "NOV", "DEC"};
+    private static final String[] DIAS = {"SUN", "MON", "TUE", "WED", "THU",
+        "FRI", "SAT"};
+
+    private final String expressao;
+    private final ZoneId fuso;
+    private final ZoneRules regras;
+    private final long segundos;
+    private final long minutos;
+    private final long horas;
+    private final long diasDoMes;
+    private final long meses;
+    private final long diasDaSemana;
+    private final boolean diaDoMesRestrito;
+    private final boolean diaDaSemanaRestrito;
+    private final int deslocamentoFixo;
+
+    private volatile Vigencia vigencia;
+
+    private ExpressaoCron(String expressao, ZoneId fuso) {
+        this.expressao = expressao;
+        this.fuso = fuso;
+        this.regras = fuso.getRules();
+        String[] campos = expandir(expressao.trim()).split("\\s+");
+        if (campos.length != 5 && campos.length != 6) {
+            throw new IllegalArgumentException(
+                    "Expressão cron deve ter 5 ou 6 campos: " + expressao);
+        }
+        int i = 0;
+        this.segundos = campos.length == 6
+                ? campo(campos[i++], 0, 59, null, expressao) : 1L;
+        this.minutos = campo(campos[i++], 0, 59, null, expressao);
+        this.horas = campo(campos[i++], 0, 23, null, expressao);
+        this.diaDoMesRestrito = restrito(campos[i]);
+        this.diasDoMes = campo(campos[i++], 1, 31, null, expressao);
+        this.meses = campo(campos[i++], 1, 12, MESES, expressao);
+        this.diaDaSemanaRestrito = restrito(campos[i]);
+        long semana = campo(campos[i], 0, 7, DIAS, expressao);
+        // domingo pode ser escrito como 0 ou 7
+        this.diasDaSemana = (semana | (semana >>> 7)) & 0x7F;
+        this.deslocamentoFixo = regras.isFixedOffset()
+                ? regras.getOffset(Instant.EPOCH).getTotalSeconds() : 0;
+    }
+
+    /**
+     * Compila a expressão no fuso horário padrão da JVM.
+     *
+     * @param expressao Expressão cron.
+     * @return A expressão compilada.
+     * @throws IllegalArgumentException Se a expressão for inválida.
+     */
+    public static ExpressaoCron compilar(String expressao) {
+        return compilar(expressao, ZoneId.systemDefault());
+    }
+
+    /**
+     * Compila a expressão no fuso horário indicado.
+     *
+     * @param expressao Expressão cron.
+     * @param fuso Fuso horário em que a expressão é avaliada.
+     * @return A expressão compilada.
+     * @throws IllegalArgumentException Se a expressão for inválida.
+     */
+    public static ExpressaoCron compilar(String expressao, ZoneId fuso) {
+        if (expressao == null || fuso == null) {
+            throw new NullPointerException();
+        }
+        return new ExpressaoCron(expressao, fuso);
+    }
+
+    /**
+     * Texto original da expressão.
+     *
+     * @return Texto original da expressão.
+     */
+    public String getExpressao() {
+        return expressao;
+    }
+
+    /**
+     * Fuso horário em que a expressão é avaliada.
+     *
+     * @return Fuso horário da expressão.
+     */
+    public ZoneId getFuso() {
+        return fuso;
+    }
+
+    /**
+     * Próximo disparo estritamente posterior ao instante indicado.
+     *
+     * @param depoisDeMillis Instante de referência em milissegundos desde a
+     * época, como em {@link System#currentTimeMillis()}.
+     * @return Instante do próximo disparo em milissegundos desde a época, ou
+     * {@link #NENHUM} se não houver.
+     */
+    public long proximo(long depoisDeMillis) {
+        long referencia = Math.floorDiv(depoisDeMillis, 1000) + 1;
+        long local = referencia + deslocamento(referencia);
+        while (true) {
+            long candidato = proximoLocal(local);
+            if (candidato == NENHUM) {
+                return NENHUM;
+            }
+            long instante = paraInstante(candidato);
+            // a segunda passagem de um horário repetido fica para trás
+            if (instante >= referencia) {
+                return instante * 1000;
+            }
+            local = candidato + 1;
+        }
+    }
+
+    private long proximoLocal(long local) {
+        long dia = Math.floorDiv(local, SEGUNDOS_POR_DIA);
+        int segundo = (int) Math.floorMod(local, SEGUNDOS_POR_DIA);
+        long limite = dia + LIMITE_DE_DIAS;
+        while (dia < limite) {
+            // conversão de dias em ano, mês e dia, segundo H. Hinnant
+            long z = dia + 719468;
+            long era = Math.floorDiv(z, 146097);
+            long doe = z - era * 146097;
+            long yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+            long doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+            long mp = (5 * doy + 2) / 153;
+            int diaDoMes = (int) (doy - (153 * mp + 2) / 5 + 1);
+            int mes = (int) (mp < 10 ? mp + 3 : mp - 9);
+
+            if ((meses & (1L << mes)) == 0) {
+                // salta para o primeiro dia do mês seguinte
+                dia += diasNoMes(yoe + era * 400 + (mes <= 2 ? 1 : 0), mes)
+                        - diaDoMes + 1;
+                segundo = 0;
+                continue;
+            }
+            if (confere(diaDoMes, (int) Math.floorMod(dia + 4, 7))) {
+                int horario = proximoHorario(segundo);
+                if (horario >= 0) {
+                    return dia * SEGUNDOS_POR_DIA + horario;
+                }
+            }
+            dia++;
+            segundo = 0;
+        }
+        return NENHUM;
+    }
+
+    private boolean confere(int diaDoMes, int diaDaSemana) {
+        boolean mes = (diasDoMes & (1L << diaDoMes)) != 0;
+        boolean semana = (diasDaSemana & (1L << diaDaSemana)) != 0;
+        if (diaDoMesRestrito && diaDaSemanaRestrito) {
+            return mes || semana;
+        }
+        return mes && semana;
+    }
+
+    private int proximoHorario(int inicio) {
+        int h = inicio / 3600;
+        int m = inicio / 60 % 60;
+        int s = inicio % 60;
+        for (int hora = proximoBit(horas, h); hora >= 0;
+                hora = proximoBit(horas, hora + 1)) {
+            boolean mesmaHora = hora == h;
+            for (int minuto = proximoBit(minutos, mesmaHora ? m : 0);
+                    minuto >= 0; minuto = proximoBit(minutos, minuto + 1)) {
+                int segundo = proximoBit(segundos,
+                        mesmaHora && minuto == m ? s : 0);
+                if (segundo >= 0) {
+                    return hora * 3600 + minuto * 60 + segundo;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static int proximoBit(long mascara, int de) {
+        if (de >= 64) {
+            return -1;
+        }
+        long restantes = mascara & (-1L << de);
+        return restantes == 0 ? -1 : Long.numberOfTrailingZeros(restantes);
+    }
+
+    private static int diasNoMes(long ano, int mes) {
+        switch (mes) {
+            case 2:
+                boolean bissexto = ano % 4 == 0
+                        && (ano % 100 != 0 || ano % 400 == 0);
+                return bissexto ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * Converte um horário local em instante. Havendo duas ocorrências vale a
+     * primeira; não havendo nenhuma vale o instante da transição que criou o
+     * salto. Só a busca da transição, rara, aloca memória.
+     */
+    private long paraInstante(long local) {
+        if (regras.isFixedOffset()) {
+            return local - deslocamentoFixo;
+        }
+        int antes = deslocamento(local - SEGUNDOS_POR_DIA);
+        int depois = deslocamento(local + SEGUNDOS_POR_DIA);
+        long comAntes = local - antes;
+        long comDepois = local - depois;
+        boolean antesValido = deslocamento(comAntes) == antes;
+        boolean depoisValido = deslocamento(comDepois) == depois;
+        if (antesValido && depoisValido) {
+            return Math.min(comAntes, comDepois);
+        }
+        if (antesValido) {
+            return comAntes;
+        }
+        if (depoisValido) {
+            return comDepois;
+        }
+        // no salto, comDepois fica antes da transição e comAntes depois
+        ZoneOffsetTransition transicao = regras.nextTransition(
+                Instant.ofEpochSecond(Math.min(comAntes, comDepois)));
+        return transicao != null ? transicao.getInstant().getEpochSecond()
+                : local - Math.min(antes, depois);
+    }
+
+    private int deslocamento(long instante) {
+        if (regras.isFixedOffset()) {
+            return deslocamentoFixo;
+        }
+        Vigencia atual = vigencia;
+        if (atual == null || instante < atual.inicio || instante >= atual.fim) {
+            atual = new Vigencia(regras, instante);
+            vigencia = atual;
+        }
+        return atual.deslocamento;
+    }
+
+    private static String expandir(String expressao) {
+        String macro = expressao.toLowerCase(Locale.ROOT);
+        if (macro.equals("@yearly") || macro.equals("@annually")) {
+            return "0 0 0 1 1 *";
+        }
+        if (macro.equals("@monthly")) {
+            return "0 0 0 1 * *";
+        }
+        if (macro.equals("@weekly")) {
+            return "0 0 0 * * 0";
+        }
+        if (macro.equals("@daily") || macro.equals("@midnight")) {
+            return "0 0 0 * * *";
+        }
+        if (macro.equals("@hourly")) {
+            return "0 0 * * * *";
+        }
+        return expressao;
+    }
+
+    private static boolean restrito(String campo) {
+        return !campo.equals("*") && !campo.equals("?");
+    }
+
+    private static long campo(String campo, int minimo, int maximo,
+            String[] nomes, String expressao) {
+        long mascara = 0;
+        for (String parte : campo.split(",")) {
+            int passo = 1;
+            int barra = parte.indexOf('/');
+            if (barra >= 0) {
+                passo = valor(parte.substring(barra + 1), 1, 64, null,
+                        expressao);
+                parte = parte.substring(0, barra);
+            }
+            int inicio;
+            int fim;
+            if (parte.equals("*") || parte.equals("?")) {
+                inicio = minimo;
+                fim = maximo;
+            } else {
+                int traco = parte.indexOf('-');
+                if (traco > 0) {
+                    inicio = valor(parte.substring(0, traco), minimo, maximo,
+                            nomes, expressao);
+                    fim = valor(parte.substring(traco + 1), minimo, maximo,
+                            nomes, expressao);
+                } else {
+                    inicio = valor(parte, minimo, maximo, nomes, expressao);
+                    fim = barra >= 0 ? maximo : inicio;
+                }
+            }
+            if (inicio > fim) {
+                throw new IllegalArgumentException(
+                        "Intervalo inválido na expressão cron: " + expressao);
+            }
+            for (int valor = inicio; valor <= fim; valor += passo) {
+                mascara |= 1L << valor;
+            }
+        }
+        return mascara;
+    }
+
+    private static int valor(String texto, int minimo, int maximo,
+            String[] nomes, String expressao) {
+        if (nomes != null) {
+            for (int i = 0; i < nomes.length; i++) {
+                if (nomes[i].equalsIgnoreCase(texto)) {
+                    return i + minimo;
+                }
+            }
+        }
+        try {
+            int valor = Integer.parseInt(texto);
+            if (valor >= minimo && valor <= maximo) {
+                return valor;
+            }
+        } catch (NumberFormatException ex) {
+            // tratado abaixo
+        }
+        throw new IllegalArgumentException("Valor inválido \"" + texto
+                + "\" na expressão cron: " + expressao);
+    }
+
+    @Override
+    public String toString() {
+        return expressao + " (" + fuso + ")";
+    }
+
+    /**
+     * Deslocamento do fuso em vigor entre duas transições.
+     */
+    private static final class Vigencia {
+
+        final long inicio;
+        final long fim;
+        final int deslocamento;
+
+        Vigencia(ZoneRules regras, long instante) {
+            Instant momento = Instant.ofEpochSecond(instante);
+            this.deslocamento = regras.getOffset(momento).getTotalSeconds();
+            ZoneOffsetTransition anterior = regras.previousTransition(
+                    Instant.ofEpochSecond(instante + 1));
+            ZoneOffsetTransition seguinte = regras.nextTransition(momento);
+            this.inicio = anterior == null
+                    ? Long.MIN_VALUE : anterior.toEpochSecond();
+            this.fim = seguinte == null
+                    ? Long.MAX_VALUE : seguinte.toEpochSecond();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.fabriciojf.threadpool;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fila limitada sem bloqueio para vários produtores e um único consumidor,
+ * sobre um vetor circular. Cada posição guarda um número de sequência que diz
+ * se ela está livre para o produtor da volta atual ou preenchida para o
+ * consumidor; os produtores disputam apenas a cauda, com uma operação CAS, e
+ * o consumidor avança a cabeça sem disputa. Nenhuma operação aloca memória.
+ *
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+final class FilaMpsc<T> {
+
+    private final int mascara;
+    private final AtomicReferenceArray<T> itens;
+    private final AtomicLongArray sequencias;
+    private final AtomicLong cauda = new AtomicLong();
+    // alterada somente pelo consumidor
+    private volatile long cabeca;
+
+    /**
+     * Cria a fila com a capacidade arredondada para a próxima potência de
+     * dois.
+     *
+     * @param capacidade Número mínimo de itens que a fila comporta.
+     */
+    FilaMpsc(int capacidade) {
+        if (capacidade <= 0 || capacidade > (1 << 30)) {
+            throw new IllegalArgumentException(
+                    "Capacidade inválida: " + capacidade);
+        }
+        int tamanho = Integer.highestOneBit(capacidade);
+        if (tamanho < capacidade) {
+            tamanho <<= 1;
+        }
+        this.mascara = tamanho - 1;
+        this.itens = new AtomicReferenceArray<T>(tamanho);
+        this.sequencias = new AtomicLongArray(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            sequencias.set(i, i);
+        }
+    }
+
+    /**
+     * Número de itens que a fila comporta.
+     *
+     * @return Capacidade da fila.
+     */
+    int getCapacidade() {
+        return mascara + 1;
+    }
+
+    /**
+     * Número aproximado de itens na fila.
+     *
+     * @return Número de itens na fila.
+     */
+    int tamanho() {
+        long tamanho = cauda.get() - cabeca;
+        return tamanho < 0 ? 0 : (int) Math.min(tamanho, mascara + 1);
+    }
+
+    /**
+     * Insere um item, chamado por qualquer thread.
+     *
+     * @param item Item a inserir.
+     * @return Falso se a fila estiver cheia.
+     */
+    boolean oferecer(T item) {
+        while (true) {
+            long posicao = cauda.get();
+            int indice = (int) posicao & mascara;
+            long diferenca = sequencias.get(indice) - posicao;
+            if (diferenca == 0) {
+                if (cauda.compareAndSet(posicao, posicao + 1)) {
+                    itens.lazySet(indice, item);
+                    sequencias.lazySet(indice, posicao + 1);
+                    return true;
+                }
+            } else if (diferenca < 0) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Retira o item mais antigo, chamado somente pelo consumidor.
+     *
+     * @return O item mais antigo, ou nulo se a fila estiver vazia ou se o
+     * produtor do item mais antigo ainda não terminou de inseri-lo.
+     */
+    T retirar() {
+        long posicao = cabeca;
+        int indice = (int) posicao & mascara;
+        if (sequencias.get(indice) != posicao + 1) {
+            return null;
+        }
+        T item = itens.get(indice);
+        itens.lazySet(indice, null);
+        sequencias.lazySet(indice, posicao + mascara + 1);
+        cabeca = posicao + 1;
+        return item;
+    }
+}
@@ -0,0 +1,523 @@
+package com.fabriciojf.threadpool;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Fluxo de processos com dependências entre si, formando um grafo acíclico.
+ * Cada {@link LoopProcess} do fluxo é executado uma única vez por execução do
+ * fluxo, no seu próprio {@link PoolDeThreads}, assim que todas as suas
+ * dependências terminarem com sucesso; etapas independentes executam em
+ * paralelo. As dependências de uma etapa precisam ser adicionadas antes dela,
+ * de modo que o fluxo não admite ciclos.
+ *
+ * Uma etapa que falha encerra o fluxo: as etapas que ainda não começaram são
+ * canceladas, as etapas em andamento terminam normalmente e o
+ * {@link #getHandler() objeto de manipulação} do fluxo termina com a exceção
+ * da primeira falha. Ao fim de cada execução são medidos a duração total e o
+ * caminho crítico, a sequência de etapas dependentes com a maior soma de
+ * durações. Uma duração total muito maior que a do caminho crítico indica
+ * etapas prontas aguardando threads livres.
+ *
+ * <pre>
+ * FluxoDeProcessos fluxo = new FluxoDeProcessos("noturno");
+ * fluxo.adicionar(extrair);
+ * fluxo.adicionar(transformar, extrair);
+ * fluxo.adicionar(indexar, extrair);
+ * fluxo.adicionar(publicar, transformar, indexar);
+ * fluxo.executar();
+ * fluxo.getHandler().get();
+ * </pre>
+ *
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+public class FluxoDeProcessos {
+
+    static Logger log = LoggerFactory.getLogger(FluxoDeProcessos.class);
+
+    private static final int PENDENTE = 0;
+    private static final int AGENDADA = 1;
+    private static final int EXECUTANDO = 2;
+    private static final int CONCLUIDA = 3;
+    private static final int FALHOU = 4;
+    private static final int CANCELADA = 5;
+
+    private final String nome;
+    private final List<Etapa> etapas = new ArrayList<Etapa>();
+    private final Map<LoopProcess, Etapa> porProcesso
+            = new IdentityHashMap<LoopProcess, Etapa>();
+    private volatile Execucao execucao;
+
+    /**
+     * Constrói um fluxo vazio com um nome definido.
+     *
+     * @param nome O nome do fluxo, usado nos logs.
+     */
+    public FluxoDeProcessos(String nome) {
+        this.nome = nome;
+    }
+
+    /**
+     * Nome do fluxo.
+     *
+     * @return Nome do fluxo.
+     */
+    public String getNome() {
+        return nome;
+    }
+
+    /**
+     * Adiciona uma etapa ao fluxo. A etapa só é executada depois que todas as
+     * dependências terminarem com sucesso.
+     *
+     * @param processo Processo executado pela etapa.
+     * @param dependencias Processos já adicionados ao fluxo dos quais a etapa
+     * depende.
+     * @return O próprio fluxo.
+     * @throws IllegalArgumentException Se o processo já fizer parte do fluxo
+     * ou se uma dependência ainda não tiver sido adicionada.
+     * @throws IllegalStateException Se o fluxo estiver em execução.
+     */
+    public synchronized FluxoDeProcessos adicionar(LoopProcess processo,
+            LoopProcess... dependencias) {
+        if (processo == null) {
+            throw new NullPointerException();
+        }
+        if (isExecutando()) {
+            throw new IllegalStateException(
+                    "Fluxo em execução: " + getNome());
+        }
+        if (porProcesso.containsKey(processo)) {
+            throw new IllegalArgumentException(
+                    "Processo já adicionado ao fluxo: " + processo.getNome());
+        }
+        Etapa etapa = new Etapa(processo, etapas.size());
+        for (LoopProcess dependencia : dependencias) {
+            Etapa anterior = porProcesso.get(dependencia);
+            if (anterior == null) {
+                throw new IllegalArgumentException("Dependência de "
+                        + processo.getNome() + " não adicionada ao fluxo: "
+                        + (dependencia == null ? null : dependencia.getNome()));
+            }
+            if (!etapa.dependencias.contains(anterior)) {
+                etapa.dependencias.add(anterior);
+                anterior.dependentes.add(etapa);
+            }
+        }
+        etapas.add(etapa);
+        porProcesso.put(processo, etapa);
+        return this;
+    }
+
+    /**
+     * Processos do fluxo, na ordem em que foram adicionados.
+     *
+     * @return Cópia da lista de processos do fluxo.
+     */
+    public synchronized List<LoopProcess> getProcessos() {
+        List<LoopProcess> processos = new ArrayList<LoopProcess>();
+        for (Etapa etapa : etapas) {
+            processos.add(etapa.processo);
+        }
+        return processos;
+    }
+
+    /**
+     * Inicia a execução do fluxo, agendando imediatamente as etapas sem
+     * dependências. A repetição, o atraso e o intervalo configurados nos
+     * processos são ignorados.
+     *
+     * @return Verdadeiro caso o fluxo tenha sido posto em execução; falso se
+     * o fluxo já estiver em execução.
+     */
+    public synchronized boolean executar() {
+        if (isExecutando()) {
+            log.warn("Solicitacao de execucao de fluxo já em execucao. "
+                    + "Nada será feito: {}", getNome());
+            return false;
+        }
+        Execucao atual = new Execucao(etapas.size());
+        for (Etapa etapa : etapas) {
+            etapa.preparar(atual);
+        }
+        execucao = atual;
+        log.info("Iniciando o fluxo {} com {} etapas", getNome(),
+                etapas.size());
+        if (etapas.isEmpty()) {
+            atual.finalizar();
+            return true;
+        }
+        for (Etapa etapa : etapas) {
+            if (etapa.dependencias.isEmpty()) {
+                etapa.agendar();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Objeto de manipulação da última execução do fluxo. Termina quando todas
+     * as etapas terminarem ou forem canceladas, com a exceção da primeira
+     * etapa que falhou. Cancelar este objeto equivale a
+     * {@link #interromper(boolean)} e o conclui na hora, embora as etapas em
+     * andamento continuem até terminar; enquanto isso
+     * {@link #isExecutando()} continua verdadeiro.
+     *
+     * @return Objeto de manipulação da última execução, ou nulo se o fluxo
+     * ainda não foi executado.
+     */
+    public Future<?> getHandler() {
+        return execucao;
+    }
+
+    /**
+     * Diz se o fluxo está em execução no momento.
+     *
+     * @return Verdadeiro se o fluxo estiver em execução no momento.
+     */
+    public boolean isExecutando() {
+        Execucao atual = execucao;
+        return atual != null && !atual.encerrada;
+    }
+
+    /**
+     * Interrompe o fluxo: as etapas que ainda não começaram são canceladas e
+     * as etapas em andamento terminam normalmente.
+     *
+     * @see #interromper(boolean)
+     */
+    public void interromper() {
+        interromper(false);
+    }
+
+    /**
+     * Interrompe o fluxo, cancelando as etapas que ainda não começaram.
+     *
+     * @param imediatamente Quando verdadeiro interrompe também as etapas em
+     * andamento, como {@link LoopProcess#interromper(boolean)}.
+     */
+    public void interromper(boolean imediatamente) {
+        Execucao atual = execucao;
+        if (atual != null) {
+            atual.cancel(imediatamente);
+        }
+    }
+
+    /**
+     * Duração total da última execução concluída do fluxo, do início até o
+     * fim da última etapa.
+     *
+     * @param unidade Unidade de tempo desejada.
+     * @return Duração total, ou -1 se nenhuma execução terminou.
+     */
+    public long getDuracao(TimeUnit unidade) {
+        Execucao atual = execucao;
+        if (atual == null || !atual.encerrada) {
+            return -1;
+        }
+        return unidade.convert(atual.fimNanos - atual.inicioNanos,
+                TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Duração do caminho crítico da última execução concluída do fluxo: a
+     * maior soma das durações das etapas em uma sequência de dependências.
+     * É a menor duração possível do fluxo com threads ilimitadas.
+     *
+     * @param unidade Unidade de tempo desejada.
+     * @return Duração do caminho crítico, ou -1 se nenhuma execução terminou.
+     */
+    public long getDuracaoDoCaminhoCritico(TimeUnit unidade) {
+        Execucao atual = execucao;
+        if (atual == null || !atual.encerrada) {
+            return -1;
+        }
+        return unidade.convert(atual.caminhoCriticoNanos,
+                TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Etapas do caminho crítico da última execução concluída do fluxo, da
+     * primeira à última. Somente etapas concluídas com sucesso são
+     * consideradas.
+     *
+     * @return Processos do caminho crítico, ou lista vazia se nenhuma
+     * execução terminou.
+     */
+    public List<LoopProcess> getCaminhoCritico() {
+        Execucao atual = execucao;
+        if (atual == null || !atual.encerrada) {
+            return Collections.emptyList();
+        }
+        return atual.caminhoCritico;
+    }
+
+    /**
+     * Duração da execução de uma etapa na última execução do fluxo.
+     *
+     * @param processo Processo da etapa.
+     * @param unidade Unidade de tempo desejada.
+     * @return Duração da etapa, ou -1 se a etapa não terminou.
+     * @throws IllegalArgumentException Se o processo não fizer parte do
+     * fluxo.
+     */
+    public long getDuracao(LoopProcess processo, TimeUnit unidade) {
+        Etapa etapa;
+        synchronized (this) {
+            etapa = porProcesso.get(processo);
+        }
+        if (etapa == null) {
+            throw new IllegalArgumentException(
+                    "Processo não faz parte do fluxo: " + processo.getNome());
+        }
+        int situacao = etapa.situacao.get();
+        if (situacao != CONCLUIDA && situacao != FALHOU) {
+            return -1;
+        }
+        return unidade.convert(etapa.fimNanos - etapa.inicioNanos,
+                TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+        return getNome();
+    }
+
+    /**
+     * Uma execução do fluxo e o seu objeto de manipulação.
+     */
+    private final class Execucao extends CompletableFuture<Object> {
+
+        private final AtomicInteger restantes;
+        private final long inicioNanos = System.nanoTime();
+        private volatile long fimNanos;
+        private volatile Throwable falha;
+        private volatile boolean cancelando;
+        // todas as etapas terminaram, mesmo que o cancelamento já tenha
+        // concluído o objeto de manipulação
+        private volatile boolean encerrada;
+        private volatile long caminhoCriticoNanos;
+        private volatile List<LoopProcess> caminhoCritico;
+
+        Execucao(int etapas) {
+            this.restantes = new AtomicInteger(etapas);
+        }
+
+        /**
+         * Registra a primeira falha e cancela as etapas que ainda não
+         * começaram.
+         */
+        void falhar(Etapa etapa, Throwable erro) {
+            synchronized (this) {
+                if (falha == null && !cancelando) {
+                    falha = erro;
+                }
+            }
+            log.error("Falha na etapa " + etapa.processo.getNome()
+                    + " do fluxo " + getNome(), erro);
+            cancelarPendentes(false);
+        }
+
+        private void cancelarPendentes(boolean imediatamente) {
+            for (Etapa etapa : etapas) {
+                etapa.cancelar(imediatamente);
+            }
+        }
+
+        void terminou() {
+            if (restantes.decrementAndGet() == 0) {
+                finalizar();
+            }
+        }
+
+        void finalizar() {
+            fimNanos = System.nanoTime();
+            calcularCaminhoCritico();
+            if (log.isInfoEnabled()) {
+                log.info("Fluxo " + getNome()
+                        + (falha != null ? " falhou" : cancelando
+                        ? " interrompido" : " concluído")
+                        + " em " + TimeUnit.NANOSECONDS.toMillis(
+                                fimNanos - inicioNanos) + "ms"
+                        + ", caminho crítico "
+                        + TimeUnit.NANOSECONDS.toMillis(caminhoCriticoNanos)
+                        + "ms: " + nomes(caminhoCritico));
+            }
+            encerrada = true;
+            if (falha != null) {
+                completeExceptionally(falha);
+            } else if (cancelando) {
+                super.cancel(false);
+            } else {
+                complete(null);
+            }
+        }
+
+        /**
+         * Caminho mais longo do grafo com o peso das etapas concluídas. As
+         * etapas estão em ordem topológica, pois cada uma só pode depender de
+         * etapas adicionadas antes dela.
+         */
+        private void calcularCaminhoCritico() {
+            int quantidade = etapas.size();
+            long[] distancia = new long[quantidade];
+            int[] anterior = new int[quantidade];
+            int ultima = -1;
+            for (Etapa etapa : etapas) {
+                int i = etapa.indice;
+                anterior[i] = -1;
+                if (etapa.situacao.get() != CONCLUIDA) {
+                    continue;
+                }
+                long maior = 0;
+                for (Etapa dependencia : etapa.dependencias) {
+                    if (distancia[dependencia.indice] > maior) {
+                        maior = distancia[dependencia.indice];
+                        anterior[i] = dependencia.indice;
+                    }
+                }
+                distancia[i] = maior + etapa.fimNanos - etapa.inicioNanos;
+                if (ultima < 0 || distancia[i] > distancia[ultima]) {
+                    ultima = i;
+                }
+            }
+            List<LoopProcess> caminho = new ArrayList<LoopProcess>();
+            for (int i = ultima; i >= 0; i = anterior[i]) {
+                caminho.add(etapas.get(i).processo);
+            }
+            Collections.reverse(caminho);
+            caminhoCriticoNanos = ultima < 0 ? 0 : distancia[ultima];
+            caminhoCritico = Collections.unmodifiableList(caminho);
+        }
+
+        private String nomes(List<LoopProcess> processos) {
+            StringBuilder nomes = new StringBuilder();
+            for (LoopProcess processo : processos) {
+                if (nomes.length() > 0) {
+                    nomes.append(" -> ");
+                }
+                nomes.append(processo.getNome());
+            }
+            return nomes.toString();
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            if (isDone()) {
+                return false;
+            }
+            cancelando = true;
+            log.info("Interrompendo o fluxo {}", getNome());
+            cancelarPendentes(mayInterruptIfRunning);
+            return super.cancel(mayInterruptIfRunning);
+        }
+    }
+
+    /**
+     * Etapa do fluxo: um processo, as suas dependências e a situação na
+     * execução atual do fluxo.
+     */
+    private final class Etapa implements ObservadorDeExecucao {
+
+        private final LoopProcess processo;
+        private final int indice;
+        private final List<Etapa> dependencias = new ArrayList<Etapa>();
+        private final List<Etapa> dependentes = new ArrayList<Etapa>();
+        private final AtomicInteger situacao = new AtomicInteger(PENDENTE);
+        private final AtomicInteger pendencias = new AtomicInteger();
+        private volatile Execucao execucao;
+        private volatile Future<?> handler;
+        private volatile long inicioNanos;
+        private volatile long fimNanos;
+
+        Etapa(LoopProcess processo, int indice) {
+            this.processo = processo;
+            this.indice = indice;
+        }
+
+        void preparar(Execucao execucao) {
+            this.execucao = execucao;
+            situacao.set(PENDENTE);
+            pendencias.set(dependencias.size());
+            handler = null;
+            inicioNanos = 0;
+            fimNanos = 0;
+        }
+
+        void agendar() {
+            if (!situacao.compareAndSet(PENDENTE, AGENDADA)) {
+                return;
+            }
+            try {
+                Future<?> agendada = processo.executarNoFluxo(this);
+                handler = agendada;
+                // um cancelamento entre a publicação e o agendamento não
+                // encontrou o objeto de manipulação
+                if (situacao.get() == CANCELADA) {
+                    agendada.cancel(false);
+                }
+            } catch (RejectedExecutionException ex) {
+                long agora = System.nanoTime();
+                if (situacao.compareAndSet(AGENDADA, EXECUTANDO)) {
+                    aoConcluir(agora, agora, ex);
+                }
+            }
+        }
+
+        void cancelar(boolean imediatamente) {
+            if (situacao.compareAndSet(PENDENTE, CANCELADA)) {
+                execucao.terminou();
+            } else if (situacao.compareAndSet(AGENDADA, CANCELADA)) {
+                Future<?> agendada = handler;
+                if (agendada != null) {
+                    agendada.cancel(false);
+                }
+                execucao.terminou();
+            } else if (imediatamente && situacao.get() == EXECUTANDO) {
+                Future<?> agendada = handler;
+                if (agendada != null) {
+                    agendada.cancel(true);
+                }
+            }
+        }
+
+        @Override
+        public boolean aoIniciar() {
+            return situacao.compareAndSet(AGENDADA, EXECUTANDO);
+        }
+
+        @Override
+        public void aoConcluir(long inicioNanos, long fimNanos,
+                Throwable erro) {
+            this.inicioNanos = inicioNanos;
+            this.fimNanos = fimNanos;
+            Execucao atual = execucao;
+            if (erro != null) {
+                situacao.set(FALHOU);
+                atual.falhar(this, erro);
+            } else {
+                situacao.set(CONCLUIDA);
+                for (Etapa dependente : dependentes) {
+                    if (dependente.pendencias.decrementAndGet() == 0
+                            && !atual.cancelando && atual.falha == null) {
+                        dependente.agendar();
+                    }
+                }
+            }
+            atual.terminou();
+        }
+    }
+}
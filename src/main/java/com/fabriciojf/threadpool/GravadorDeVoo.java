@@ -0,0 +1,364 @@
+package com.fabriciojf.threadpool;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Gravador de voo das execuções dos processos, sempre ligado. Cada thread
+ * grava registros binários de tamanho fixo em um anel próprio, sem bloqueio
+ * e sem alocação: agendamento, início, fim, falha e cancelamento de cada
+ * {@link LoopProcess}, com o pool, o processo e os tempos. O anel guarda os
+ * últimos {@link #getCapacidade()} registros da thread, e
+ * {@link #gravar(Path)} grava o conteúdo de todos os anéis em um arquivo,
+ * que {@link #converter(InputStream, Appendable)} transforma em texto.
+ *
+ * As mesmas ocorrências são publicadas como eventos do JDK Flight Recorder
+ * quando a aplicação roda em Java 21 ou superior.
+ *
+ * <pre>
+ * GravadorDeVoo.gravar(Paths.get("/tmp/processos.tpfr"));
+ * </pre>
+ *
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+public final class GravadorDeVoo {
+
+    /**
+     * Agendamento do processo; o valor é o atraso do primeiro disparo.
+     */
+    static final int AGENDADO = 1;
+    /**
+     * Início de uma execução; o valor é o atraso em relação ao previsto.
+     */
+    static final int INICIO = 2;
+    /**
+     * Fim de uma execução; o valor é a duração.
+     */
+    static final int FIM = 3;
+    /**
+     * Fim de uma execução com falha; o valor é a duração.
+     */
+    static final int FALHA = 4;
+    /**
+     * Cancelamento do agendamento; o valor é 1 se a execução em andamento
+     * foi interrompida.
+     */
+    static final int CANCELADO = 5;
+
+    private static final String[] TIPOS = {"", "AGENDADO", "INICIO", "FIM",
+        "FALHA", "CANCELADO"};
+
+    private static final int MAGICO = 0x54504652;
+    private static final int VERSAO = 2;
+    // tipo e identificação, instante, valor e thread
+    private static final int CAMPOS = 4;
+
+    private static volatile boolean ativo = true;
+    private static volatile int capacidade = 1024;
+
+    private static final ConcurrentHashMap<String, Integer> ids
+            = new ConcurrentHashMap<String, Integer>();
+    // cresce a cada par novo; protegida por ela mesma
+    private static final List<String[]> nomes = new ArrayList<String[]>();
+    private static final List<Anel> aneis = new CopyOnWriteArrayList<Anel>();
+    private static final ThreadLocal<Anel> anelDaThread
+            = new ThreadLocal<Anel>();
+
+    private GravadorDeVoo() {
+    }
+
+    /**
+     * Diz se as ocorrências estão sendo gravadas.
+     *
+     * @return Verdadeiro se o gravador estiver ligado. O padrão é ligado.
+     */
+    public static boolean isAtivo() {
+        return ativo;
+    }
+
+    /**
+     * Liga ou desliga a gravação. Os registros já gravados são mantidos.
+     *
+     * @param ativo Verdadeiro para gravar as ocorrências.
+     */
+    public static void setAtivo(boolean ativo) {
+        GravadorDeVoo.ativo = ativo;
+    }
+
+    /**
+     * Número de registros guardados por thread.
+     *
+     * @return Número de registros por anel. O padrão é 1024, ou 32 KB por
+     * thread.
+     */
+    public static int getCapacidade() {
+        return capacidade;
+    }
+
+    /**
+     * Número de registros guardados por thread, arredondado para a potência
+     * de dois seguinte. Vale para os anéis criados depois da alteração.
+     *
+     * @param registros Número de registros por anel.
+     */
+    public static void setCapacidade(int registros) {
+        if (registros < 1 || registros > (1 << 24)) {
+            throw new IllegalArgumentException(
+                    "Capacidade inválida: " + registros);
+        }
+        capacidade = Integer.highestOneBit(registros) == registros
+                ? registros : Integer.highestOneBit(registros) << 1;
+    }
+
+    /**
+     * Identificação compacta do par pool e processo gravada nos registros.
+     * Cada par recebe uma identificação na primeira chamada.
+     *
+     * @param pool Nome do pool de threads.
+     * @param processo Nome do processo.
+     * @return Identificação do par.
+     */
+    static int identificar(String pool, String processo) {
+        String chave = pool + '\0' + processo;
+        Integer id = ids.get(chave);
+        if (id == null) {
+            synchronized (nomes) {
+                id = ids.get(chave);
+                if (id == null) {
+                    nomes.add(new String[]{String.valueOf(pool),
+                        String.valueOf(processo)});
+                    id = nomes.size() - 1;
+                    ids.put(chave, id);
+                }
+            }
+        }
+        return id;
+    }
+
+    /**
+     * Grava um registro no anel da thread atual.
+     *
+     * @param tipo Tipo da ocorrência.
+     * @param id Identificação do pool e do processo.
+     * @param instante Instante da ocorrência, no relógio do pool.
+     * @param valor Valor conforme o tipo da ocorrência.
+     */
+    static void registrar(int tipo, int id, long instante, long valor) {
+        if (!ativo) {
+            return;
+        }
+        Anel anel = anelDaThread.get();
+        if (anel == null) {
+            anel = ocuparAnel();
+        }
+        anel.gravar(((long) tipo << 32) | (id & 0xFFFFFFFFL), instante,
+                valor);
+    }
+
+    /**
+     * Os anéis de threads encerradas são reaproveitados, de modo que threads
+     * de vida curta, como as virtuais, não multiplicam os anéis. Cada
+     * registro leva o id da thread que o gravou, então os registros da dona
+     * anterior que ainda estiverem no anel continuam identificados.
+     */
+    private static Anel ocuparAnel() {
+        Thread atual = Thread.currentThread();
+        Anel anel = null;
+        for (Anel candidato : aneis) {
+            Thread dono = candidato.dono.get();
+            if (!dono.isAlive() && candidato.dono.compareAndSet(dono, atual)) {
+                anel = candidato;
+                break;
+            }
+        }
+        if (anel == null) {
+            anel = new Anel(capacidade, atual);
+            aneis.add(anel);
+        }
+        anel.thread = atual.getId();
+        anelDaThread.set(anel);
+        return anel;
+    }
+
+    /**
+     * Grava o conteúdo de todos os anéis em um arquivo, sem interromper a
+     * gravação.
+     *
+     * @param arquivo Arquivo de destino, substituído se existir.
+     * @throws IOException Se não for possível gravar o arquivo.
+     */
+    public static void gravar(Path arquivo) throws IOException {
+        OutputStream saida = Files.newOutputStream(arquivo);
+        try {
+            gravar(saida);
+        } finally {
+            saida.close();
+        }
+    }
+
+    /**
+     * Grava o conteúdo de todos os anéis no fluxo informado, sem fechá-lo.
+     * O formato binário começa pelo número mágico "TPFR", a versão, os
+     * relógios de parede e monotônico do momento da gravação e a tabela de
+     * nomes, seguidos dos registros de cada anel em ordem de gravação.
+     *
+     * @param destino Fluxo de destino.
+     * @throws IOException Se não for possível gravar.
+     */
+    public static void gravar(OutputStream destino) throws IOException {
+        DataOutputStream saida = new DataOutputStream(
+                new BufferedOutputStream(destino));
+        saida.writeInt(MAGICO);
+        saida.writeShort(VERSAO);
+        saida.writeLong(System.currentTimeMillis());
+        saida.writeLong(System.nanoTime());
+        Object[] tabela;
+        synchronized (nomes) {
+            tabela = nomes.toArray();
+        }
+        saida.writeInt(tabela.length);
+        for (Object par : tabela) {
+            saida.writeUTF(((String[]) par)[0]);
+            saida.writeUTF(((String[]) par)[1]);
+        }
+        Object[] copia = aneis.toArray();
+        saida.writeInt(copia.length);
+        for (Object anel : copia) {
+            long[] registros = ((Anel) anel).copiar();
+            saida.writeInt(registros.length / CAMPOS);
+            for (long campo : registros) {
+                saida.writeLong(campo);
+            }
+        }
+        saida.flush();
+    }
+
+    /**
+     * Converte em texto, uma ocorrência por linha em ordem de tempo, um
+     * arquivo gravado por {@link #gravar(OutputStream)}. Os instantes são
+     * convertidos para o relógio de parede com os relógios gravados no
+     * arquivo, e cada linha traz a thread, a ocorrência, o pool, o processo
+     * e o valor em microssegundos.
+     *
+     * @param origem Conteúdo gravado.
+     * @param destino Destino do texto.
+     * @throws IOException Se o conteúdo não for um arquivo do gravador.
+     */
+    public static void converter(InputStream origem, Appendable destino)
+            throws IOException {
+        DataInputStream entrada = new DataInputStream(
+                new BufferedInputStream(origem));
+        if (entrada.readInt() != MAGICO || entrada.readShort() != VERSAO) {
+            throw new IOException("Arquivo do gravador de voo inválido");
+        }
+        long baseMillis = entrada.readLong();
+        long baseNanos = entrada.readLong();
+        String[][] tabela = new String[entrada.readInt()][];
+        for (int i = 0; i < tabela.length; i++) {
+            tabela[i] = new String[]{entrada.readUTF(), entrada.readUTF()};
+        }
+        // tipo e identificação, instante, valor e thread de cada registro
+        List<long[]> registros = new ArrayList<long[]>();
+        int quantidadeDeAneis = entrada.readInt();
+        for (int a = 0; a < quantidadeDeAneis; a++) {
+            int quantidade = entrada.readInt();
+            for (int r = 0; r < quantidade; r++) {
+                registros.add(new long[]{entrada.readLong(),
+                    entrada.readLong(), entrada.readLong(),
+                    entrada.readLong()});
+            }
+        }
+        long[][] ordenados = registros.toArray(new long[registros.size()][]);
+        Arrays.sort(ordenados, new Comparator<long[]>() {
+            @Override
+            public int compare(long[] um, long[] outro) {
+                long diferenca = um[1] - outro[1];
+                return diferenca < 0 ? -1 : (diferenca > 0 ? 1 : 0);
+            }
+        });
+        SimpleDateFormat formato
+                = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS");
+        for (long[] registro : ordenados) {
+            int tipo = (int) (registro[0] >>> 32);
+            int id = (int) registro[0];
+            String[] par = id >= 0 && id < tabela.length ? tabela[id]
+                    : new String[]{"?", "?"};
+            long millis = baseMillis + (registro[1] - baseNanos) / 1000000;
+            destino.append(formato.format(new Date(millis)))
+                    .append(" thread=").append(String.valueOf(registro[3]))
+                    .append(' ').append(tipo > 0 && tipo < TIPOS.length
+                            ? TIPOS[tipo] : String.valueOf(tipo))
+                    .append(' ').append(par[0]).append('/').append(par[1])
+                    .append(' ').append(String.valueOf(registro[2] / 1000))
+                    .append("us\n");
+        }
+    }
+
+    /**
+     * Anel de registros de uma thread. Somente a thread dona grava; a
+     * posição é publicada depois dos campos, e quem copia descarta os
+     * registros que possam ter sido sobrescritos durante a cópia.
+     */
+    private static final class Anel {
+
+        private final long[] dados;
+        private final int mascara;
+        private final AtomicLong escritos = new AtomicLong();
+        final AtomicReference<Thread> dono;
+        // id da dona, lido e escrito somente por ela
+        long thread;
+
+        Anel(int capacidade, Thread dono) {
+            this.dados = new long[capacidade * CAMPOS];
+            this.mascara = capacidade - 1;
+            this.dono = new AtomicReference<Thread>(dono);
+        }
+
+        void gravar(long cabecalho, long instante, long valor) {
+            long posicao = escritos.get();
+            int i = (int) (posicao & mascara) * CAMPOS;
+            dados[i] = cabecalho;
+            dados[i + 1] = instante;
+            dados[i + 2] = valor;
+            dados[i + 3] = thread;
+            escritos.lazySet(posicao + 1);
+        }
+
+        long[] copiar() {
+            int capacidade = mascara + 1;
+            long fim = escritos.get();
+            long inicio = Math.max(0, fim - capacidade);
+            long[] copia = new long[(int) (fim - inicio) * CAMPOS];
+            for (long p = inicio; p < fim; p++) {
+                System.arraycopy(dados, (int) (p & mascara) * CAMPOS, copia,
+                        (int) (p - inicio) * CAMPOS, CAMPOS);
+            }
+            // registros sobrescritos enquanto a cópia era feita
+            // inclusive o que estiver sendo gravado agora
+            long validos = Math.max(inicio,
+                    escritos.get() + 1 - capacidade);
+            int descartados = (int) (Math.min(validos, fim) - inicio);
+            return descartados == 0 ? copia : Arrays.copyOfRange(copia,
+                    descartados * CAMPOS, copia.length);
+        }
+    }
+}
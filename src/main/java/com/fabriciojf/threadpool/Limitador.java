@@ -0,0 +1,269 @@
+package com.fabriciojf.threadpool;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limite de taxa e de execuções simultâneas compartilhado pelos processos de
+ * um ou mais pools, por exemplo para proteger um serviço externo com cota de
+ * requisições. Um limitador é associado a um pool inteiro com
+ * {@link PoolDeThreads#setLimitador(Limitador)} ou a um grupo de processos
+ * com {@link PoolDeThreads#limitar(Limitador, String...)}; pools diferentes
+ * podem compartilhar o mesmo limitador.
+ *
+ * A taxa segue um balde de fichas com capacidade para {@link #getRajada()}
+ * disparos, reabastecido a {@link #getTaxa()} fichas por segundo, e é
+ * avaliada sem bloqueio sobre um único contador de tempo. Um disparo sem
+ * ficha reserva a próxima ficha livre e é reagendado para o instante dela;
+ * um disparo acima do limite de execuções simultâneas aguarda fora do motor
+ * até que uma execução termine. Nenhuma thread do pool fica bloqueada
+ * esperando o limitador.
+ *
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+public final class Limitador {
+
+    private final String nome;
+    private volatile double taxa;
+    private volatile int rajada = 1;
+    private volatile int maximoSimultaneas = Integer.MAX_VALUE;
+    // balde de fichas: instante teórico em que o balde volta a ficar cheio
+    private volatile long intervaloNanos;
+    private volatile long toleranciaNanos;
+    private final AtomicLong cheioEm = new AtomicLong(Long.MIN_VALUE);
+    private final AtomicInteger simultaneas = new AtomicInteger();
+    private final AtomicLong limitacoes = new AtomicLong();
+    private final Queue<TarefaAgendada> aguardando
+            = new ConcurrentLinkedQueue<TarefaAgendada>();
+
+    /**
+     * Constrói um limitador sem limites, a serem definidos por
+     * {@link #setTaxa(double)} e {@link #setMaximoSimultaneas(int)}.
+     *
+     * @param nome O nome do limitador, usado nos logs.
+     */
+    public Limitador(String nome) {
+        this.nome = nome;
+    }
+
+    /**
+     * Nome do limitador.
+     *
+     * @return Nome do limitador.
+     */
+    public String getNome() {
+        return nome;
+    }
+
+    /**
+     * Número máximo de disparos por segundo, em média.
+     *
+     * @return Disparos por segundo, ou zero se a taxa não for limitada.
+     */
+    public double getTaxa() {
+        return taxa;
+    }
+
+    /**
+     * Número máximo de disparos por segundo, em média. Zero remove o limite
+     * de taxa.
+     *
+     * @param disparosPorSegundo Disparos por segundo.
+     */
+    public synchronized void setTaxa(double disparosPorSegundo) {
+        if (disparosPorSegundo < 0 || Double.isNaN(disparosPorSegundo)) {
+            throw new IllegalArgumentException(
+                    "Taxa inválida: " + disparosPorSegundo);
+        }
+        this.taxa = disparosPorSegundo;
+        this.intervaloNanos = disparosPorSegundo == 0 ? 0
+                : Math.max((long) (TimeUnit.SECONDS.toNanos(1)
+                        / disparosPorSegundo), 1);
+        atualizarTolerancia();
+    }
+
+    /**
+     * Número de disparos aceitos de uma só vez depois de um período ocioso,
+     * isto é, a capacidade do balde de fichas.
+     *
+     * @return Número de disparos em rajada. O padrão é 1.
+     */
+    public int getRajada() {
+        return rajada;
+    }
+
+    /**
+     * Número de disparos aceitos de uma só vez depois de um período ocioso.
+     *
+     * @param rajada Número de disparos em rajada, ao menos 1.
+     */
+    public synchronized void setRajada(int rajada) {
+        if (rajada < 1) {
+            throw new IllegalArgumentException("Rajada inválida: " + rajada);
+        }
+        this.rajada = rajada;
+        atualizarTolerancia();
+    }
+
+    private void atualizarTolerancia() {
+        toleranciaNanos = intervaloNanos * (rajada - 1);
+    }
+
+    /**
+     * Número máximo de execuções simultâneas dos processos limitados.
+     *
+     * @return Número máximo de execuções simultâneas.
+     */
+    public int getMaximoSimultaneas() {
+        return maximoSimultaneas;
+    }
+
+    /**
+     * Número máximo de execuções simultâneas dos processos limitados,
+     * contando execuções assíncronas até a conclusão do estágio.
+     *
+     * @param maximoSimultaneas Número máximo de execuções simultâneas.
+     */
+    public void setMaximoSimultaneas(int maximoSimultaneas) {
+        if (maximoSimultaneas < 1) {
+            throw new IllegalArgumentException(
+                    "Máximo de execuções simultâneas inválido: "
+                    + maximoSimultaneas);
+        }
+        this.maximoSimultaneas = maximoSimultaneas;
+        acordar();
+    }
+
+    /**
+     * Número de execuções em andamento dos processos limitados.
+     *
+     * @return Número de execuções em andamento.
+     */
+    public int getSimultaneas() {
+        return simultaneas.get();
+    }
+
+    /**
+     * Número de disparos adiados por este limitador desde a sua criação.
+     *
+     * @return Número de disparos adiados.
+     */
+    public long getLimitacoes() {
+        return limitacoes.get();
+    }
+
+    /**
+     * Reserva uma vaga de execução simultânea, a ser devolvida com
+     * {@link #liberar()} ao fim da execução.
+     *
+     * @return Falso se não houver vaga.
+     */
+    boolean reservarVaga() {
+        while (true) {
+            int atual = simultaneas.get();
+            if (atual >= maximoSimultaneas) {
+                limitacoes.incrementAndGet();
+                return false;
+            }
+            if (simultaneas.compareAndSet(atual, atual + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Reserva a próxima ficha do balde, mesmo que ela só fique disponível
+     * no futuro. Cada disparo adiado recebe um instante próprio, de modo que
+     * os disparos limitados não disputam a mesma ficha.
+     *
+     * @param agora Instante atual, conforme {@link System#nanoTime()}.
+     * @return Tempo em nanossegundos até a ficha reservada, zero se já
+     * disponível.
+     */
+    long reservarFicha(long agora) {
+        long espera = consumirFicha(agora, true);
+        if (espera > 0) {
+            limitacoes.incrementAndGet();
+        }
+        return espera;
+    }
+
+    /**
+     * Consome uma ficha somente se já estiver disponível.
+     *
+     * @param agora Instante atual, conforme {@link System#nanoTime()}.
+     * @return Verdadeiro se a ficha foi consumida.
+     */
+    boolean consumirFicha(long agora) {
+        if (consumirFicha(agora, false) == 0) {
+            return true;
+        }
+        limitacoes.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Algoritmo de taxa de célula genérica: equivalente ao balde de fichas,
+     * com todo o estado em um único instante atualizado por CAS.
+     */
+    private long consumirFicha(long agora, boolean reservar) {
+        long intervalo = intervaloNanos;
+        if (intervalo == 0) {
+            return 0;
+        }
+        while (true) {
+            long cheio = cheioEm.get();
+            long base = cheio == Long.MIN_VALUE || cheio - agora < 0
+                    ? agora : cheio;
+            long espera = base - agora - toleranciaNanos;
+            if (espera > 0 && !reservar) {
+                return espera;
+            }
+            if (cheioEm.compareAndSet(cheio, base + intervalo)) {
+                return Math.max(espera, 0);
+            }
+        }
+    }
+
+    /**
+     * Guarda um disparo recusado por falta de vaga até que uma execução
+     * termine.
+     *
+     * @param tarefa Tarefa ainda agendada e fora do motor.
+     */
+    void aguardarVaga(TarefaAgendada tarefa) {
+        aguardando.offer(tarefa);
+        // a vaga pode ter sido liberada antes da tarefa entrar na fila
+        if (simultaneas.get() < maximoSimultaneas) {
+            acordar();
+        }
+    }
+
+    /**
+     * Devolve a vaga de uma execução e devolve ao motor um disparo que
+     * aguardava vaga.
+     */
+    void liberar() {
+        simultaneas.decrementAndGet();
+        acordar();
+    }
+
+    private void acordar() {
+        TarefaAgendada tarefa;
+        while ((tarefa = aguardando.poll()) != null) {
+            if (tarefa.retomar()) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getNome();
+    }
+}
@@ -1,8 +1,16 @@
 package com.fabriciojf.threadpool;
 
-import java.util.Calendar;
+import java.time.ZoneId;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import javax.management.ObjectName;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,13 +20,21 @@ import org.slf4j.LoggerFactory;
  * processos auto-executáveis podem implementar esta base e definir o método
  * {@link #run()}. Um processo pode ser executado apenas uma vez, agendado para
  * execução periódica ou para execução sequencial. Pode ser definido um atraso
- * em segundos para a primeira execução do processo e um intervalo também em
- * segundos entre a execução. No caso de agendamento periódico o intervalo é
- * contado a partir do início da execução do processo anterior, para garantir um
- * intervalo fixo entre execuções. No caso de agendamento sequencial o intervalo
- * é contado a partir do fim da execução do processo anterior. Caso uma execução
- * do processo demore mais que o intervalo definido a próxima execução será
- * atrasada para evitar duas execuções do mesmo processo.
+ * para a primeira execução do processo e um intervalo entre as execuções, em
+ * segundos ou, com {@link #setAtraso(long, TimeUnit)} e
+ * {@link #setIntervalo(long, TimeUnit)}, em qualquer unidade até
+ * nanossegundos. No caso de agendamento periódico o intervalo é contado a
+ * partir do início da execução do processo anterior, para garantir um
+ * intervalo fixo entre execuções; os disparos seguem uma grade fixa medida
+ * pelo relógio monotônico, sem acumular desvio. No caso de agendamento
+ * sequencial o intervalo é contado a partir do fim da execução do processo
+ * anterior. Caso uma execução do processo demore mais que o intervalo definido
+ * a próxima execução será atrasada para evitar duas execuções do mesmo
+ * processo.
+ *
+ * Alterações de configuração em um processo em execução passam a valer com
+ * {@link #reconfigurar()}, sem interromper o processo: o novo intervalo é
+ * contado a partir do último disparo e o processo pode trocar de pool.
  *
  * @author Fabricio S Costa fabriciojf@gmail.com
  * @since 30/09/2012
@@ -28,13 +44,33 @@ public abstract class LoopProcess implements Runnable {
 
     static Logger log = LoggerFactory.getLogger(LoopProcess.class);
 
+    // último nome dado a cada thread, para renomeá-la apenas quando mudar
+    private static final ThreadLocal<String> nomeDaThread
+            = new ThreadLocal<String>();
+
     private String nome;
     private String poolDeThreads;
     private RepetitionEnum repeticao;
-    private long atraso;
-    private long segundos;
-    private Future<?> handler;
-    private Date ultimaExecucao;
+    private long atrasoNanos;
+    private long intervaloNanos;
+    private ExpressaoCron cron;
+    private OverrunEnum sobreposicao = OverrunEnum.CATCH_UP;
+    private int recuperacoesPorIntervalo = 2;
+    private int execucoesSimultaneas = 1;
+    private int prioridade;
+    private SpreadEnum dispersao = SpreadEnum.NONE;
+    private long dispersaoMaximaNanos;
+    private long prazoNanos;
+    private long tempoLimiteNanos;
+    private TimeoutEnum acaoNoTempoLimite = TimeoutEnum.RESCHEDULE;
+    private volatile Future<?> handler;
+    // agendamento anterior a uma reserva do lote, veja reservar
+    private volatile Future<?> anteriorAReserva;
+    private volatile Cluster.Posse posse;
+    private volatile long ultimaExecucaoMillis;
+    private volatile long ultimaExecucaoNanos;
+    private final MetricasDeExecucao metricas = new MetricasDeExecucao(null);
+    private final Execucao execucao = new Execucao();
 
     /**
      * Constrói um processo com um nome definido. O nome do processo ajuda a
@@ -66,6 +102,7 @@ public abstract class LoopProcess implements Runnable {
      */
     public void setNome(String nome) {
         this.nome = nome;
+        this.metricas.setNome(nome);
     }
 
     /**
@@ -88,6 +125,7 @@ public abstract class LoopProcess implements Runnable {
      *
      * @param poolDeThreads Nome do pool de threads usado para execução deste
      * processo.
+     * @see #reconfigurar()
      */
     public void setPoolDeThreads(String poolDeThreads) {
         this.poolDeThreads = poolDeThreads;
@@ -124,8 +162,9 @@ public abstract class LoopProcess implements Runnable {
      * @param repeticao Tipo de repetição do processo. Os valores possíveis são
      * {@link RepetitionEnum#ONCE}, para uma única execução;
      * {@link RepetitionEnum#PERIODIC}, para execução em períodos de tempo
-     * definido; ou, {@link RepetitionEnum#SEQUENTIAL}, para execução em
-     * sequencia.
+     * definido; {@link RepetitionEnum#SEQUENTIAL}, para execução em
+     * sequencia; ou, {@link RepetitionEnum#CRON}, para execução nos horários
+     * de {@link #setCron(String)}.
      */
     public void setRepeticao(RepetitionEnum repeticao) {
         this.repeticao = repeticao;
@@ -137,7 +176,7 @@ public abstract class LoopProcess implements Runnable {
      * @return Atraso em segundos para a primeira execução do processo.
      */
     public long getAtraso() {
-        return atraso;
+        return TimeUnit.NANOSECONDS.toSeconds(atrasoNanos);
     }
 
     /**
@@ -147,7 +186,29 @@ public abstract class LoopProcess implements Runnable {
      * processo.
      */
     public void setAtraso(long atrasoEmSegundos) {
-        this.atraso = atrasoEmSegundos;
+        setAtraso(atrasoEmSegundos, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Atraso para a primeira execução do processo na unidade indicada.
+     *
+     * @param unidade Unidade de tempo desejada.
+     * @return Atraso para a primeira execução do processo, truncado para a
+     * unidade indicada.
+     */
+    public long getAtraso(TimeUnit unidade) {
+        return unidade.convert(atrasoNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Atraso para a primeira execução do processo, com precisão de até
+     * nanossegundos.
+     *
+     * @param atraso Atraso para a primeira execução do processo.
+     * @param unidade Unidade de tempo do atraso.
+     */
+    public void setAtraso(long atraso, TimeUnit unidade) {
+        this.atrasoNanos = unidade.toNanos(atraso);
     }
 
     /**
@@ -157,7 +218,7 @@ public abstract class LoopProcess implements Runnable {
      * @return Intervalo em segundos para execução do processo
      */
     public long getSegundos() {
-        return segundos;
+        return TimeUnit.NANOSECONDS.toSeconds(intervaloNanos);
     }
 
     /**
@@ -167,16 +228,328 @@ public abstract class LoopProcess implements Runnable {
      * @param segundos Intervalo em segundos para execução do processo.
      */
     public void setSegundos(long segundos) {
-        this.segundos = segundos;
+        setIntervalo(segundos, TimeUnit.SECONDS);
     }
 
     /**
-     * Instante da última execução do processo.
+     * Intervalo para execução do processo quando agendado como período ou
+     * sequencia, na unidade indicada.
+     *
+     * @param unidade Unidade de tempo desejada.
+     * @return Intervalo para execução do processo, truncado para a unidade
+     * indicada.
+     */
+    public long getIntervalo(TimeUnit unidade) {
+        return unidade.convert(intervaloNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Intervalo para execução do processo quando agendado como período ou
+     * sequencia, com precisão de até nanossegundos. A precisão efetiva
+     * depende do motor do pool, veja {@link PoolDeThreads#setResolucao}. Em
+     * um processo em execução o intervalo muda com {@link #reconfigurar()}.
+     *
+     * @param intervalo Intervalo para execução do processo.
+     * @param unidade Unidade de tempo do intervalo.
+     */
+    public void setIntervalo(long intervalo, TimeUnit unidade) {
+        this.intervaloNanos = unidade.toNanos(intervalo);
+    }
+
+    /**
+     * Expressão cron do processo agendado como {@link RepetitionEnum#CRON}.
+     *
+     * @return Expressão cron do processo, ou nulo se não definida.
+     */
+    public ExpressaoCron getCron() {
+        return cron;
+    }
+
+    /**
+     * Agenda o processo nos horários da expressão cron, avaliada no fuso
+     * horário padrão da JVM, e define a repetição como
+     * {@link RepetitionEnum#CRON}. A expressão é compilada uma única vez.
+     *
+     * @param expressao Expressão cron, veja {@link ExpressaoCron}.
+     * @throws IllegalArgumentException Se a expressão for inválida.
+     */
+    public void setCron(String expressao) {
+        setCron(ExpressaoCron.compilar(expressao));
+    }
+
+    /**
+     * Agenda o processo nos horários da expressão cron, avaliada no fuso
+     * horário indicado, e define a repetição como {@link RepetitionEnum#CRON}.
+     *
+     * @param expressao Expressão cron, veja {@link ExpressaoCron}.
+     * @param fuso Fuso horário em que a expressão é avaliada.
+     * @throws IllegalArgumentException Se a expressão for inválida.
+     */
+    public void setCron(String expressao, ZoneId fuso) {
+        setCron(ExpressaoCron.compilar(expressao, fuso));
+    }
+
+    /**
+     * Agenda o processo nos horários da expressão cron já compilada e define
+     * a repetição como {@link RepetitionEnum#CRON}. Disparos perdidos por uma
+     * execução longa não são recuperados.
+     *
+     * @param cron Expressão cron compilada.
+     */
+    public void setCron(ExpressaoCron cron) {
+        this.cron = cron;
+        this.repeticao = RepetitionEnum.CRON;
+    }
+
+    /**
+     * Política aplicada aos disparos perdidos de um processo periódico cuja
+     * execução atrasou além do intervalo. Os valores possíveis são
+     * {@link OverrunEnum#CATCH_UP}, padrão, que executa todos os disparos
+     * perdidos em sequência; {@link OverrunEnum#SKIP}, que os descarta;
+     * {@link OverrunEnum#COALESCE}, que os reúne em uma única execução;
+     * {@link OverrunEnum#CATCH_UP_LIMITED}, que os executa respeitando
+     * {@link #getRecuperacoesPorIntervalo()}; ou,
+     * {@link OverrunEnum#CONCURRENT}, que dispara na grade original mesmo com
+     * execuções em andamento, até {@link #getExecucoesSimultaneas()}.
+     *
+     * @return Política aplicada aos disparos perdidos.
+     */
+    public OverrunEnum getSobreposicao() {
+        return sobreposicao;
+    }
+
+    /**
+     * Política aplicada aos disparos perdidos de um processo periódico cuja
+     * execução atrasou além do intervalo.
+     *
+     * @param sobreposicao Política aplicada aos disparos perdidos.
+     * @see #getSobreposicao()
+     */
+    public void setSobreposicao(OverrunEnum sobreposicao) {
+        this.sobreposicao = sobreposicao;
+    }
+
+    /**
+     * Deslocamento do primeiro disparo de um processo
+     * {@link RepetitionEnum#PERIODIC} ou {@link RepetitionEnum#SEQUENTIAL},
+     * somado ao atraso, para que processos com o mesmo atraso e intervalo não
+     * disparem todos no mesmo instante. Os valores possíveis são
+     * {@link SpreadEnum#NONE}, padrão, que segue a
+     * {@link PoolDeThreads#setSuavizacao(boolean) suavização} do pool;
+     * {@link SpreadEnum#HASH}, que desloca conforme o nome do processo, sempre
+     * do mesmo modo; ou, {@link SpreadEnum#RANDOM}, que sorteia o deslocamento
+     * a cada início. O deslocamento é menor que o intervalo e que
+     * {@link #getDispersaoMaxima(TimeUnit)}.
+     *
+     * @return Deslocamento do primeiro disparo.
+     */
+    public SpreadEnum getDispersao() {
+        return dispersao;
+    }
+
+    /**
+     * Deslocamento do primeiro disparo de um processo periódico ou
+     * sequencial.
+     *
+     * @param dispersao Deslocamento do primeiro disparo.
+     * @see #getDispersao()
+     */
+    public void setDispersao(SpreadEnum dispersao) {
+        this.dispersao = dispersao;
+    }
+
+    /**
+     * Limite do deslocamento do primeiro disparo.
+     *
+     * @param unidade Unidade de tempo desejada.
+     * @return Limite do deslocamento, ou zero para usar o intervalo.
+     */
+    public long getDispersaoMaxima(TimeUnit unidade) {
+        return unidade.convert(dispersaoMaximaNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Limite do deslocamento do primeiro disparo, para processos que não
+     * podem atrasar um intervalo inteiro. Zero, padrão, usa o intervalo.
+     *
+     * @param dispersaoMaxima Limite do deslocamento.
+     * @param unidade Unidade de tempo do limite.
+     */
+    public void setDispersaoMaxima(long dispersaoMaxima, TimeUnit unidade) {
+        if (dispersaoMaxima < 0) {
+            throw new IllegalArgumentException(
+                    "Dispersão inválida: " + dispersaoMaxima);
+        }
+        this.dispersaoMaximaNanos = unidade.toNanos(dispersaoMaxima);
+    }
+
+    /**
+     * Prioridade de despacho do processo em um pool com
+     * {@link PoolDeThreads#setDespachoPorPrioridade(boolean) despacho por
+     * prioridade}: com o pool saturado, as execuções vencidas de maior
+     * prioridade recebem thread primeiro.
      *
-     * @return Instante da última execução do processo.
+     * @return Prioridade do processo, maior é mais urgente. O padrão é zero.
+     */
+    public int getPrioridade() {
+        return prioridade;
+    }
+
+    /**
+     * Prioridade de despacho do processo, que pode ser negativa.
+     *
+     * @param prioridade Prioridade do processo, maior é mais urgente.
+     * @see #getPrioridade()
+     */
+    public void setPrioridade(int prioridade) {
+        this.prioridade = prioridade;
+    }
+
+    /**
+     * Tempo máximo entre o instante previsto de um disparo e o início da
+     * execução. Execuções iniciadas depois do prazo são contadas em
+     * {@link MetricasDeExecucao#getPrazosPerdidos()} e, com despacho por
+     * prioridade, processos de mesma prioridade são executados pelo prazo
+     * mais próximo.
+     *
+     * @param unidade Unidade de tempo desejada.
+     * @return Prazo para o início da execução, ou zero sem prazo.
+     */
+    public long getPrazo(TimeUnit unidade) {
+        return unidade.convert(prazoNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Tempo máximo entre o instante previsto de um disparo e o início da
+     * execução. Zero remove o prazo.
+     *
+     * @param prazo Prazo para o início da execução.
+     * @param unidade Unidade de tempo do prazo.
+     * @see #getPrazo(TimeUnit)
+     */
+    public void setPrazo(long prazo, TimeUnit unidade) {
+        if (prazo < 0) {
+            throw new IllegalArgumentException("Prazo inválido: " + prazo);
+        }
+        this.prazoNanos = unidade.toNanos(prazo);
+    }
+
+    /**
+     * Tempo máximo de cada execução do processo. Uma execução que o excede é
+     * interrompida por um vigia compartilhado por todos os pools, contada em
+     * {@link MetricasDeExecucao#getExpiracoes()} e tratada conforme
+     * {@link #getAcaoNoTempoLimite()}.
+     *
+     * @param unidade Unidade de tempo desejada.
+     * @return Tempo limite de cada execução, ou zero sem limite.
+     */
+    public long getTempoLimite(TimeUnit unidade) {
+        return unidade.convert(tempoLimiteNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Tempo máximo de cada execução do processo, verificado com precisão de
+     * alguns milissegundos. Zero, padrão, remove o limite. Só tem efeito na
+     * próxima chamada a {@link #executar()}.
+     *
+     * @param tempoLimite Tempo limite de cada execução.
+     * @param unidade Unidade de tempo do limite.
+     * @see #getTempoLimite(TimeUnit)
+     */
+    public void setTempoLimite(long tempoLimite, TimeUnit unidade) {
+        if (tempoLimite < 0) {
+            throw new IllegalArgumentException(
+                    "Tempo limite inválido: " + tempoLimite);
+        }
+        this.tempoLimiteNanos = unidade.toNanos(tempoLimite);
+    }
+
+    /**
+     * Ação aplicada depois de interromper uma execução que excedeu o tempo
+     * limite. Os valores possíveis são {@link TimeoutEnum#RESCHEDULE}, padrão,
+     * que agenda o próximo disparo como se a execução tivesse terminado;
+     * {@link TimeoutEnum#SKIP}, que descarta também o próximo disparo; ou,
+     * {@link TimeoutEnum#QUARANTINE}, que encerra o agendamento até a próxima
+     * chamada a {@link #executar()}. Uma execução única é sempre encerrada.
+     *
+     * Se a execução interrompida não retornar, nenhuma outra execução do
+     * processo é iniciada até que ela retorne: os disparos seguem a agenda e
+     * são descartados, de modo que um processo travado ocupa no máximo uma
+     * thread do pool. Com {@link OverrunEnum#CONCURRENT} a execução é apenas
+     * interrompida e a vaga de execução simultânea só é devolvida quando ela
+     * retornar.
+     *
+     * @return Ação aplicada ao exceder o tempo limite.
+     */
+    public TimeoutEnum getAcaoNoTempoLimite() {
+        return acaoNoTempoLimite;
+    }
+
+    /**
+     * Ação aplicada depois de interromper uma execução que excedeu o tempo
+     * limite.
+     *
+     * @param acaoNoTempoLimite Ação aplicada ao exceder o tempo limite.
+     * @see #getAcaoNoTempoLimite()
+     */
+    public void setAcaoNoTempoLimite(TimeoutEnum acaoNoTempoLimite) {
+        this.acaoNoTempoLimite = acaoNoTempoLimite;
+    }
+
+    /**
+     * Número máximo de execuções por intervalo enquanto um processo com a
+     * política {@link OverrunEnum#CATCH_UP_LIMITED} recupera disparos
+     * perdidos.
+     *
+     * @return Número máximo de execuções por intervalo durante a recuperação.
+     */
+    public int getRecuperacoesPorIntervalo() {
+        return recuperacoesPorIntervalo;
+    }
+
+    /**
+     * Número máximo de execuções por intervalo enquanto um processo com a
+     * política {@link OverrunEnum#CATCH_UP_LIMITED} recupera disparos
+     * perdidos. Deve ser maior que um para que a recuperação aconteça.
+     *
+     * @param recuperacoesPorIntervalo Número máximo de execuções por
+     * intervalo durante a recuperação.
+     */
+    public void setRecuperacoesPorIntervalo(int recuperacoesPorIntervalo) {
+        this.recuperacoesPorIntervalo = recuperacoesPorIntervalo;
+    }
+
+    /**
+     * Número máximo de execuções simultâneas de um processo com a política
+     * {@link OverrunEnum#CONCURRENT}.
+     *
+     * @return Número máximo de execuções simultâneas.
+     */
+    public int getExecucoesSimultaneas() {
+        return execucoesSimultaneas;
+    }
+
+    /**
+     * Número máximo de execuções simultâneas de um processo com a política
+     * {@link OverrunEnum#CONCURRENT}. A implementação de {@link #run()} deve
+     * suportar execuções simultâneas.
+     *
+     * @param execucoesSimultaneas Número máximo de execuções simultâneas.
+     */
+    public void setExecucoesSimultaneas(int execucoesSimultaneas) {
+        this.execucoesSimultaneas = execucoesSimultaneas;
+    }
+
+    /**
+     * Instante da última execução do processo. Um novo {@link Date} é criado a
+     * cada chamada a partir do instante guardado.
+     *
+     * @return Instante da última execução do processo, ou nulo se o processo
+     * ainda não foi executado.
      */
     public Date getUltimaExecucao() {
-        return ultimaExecucao;
+        long millis = ultimaExecucaoMillis;
+        return millis == 0 ? null : new Date(millis);
     }
 
     /**
@@ -185,7 +558,48 @@ public abstract class LoopProcess implements Runnable {
      * @param ultimaExecucao Instante da última execução do processo.
      */
     public void setUltimaExecucao(Date ultimaExecucao) {
-        this.ultimaExecucao = ultimaExecucao;
+        this.ultimaExecucaoMillis
+                = ultimaExecucao == null ? 0 : ultimaExecucao.getTime();
+    }
+
+    /**
+     * Instante monotônico do fim da última execução do processo, conforme
+     * o {@link PoolDeThreads#getRelogio() relógio do pool}. Útil para medir intervalos sem ser afetado
+     * por ajustes no relógio do sistema.
+     *
+     * @return Instante monotônico do fim da última execução, ou zero se o
+     * processo ainda não foi executado.
+     */
+    public long getUltimaExecucaoNanos() {
+        return ultimaExecucaoNanos;
+    }
+
+    /**
+     * Métricas de execução do processo: execuções, falhas, sobreposições e os
+     * histogramas de duração e de atraso de início.
+     *
+     * @return Métricas de execução do processo.
+     */
+    public MetricasDeExecucao getMetricas() {
+        return metricas;
+    }
+
+    /**
+     * Publica as métricas de execução do processo via JMX com o nome
+     * "com.fabriciojf.threadpool:type=LoopProcess,pool=...,name=...". O nome
+     * do processo deve ser único no pool.
+     */
+    public void publicarMetricas() {
+        metricas.registrarJmx("type=LoopProcess,pool="
+                + ObjectName.quote(getPoolDeThreads())
+                + ",name=" + ObjectName.quote(getNome()));
+    }
+
+    /**
+     * Remove a publicação das métricas de execução do processo via JMX.
+     */
+    public void removerMetricas() {
+        metricas.removerJmx();
     }
 
     /**
@@ -209,7 +623,29 @@ public abstract class LoopProcess implements Runnable {
     }
 
     /**
-     * Diz se o processo está em execução no momento.
+     * Posse do processo em um {@link Cluster}, verificada a cada disparo.
+     *
+     * @return Posse do processo, ou nulo fora do modo cluster.
+     */
+    Cluster.Posse getPosse() {
+        return posse;
+    }
+
+    /**
+     * Associa o processo a um {@link Cluster}: os disparos sem posse válida
+     * são descartados.
+     *
+     * @param posse Posse do processo, ou nulo para sair do modo cluster.
+     */
+    void setPosse(Cluster.Posse posse) {
+        this.posse = posse;
+    }
+
+    /**
+     * Diz se o processo está em execução no momento, isto é, agendado. Logo
+     * após {@link #interromper()} o processo deixa de estar em execução,
+     * ainda que a última execução não tenha terminado; um novo
+     * {@link #executar()} só dispara depois que ela terminar.
      *
      * @return Verdadeiro se o processo estiver em execução no momento.
      */
@@ -223,65 +659,433 @@ public abstract class LoopProcess implements Runnable {
      * {@link #interromper()} e {@link #interromper(boolean)}.
      *
      * @return Verdadeiro caso o processo tenha sido posto em execução com
-     * sucesso.
+     * sucesso; falso também quando uma execução única é recusada por falta
+     * de capacidade no pool, conforme {@link PoolDeThreads#getRejeicao()}.
      */
     public synchronized boolean executar() {
         try {
             if (isExecutando()) {
-                log.warn(
-                        "Solicitacao de execucao de processo já em execucao. "
-                        + "Nada será feito: " + getNome() + "\n"
-                        + Thread.currentThread().getStackTrace().toString());
+                log.warn("Solicitacao de execucao de processo já em execucao. "
+                        + "Nada será feito: {}", getNome());
+                if (log.isDebugEnabled()) {
+                    log.debug("Origem da solicitacao", new Throwable());
+                }
                 return false;
             }
 
             PoolDeThreads pool = Multiton.getInstance().
                     obter(getPoolDeThreads(), PoolDeThreads.class);
+            pool.publicarMetricas(getPoolDeThreads());
 
-            log.info("Tentando executar o processo " + getNome());
+            log.info("Tentando executar o processo {}", getNome());
 
-            Runnable wrapper = new Runnable() {
-                @Override
-                public void run() {
-                    // dá um nome à thread para facilitar a depuração
-                    Thread.currentThread().setName(LoopProcess.this.getNome());
-                    LoopProcess.this.run();
-                    LoopProcess.this.setUltimaExecucao(
-                            Calendar.getInstance().getTime());
-                }
-            };
+            long agendadoEm = pool.getRelogio().currentTimeMillis();
+            Agendamento agendamento = preparar(pool, agendadoEm);
+            // a última execução de um agendamento interrompido sem forçar
+            // pode não ter terminado: o novo agendamento espera por ela
+            agendamento.substituida = emAndamento(getHandler());
+            agendado(pool, agendamento, pool.agendar(agendamento), agendadoEm);
 
-            Future<?> handler = null;
-            switch (getRepeticao()) {
-                default:
-                case ONCE:
-                    handler = pool.agendarUmaExecucao(wrapper, getAtraso());
-                    break;
-                case PERIODIC:
-                    handler = pool.agendarPeriodo(
-                            wrapper, getAtraso(), getSegundos());
-                    break;
-                case SEQUENTIAL:
-                    handler = pool.agendarSequencia(
-                            wrapper, getAtraso(), getSegundos());
-                    break;
+            if (log.isInfoEnabled()) {
+                log.info("Agendamento do processo " + getNome() + " realizado: "
+                        + "pool:" + getPoolDeThreads()
+                        + ", repeticao:" + getRepeticao().toString()
+                        + ", sobreposicao:" + getSobreposicao()
+                        + ", atraso:" + getAtraso(TimeUnit.MILLISECONDS) + "ms"
+                        + (getRepeticao() == RepetitionEnum.CRON
+                        ? ", cron:" + getCron()
+                        : ", intervalo:" + getIntervalo(TimeUnit.MILLISECONDS)
+                        + "ms"));
             }
-            setHandler(handler);
-
-            log.info("Agendamento do processo " + getNome() + " realizado: "
-                    + "pool:" + getPoolDeThreads()
-                    + ", repeticao:" + getRepeticao().toString()
-                    + ", atraso:" + getAtraso()
-                    + ", segundos:" + getSegundos());
 
             return true;
 
+        } catch (RejectedExecutionException ex) {
+            log.warn("Execução do processo {} rejeitada: {}", getNome(),
+                    ex.getMessage());
+            return false;
         } catch (Exception ex) {
             log.error("Exceção tentando executar o processo: " + getNome(), ex);
             return false;
         }
     }
 
+    /**
+     * Monta o agendamento do processo no pool conforme a configuração atual,
+     * recuperando do diário o primeiro disparo, sem agendá-lo.
+     *
+     * @param pool Pool de threads do processo.
+     * @param agendadoEm Horário do agendamento, gravado no diário.
+     * @return Agendamento a ser entregue ao pool.
+     */
+    Agendamento preparar(PoolDeThreads pool, long agendadoEm) {
+        configurar(pool);
+        Agendamento agendamento = montar(pool);
+        recuperarDoDiario(pool, agendamento, agendadoEm);
+        return agendamento;
+    }
+
+    private void configurar(PoolDeThreads pool) {
+        execucao.configurar(pool.getRelogio(), pool.getMetricas(),
+                getRepeticao() == RepetitionEnum.PERIODIC
+                ? intervaloNanos : Long.MAX_VALUE, null);
+    }
+
+    private Agendamento montar(PoolDeThreads pool) {
+        Agendamento agendamento = new Agendamento(execucao,
+                getRepeticao(), atrasoNanos + calcularDispersao(pool),
+                intervaloNanos);
+        agendamento.chave = getNome();
+        agendamento.cron = getCron();
+        agendamento.sobreposicao = getSobreposicao();
+        agendamento.recuperacoesPorIntervalo = getRecuperacoesPorIntervalo();
+        agendamento.execucoesSimultaneas = getExecucoesSimultaneas();
+        agendamento.prioridade = prioridade;
+        agendamento.prazoNanos = prazoNanos;
+        agendamento.tempoLimiteNanos = tempoLimiteNanos;
+        agendamento.acaoNoTempoLimite = acaoNoTempoLimite;
+        agendamento.metricasDoProcesso = metricas;
+        agendamento.metricasDoPool = pool.getMetricas();
+        return agendamento;
+    }
+
+    /**
+     * Aplica a configuração atual ao processo em execução sem interrompê-lo:
+     * repetição, intervalo, pool de threads e as demais opções de
+     * agendamento. O próximo disparo é contado do último com o novo
+     * intervalo, ou acontece na hora se esse instante já passou; um processo
+     * que ainda não disparou mantém o primeiro disparo. A troca é atômica:
+     * uma execução em andamento termina no pool anterior e só então o
+     * processo passa a disparar no novo agendamento, sem disparos perdidos
+     * nem execuções sobrepostas.
+     *
+     * <pre>
+     * processo.setIntervalo(30, TimeUnit.SECONDS);
+     * processo.setPoolDeThreads("lento");
+     * processo.reconfigurar();
+     * </pre>
+     *
+     * @return Verdadeiro se o novo agendamento foi aceito; falso se o
+     * processo não está em execução ou se o pool recusou o agendamento, e
+     * neste caso o agendamento anterior continua valendo.
+     */
+    public synchronized boolean reconfigurar() {
+        Future<?> atual = getHandler();
+        if (!(atual instanceof TarefaAgendada) || atual.isDone()) {
+            log.warn("Solicitacao de reconfiguracao de processo que nao esta "
+                    + "em execucao. Nada será feito: {}", getNome());
+            return false;
+        }
+        try {
+            PoolDeThreads pool = Multiton.getInstance().
+                    obter(getPoolDeThreads(), PoolDeThreads.class);
+            pool.publicarMetricas(getPoolDeThreads());
+
+            long agendadoEm = pool.getRelogio().currentTimeMillis();
+            Agendamento agendamento = montar(pool);
+            agendamento.substituida = (TarefaAgendada) atual;
+            agendamento.continuarGrade = true;
+            Future<?> novo = pool.agendar(agendamento);
+            configurar(pool);
+            // o diário do pool atualiza o registro pelo nome, sem removê-lo
+            execucao.removerDoDiario(pool.getDiario());
+            agendado(pool, agendamento, novo, agendadoEm);
+
+            if (log.isInfoEnabled()) {
+                log.info("Processo " + getNome() + " reconfigurado: "
+                        + "pool:" + getPoolDeThreads()
+                        + ", repeticao:" + getRepeticao().toString()
+                        + (getRepeticao() == RepetitionEnum.CRON
+                        ? ", cron:" + getCron()
+                        : ", intervalo:" + getIntervalo(TimeUnit.MILLISECONDS)
+                        + "ms"));
+            }
+            return true;
+
+        } catch (RejectedExecutionException ex) {
+            log.warn("Reconfiguração do processo {} rejeitada: {}", getNome(),
+                    ex.getMessage());
+            return false;
+        } catch (Exception ex) {
+            log.error("Exceção tentando reconfigurar o processo: " + getNome(),
+                    ex);
+            return false;
+        }
+    }
+
+    /**
+     * Registra o agendamento aceito pelo pool: guarda o objeto de manipulação
+     * e grava o agendamento no gravador de voo e no diário do pool.
+     *
+     * @param pool Pool de threads do processo.
+     * @param agendamento Agendamento aceito.
+     * @param handler Objeto de manipulação devolvido pelo pool.
+     * @param agendadoEm Horário do agendamento, gravado no diário.
+     */
+    void agendado(PoolDeThreads pool, Agendamento agendamento,
+            Future<?> handler, long agendadoEm) {
+        anteriorAReserva = null;
+        setHandler(handler);
+        execucao.agendado(agendamento.atrasoNanos);
+        gravarNoDiario(pool, agendamento, agendadoEm);
+    }
+
+    /**
+     * Reserva o processo para um agendamento em lote: enquanto reservado o
+     * processo é tido como em execução e não pode ser executado de novo.
+     *
+     * @return Falso se o processo já estiver em execução.
+     */
+    synchronized boolean reservar() {
+        if (isExecutando()) {
+            return false;
+        }
+        anteriorAReserva = getHandler();
+        setHandler(LoteDeProcessos.RESERVA);
+        return true;
+    }
+
+    /**
+     * Desfaz a reserva de um processo que o lote não agendou, devolvendo o
+     * objeto de manipulação anterior.
+     */
+    synchronized void liberarReserva() {
+        if (getHandler() == LoteDeProcessos.RESERVA) {
+            setHandler(anteriorAReserva);
+        }
+        anteriorAReserva = null;
+    }
+
+    /**
+     * Tarefa do agendamento anterior à reserva cuja última execução ainda não
+     * terminou, pela qual o agendamento do lote deve esperar.
+     *
+     * @return Tarefa em andamento, ou nulo.
+     */
+    synchronized TarefaAgendada getAnteriorEmAndamento() {
+        return emAndamento(anteriorAReserva);
+    }
+
+    private static TarefaAgendada emAndamento(Future<?> anterior) {
+        return anterior instanceof TarefaAgendada
+                && ((TarefaAgendada) anterior).isEmAndamento()
+                ? (TarefaAgendada) anterior : null;
+    }
+
+    /**
+     * Cancela o agendamento do processo como parte de um lote, deixando a
+     * retirada das tarefas do motor para o lote.
+     *
+     * @param imediatamente Se a execução em andamento deve ser interrompida.
+     * @param remocoes Recebe as tarefas a retirar dos motores.
+     * @return Verdadeiro se o agendamento foi cancelado.
+     */
+    synchronized boolean cancelar(boolean imediatamente,
+            List<TarefaAgendada> remocoes) {
+        Future<?> atual = getHandler();
+        if (atual == null || atual == LoteDeProcessos.RESERVA
+                || atual.isDone()) {
+            return false;
+        }
+        execucao.removerDoDiario();
+        boolean cancelado = atual instanceof TarefaAgendada
+                ? ((TarefaAgendada) atual).cancelar(imediatamente, remocoes)
+                : atual.cancel(imediatamente);
+        if (cancelado) {
+            execucao.cancelado(imediatamente);
+        }
+        return cancelado;
+    }
+
+    /**
+     * Deslocamento do primeiro disparo conforme {@link #getDispersao()}. Um
+     * processo recuperado do diário mantém a fase gravada, pois o atraso
+     * calculado aqui é substituído pelo da recuperação.
+     */
+    private long calcularDispersao(PoolDeThreads pool) {
+        if ((getRepeticao() != RepetitionEnum.PERIODIC
+                && getRepeticao() != RepetitionEnum.SEQUENTIAL)
+                || intervaloNanos <= 0) {
+            return 0;
+        }
+        long limite = dispersaoMaximaNanos > 0
+                ? Math.min(dispersaoMaximaNanos, intervaloNanos)
+                : intervaloNanos;
+        switch (dispersao) {
+            case HASH:
+                return PoolDeThreads.fracao(getNome().hashCode(), limite);
+            case RANDOM:
+                return ThreadLocalRandom.current().nextLong(limite);
+            default:
+            case NONE:
+                return pool.isSuavizacao()
+                        ? pool.proximaFase(intervaloNanos, limite) : 0;
+        }
+    }
+
+    /**
+     * Agenda uma única execução imediata do processo como etapa de um
+     * {@link FluxoDeProcessos}, ignorando a repetição, o atraso e o diário
+     * configurados. A etapa tem a sua própria execução e o seu próprio objeto
+     * de manipulação, de modo que o agendamento do processo fora do fluxo,
+     * se houver, não é afetado. O fluxo garante que cada etapa seja agendada
+     * uma única vez por execução do fluxo.
+     *
+     * @param observador Observador do início e do fim da execução.
+     * @return Objeto de manipulação da execução da etapa.
+     * @throws RejectedExecutionException Se o pool recusar a execução.
+     */
+    Future<?> executarNoFluxo(ObservadorDeExecucao observador) {
+        PoolDeThreads pool = Multiton.getInstance().
+                obter(getPoolDeThreads(), PoolDeThreads.class);
+        pool.publicarMetricas(getPoolDeThreads());
+        Execucao etapa = new Execucao();
+        etapa.configurar(pool.getRelogio(), pool.getMetricas(),
+                Long.MAX_VALUE, observador);
+        Agendamento agendamento = new Agendamento(etapa,
+                RepetitionEnum.ONCE, 0, 0);
+        agendamento.chave = getNome();
+        agendamento.prioridade = prioridade;
+        agendamento.prazoNanos = prazoNanos;
+        agendamento.tempoLimiteNanos = tempoLimiteNanos;
+        agendamento.acaoNoTempoLimite = acaoNoTempoLimite;
+        agendamento.metricasDoProcesso = metricas;
+        agendamento.metricasDoPool = pool.getMetricas();
+        Future<?> handler = pool.agendar(agendamento);
+        etapa.agendado(0);
+        return handler;
+    }
+
+    /**
+     * Agenda uma execução extra e imediata do processo no seu pool, medida
+     * nas métricas do processo, sem alterar o agendamento atual.
+     *
+     * @throws RejectedExecutionException Se o pool recusar a execução.
+     */
+    void executarAgora() {
+        PoolDeThreads pool = Multiton.getInstance().
+                obter(getPoolDeThreads(), PoolDeThreads.class);
+        Agendamento agendamento = new Agendamento(execucao,
+                RepetitionEnum.ONCE, 0, 0);
+        agendamento.chave = getNome();
+        agendamento.prioridade = prioridade;
+        agendamento.prazoNanos = prazoNanos;
+        agendamento.tempoLimiteNanos = tempoLimiteNanos;
+        agendamento.acaoNoTempoLimite = acaoNoTempoLimite;
+        agendamento.metricasDoProcesso = metricas;
+        agendamento.metricasDoPool = pool.getMetricas();
+        pool.agendar(agendamento);
+    }
+
+    /**
+     * Recupera do diário do pool a última execução do processo e ajusta o
+     * primeiro disparo conforme a política de disparos perdidos.
+     */
+    private void recuperarDoDiario(PoolDeThreads pool,
+            Agendamento agendamento, long agora) {
+        DiarioDeAgendamentos diario = pool.getDiario();
+        if (diario == null) {
+            return;
+        }
+        DiarioDeAgendamentos.Registro anterior = diario.obter(getNome());
+        if (anterior == null) {
+            return;
+        }
+        if (anterior.ultimaExecucaoMillis > ultimaExecucaoMillis) {
+            ultimaExecucaoMillis = anterior.ultimaExecucaoMillis;
+        }
+        if (pool.getDisparosPerdidos() != MisfireEnum.IGNORE) {
+            recuperarAtraso(agendamento, anterior, pool.getDisparosPerdidos(),
+                    agora);
+        }
+    }
+
+    /**
+     * Grava o agendamento aceito pelo pool no diário do pool.
+     */
+    private void gravarNoDiario(PoolDeThreads pool, Agendamento agendamento,
+            long agendadoEm) {
+        DiarioDeAgendamentos diario = pool.getDiario();
+        if (diario == null) {
+            execucao.configurarDiario(null, -1);
+            return;
+        }
+        DiarioDeAgendamentos.Registro registro
+                = new DiarioDeAgendamentos.Registro();
+        registro.nome = getNome();
+        registro.pool = getPoolDeThreads();
+        registro.repeticao = getRepeticao();
+        registro.atrasoNanos = agendamento.atrasoNanos;
+        registro.intervaloNanos = intervaloNanos;
+        if (cron != null) {
+            registro.cron = cron.getExpressao();
+            registro.fuso = cron.getFuso().getId();
+        }
+        registro.agendadoEmMillis = agendadoEm;
+        registro.ultimaExecucaoMillis = ultimaExecucaoMillis;
+        int id = diario.registrar(registro);
+        execucao.configurarDiario(diario, id);
+        // uma execução pode ter terminado antes do diário ser configurado
+        long ultima = ultimaExecucaoMillis;
+        if (ultima > registro.ultimaExecucaoMillis) {
+            diario.executado(id, ultima);
+        }
+    }
+
+    /**
+     * Calcula o atraso do primeiro disparo de um processo recuperado do
+     * diário a partir da última execução gravada.
+     */
+    private void recuperarAtraso(Agendamento agendamento,
+            DiarioDeAgendamentos.Registro anterior, MisfireEnum politica,
+            long agora) {
+        long ultima = anterior.ultimaExecucaoMillis;
+        switch (getRepeticao()) {
+            case ONCE:
+                // pendente: agendado e não executado desde então
+                if (ultima < anterior.agendadoEmMillis) {
+                    long vencimento = anterior.agendadoEmMillis
+                            + TimeUnit.NANOSECONDS.toMillis(
+                                    anterior.atrasoNanos);
+                    agendamento.atrasoNanos = TimeUnit.MILLISECONDS.toNanos(
+                            Math.max(vencimento - agora, 0));
+                }
+                break;
+            case PERIODIC:
+            case SEQUENTIAL:
+                if (ultima <= 0 || intervaloNanos <= 0) {
+                    break;
+                }
+                long intervalo = Math.max(
+                        TimeUnit.NANOSECONDS.toMillis(intervaloNanos), 1);
+                long proximo = ultima + intervalo;
+                long atraso;
+                if (proximo > agora) {
+                    atraso = proximo - agora;
+                } else if (politica == MisfireEnum.SKIP) {
+                    atraso = intervalo - (agora - ultima) % intervalo;
+                } else {
+                    atraso = 0;
+                }
+                agendamento.atrasoNanos = TimeUnit.MILLISECONDS.toNanos(
+                        atraso);
+                break;
+            case CRON:
+                if (ultima > 0 && cron != null
+                        && politica == MisfireEnum.FIRE_NOW) {
+                    long proximoCron = cron.proximo(ultima);
+                    if (proximoCron != ExpressaoCron.NENHUM
+                            && proximoCron <= agora) {
+                        agendamento.atrasoNanos = 0;
+                        agendamento.imediato = true;
+                    }
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
     /**
      * Interrompe o agendamento do processo. O processador espera o término da
      * execução atual do processo caso esteja em andamento e em seguida cancela
@@ -289,10 +1093,12 @@ public abstract class LoopProcess implements Runnable {
      *
      * @see #interromper(boolean)
      */
-    public void interromper() {
+    public synchronized void interromper() {
         try {
+            execucao.removerDoDiario();
             getHandler().cancel(false);
-            log.info("Processo interrompido: " + getNome());
+            execucao.cancelado(false);
+            log.info("Processo interrompido: {}", getNome());
         } catch (Exception ex) {
             log.error("Exceção tentando interromper o processo "
                     + getNome(), ex);
@@ -311,14 +1117,174 @@ public abstract class LoopProcess implements Runnable {
      * cancelamento.
      * @see #interromper()
      */
-    public void interromper(boolean imediatamente) {
+    public synchronized void interromper(boolean imediatamente) {
         try {
+            execucao.removerDoDiario();
             getHandler().cancel(imediatamente);
-            log.info("Processo interrompido: " + getNome());
+            execucao.cancelado(imediatamente);
+            log.info("Processo interrompido: {}", getNome());
         } catch (Exception ex) {
             log.error("Exceção tentando interromper o processo "
                     + getNome(), ex);
         }
     }
 
+    /**
+     * Inicia uma execução do processo. Processos síncronos executam
+     * {@link #run()} e devolvem nulo; {@link AsyncLoopProcess} devolve o
+     * estágio cuja conclusão marca o fim da execução.
+     *
+     * @return Nulo, ou o estágio que conclui a execução.
+     */
+    CompletionStage<?> iniciar() {
+        run();
+        return null;
+    }
+
+    /**
+     * Execução agendada do processo. Mede cada execução nas métricas do
+     * processo e do pool de threads. Uma única instância é reaproveitada por
+     * todos os agendamentos do processo, de modo que uma execução síncrona não
+     * aloca memória.
+     */
+    private final class Execucao implements Disparavel {
+
+        private volatile Relogio relogio = Relogio.SISTEMA;
+        private volatile MetricasDeExecucao metricasDoPool;
+        private volatile long intervaloNanos;
+        private volatile DiarioDeAgendamentos diario;
+        private volatile int idNoDiario = -1;
+        private volatile ObservadorDeExecucao observador;
+        private volatile String nomeDoPool;
+        private volatile int idNoGravador;
+
+        void configurar(Relogio relogio, MetricasDeExecucao metricasDoPool,
+                long intervaloNanos, ObservadorDeExecucao observador) {
+            this.nomeDoPool = getPoolDeThreads();
+            this.idNoGravador = GravadorDeVoo.identificar(nomeDoPool,
+                    getNome());
+            this.relogio = relogio;
+            this.metricasDoPool = metricasDoPool;
+            this.intervaloNanos = intervaloNanos;
+            this.observador = observador;
+        }
+
+        void configurarDiario(DiarioDeAgendamentos diario, int id) {
+            this.diario = diario;
+            this.idNoDiario = id;
+        }
+
+        void removerDoDiario() {
+            removerDoDiario(null);
+        }
+
+        /**
+         * Remove o processo do diário atual, a menos que seja o diário
+         * informado, que continua gravando o processo.
+         */
+        void removerDoDiario(DiarioDeAgendamentos mantido) {
+            DiarioDeAgendamentos atual = diario;
+            if (atual != null && atual != mantido) {
+                atual.remover(idNoDiario);
+                diario = null;
+            }
+        }
+
+        /**
+         * Registra o agendamento no gravador de voo.
+         */
+        void agendado(long atrasoNanos) {
+            GravadorDeVoo.registrar(GravadorDeVoo.AGENDADO, idNoGravador,
+                    relogio.nanoTime(), atrasoNanos);
+            EventosJfr.agendado(nomeDoPool, getNome(), atrasoNanos);
+        }
+
+        /**
+         * Registra o cancelamento no gravador de voo.
+         */
+        void cancelado(boolean imediatamente) {
+            GravadorDeVoo.registrar(GravadorDeVoo.CANCELADO, idNoGravador,
+                    relogio.nanoTime(), imediatamente ? 1 : 0);
+            EventosJfr.cancelado(nomeDoPool, getNome(), imediatamente);
+        }
+
+        @Override
+        public void run() {
+            disparar(relogio.nanoTime());
+        }
+
+        @Override
+        public CompletionStage<?> disparar(final long previstoNanos) {
+            Cluster.Posse posse = LoopProcess.this.posse;
+            if (posse != null && !posse.isValida()) {
+                // a posse venceu e outro nó pode ter assumido o processo
+                log.debug("Disparo sem posse descartado: {}", getNome());
+                return null;
+            }
+            final ObservadorDeExecucao observador = this.observador;
+            if (observador != null && !observador.aoIniciar()) {
+                return null;
+            }
+            final Relogio relogio = this.relogio;
+            final long inicio = relogio.nanoTime();
+            GravadorDeVoo.registrar(GravadorDeVoo.INICIO, idNoGravador, inicio,
+                    inicio - previstoNanos);
+            CompletionStage<?> estagio = null;
+            Throwable erro = null;
+            try {
+                // dá um nome à thread para facilitar a depuração
+                String nome = LoopProcess.this.getNome();
+                if (nome != null && nomeDaThread.get() != nome) {
+                    Thread.currentThread().setName(nome);
+                    nomeDaThread.set(nome);
+                }
+                estagio = LoopProcess.this.iniciar();
+            } catch (Throwable ex) {
+                erro = ex;
+                throw ex;
+            } finally {
+                if (estagio == null) {
+                    relogio.executou(LoopProcess.this);
+                    concluir(previstoNanos, inicio, erro, observador);
+                }
+            }
+            if (estagio == null) {
+                return null;
+            }
+            return estagio.whenComplete(new BiConsumer<Object, Throwable>() {
+                @Override
+                public void accept(Object resultado, Throwable erro) {
+                    concluir(previstoNanos, inicio,
+                            erro == null ? null : TarefaAgendada.causa(erro),
+                            observador);
+                }
+            });
+        }
+
+        private void concluir(long previstoNanos, long inicio, Throwable erro,
+                ObservadorDeExecucao observador) {
+            long fim = relogio.nanoTime();
+            boolean falhou = erro != null;
+            if (!falhou) {
+                ultimaExecucaoNanos = fim;
+                ultimaExecucaoMillis = relogio.currentTimeMillis();
+                DiarioDeAgendamentos atual = diario;
+                if (atual != null) {
+                    atual.executado(idNoDiario, ultimaExecucaoMillis);
+                }
+            }
+            boolean sobreposicao = fim - inicio > intervaloNanos;
+            metricas.registrar(previstoNanos, inicio, fim, falhou,
+                    sobreposicao);
+            metricasDoPool.registrar(previstoNanos, inicio, fim, falhou,
+                    sobreposicao);
+            GravadorDeVoo.registrar(falhou ? GravadorDeVoo.FALHA
+                    : GravadorDeVoo.FIM, idNoGravador, fim, fim - inicio);
+            EventosJfr.executado(nomeDoPool, getNome(), inicio - previstoNanos,
+                    fim - inicio, erro);
+            if (observador != null) {
+                observador.aoConcluir(inicio, fim, erro);
+            }
+        }
+    }
 }
@@ -0,0 +1,262 @@
+package com.fabriciojf.threadpool;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Lote de processos agendados e interrompidos de uma só vez, para conjuntos
+ * com milhares de processos. {@link #executar()} consulta cada pool uma única
+ * vez e insere os processos de cada pool em um único lote por partição do
+ * motor; {@link #interromper(boolean)} retira as tarefas canceladas de cada
+ * motor também em lote. Os logs são um resumo por lote, em vez de um por
+ * processo.
+ *
+ * Cada processo continua independente: o lote é apenas o objeto de
+ * manipulação agregado, e os processos podem ser interrompidos ou executados
+ * de novo individualmente.
+ *
+ * <pre>
+ * LoteDeProcessos lote = new LoteDeProcessos(processosDoCliente);
+ * lote.executar();
+ * // ...
+ * lote.interromper();
+ * </pre>
+ *
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+public final class LoteDeProcessos {
+
+    static Logger log = LoggerFactory.getLogger(LoteDeProcessos.class);
+
+    /**
+     * Objeto de manipulação de um processo reservado pelo lote enquanto o
+     * agendamento não termina: nunca concluído e não cancelável.
+     */
+    static final Future<Object> RESERVA = new Future<Object>() {
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return false;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+
+        @Override
+        public boolean isDone() {
+            return false;
+        }
+
+        @Override
+        public Object get() {
+            throw new IllegalStateException("Agendamento em lote em andamento");
+        }
+
+        @Override
+        public Object get(long timeout, TimeUnit unit) {
+            return get();
+        }
+    };
+
+    private final List<LoopProcess> processos;
+    private final List<LoopProcess> recusados = new ArrayList<LoopProcess>();
+
+    /**
+     * Constrói o lote com os processos informados, que podem pertencer a
+     * pools diferentes.
+     *
+     * @param processos Processos do lote.
+     */
+    public LoteDeProcessos(Collection<? extends LoopProcess> processos) {
+        this.processos = Collections.unmodifiableList(
+                new ArrayList<LoopProcess>(processos));
+    }
+
+    /**
+     * Processos do lote.
+     *
+     * @return Processos do lote, na ordem informada.
+     */
+    public List<LoopProcess> getProcessos() {
+        return processos;
+    }
+
+    /**
+     * Processos que a última chamada de {@link #executar()} não agendou: os
+     * que já estavam em execução e os recusados pelo pool.
+     *
+     * @return Processos não agendados.
+     */
+    public synchronized List<LoopProcess> getRecusados() {
+        return new ArrayList<LoopProcess>(recusados);
+    }
+
+    /**
+     * Número de processos do lote em execução no momento.
+     *
+     * @return Número de processos em execução.
+     */
+    public int getExecutando() {
+        int executando = 0;
+        for (LoopProcess processo : processos) {
+            if (processo.isExecutando()) {
+                executando++;
+            }
+        }
+        return executando;
+    }
+
+    /**
+     * Executa todos os processos do lote que não estejam em execução, de
+     * acordo com o agendamento de cada um, como {@link LoopProcess#executar()}.
+     *
+     * @return Número de processos agendados.
+     */
+    public synchronized int executar() {
+        long inicio = System.nanoTime();
+        recusados.clear();
+        Map<String, List<LoopProcess>> porPool
+                = new LinkedHashMap<String, List<LoopProcess>>();
+        for (LoopProcess processo : processos) {
+            if (!processo.reservar()) {
+                recusados.add(processo);
+                continue;
+            }
+            List<LoopProcess> doPool = porPool.get(processo.getPoolDeThreads());
+            if (doPool == null) {
+                doPool = new ArrayList<LoopProcess>();
+                porPool.put(processo.getPoolDeThreads(), doPool);
+            }
+            doPool.add(processo);
+        }
+        int agendados = 0;
+        for (Map.Entry<String, List<LoopProcess>> grupo : porPool.entrySet()) {
+            agendados += agendar(grupo.getKey(), grupo.getValue());
+        }
+        log.info("Lote de {} processos agendado em {} ms: {} recusados",
+                processos.size(), TimeUnit.NANOSECONDS.toMillis(
+                        System.nanoTime() - inicio), recusados.size());
+        return agendados;
+    }
+
+    private int agendar(String nomeDoPool, List<LoopProcess> doPool) {
+        List<LoopProcess> preparados = new ArrayList<LoopProcess>(
+                doPool.size());
+        List<Agendamento> agendamentos = new ArrayList<Agendamento>(
+                doPool.size());
+        long agendadoEm = System.currentTimeMillis();
+        PoolDeThreads pool;
+        try {
+            pool = Multiton.getInstance().obter(nomeDoPool,
+                    PoolDeThreads.class);
+            pool.publicarMetricas(nomeDoPool);
+        } catch (RuntimeException ex) {
+            log.error("Exceção obtendo o pool de threads " + nomeDoPool, ex);
+            for (LoopProcess processo : doPool) {
+                recusar(processo);
+            }
+            return 0;
+        }
+        for (LoopProcess processo : doPool) {
+            try {
+                Agendamento agendamento = processo.preparar(pool, agendadoEm);
+                // espera pela última execução de um agendamento interrompido
+                agendamento.substituida = processo.getAnteriorEmAndamento();
+                agendamentos.add(agendamento);
+                preparados.add(processo);
+            } catch (RuntimeException ex) {
+                log.error("Exceção preparando o processo "
+                        + processo.getNome(), ex);
+                recusar(processo);
+            }
+        }
+        RuntimeException[] erros = new RuntimeException[agendamentos.size()];
+        Future<?>[] handlers = pool.agendarTodos(agendamentos, erros);
+        int agendados = 0;
+        for (int i = 0; i < handlers.length; i++) {
+            LoopProcess processo = preparados.get(i);
+            if (handlers[i] == null) {
+                log.warn("Execução do processo {} recusada: {}",
+                        processo.getNome(), erros[i]);
+                recusar(processo);
+                continue;
+            }
+            processo.agendado(pool, agendamentos.get(i), handlers[i],
+                    agendadoEm);
+            agendados++;
+        }
+        return agendados;
+    }
+
+    private void recusar(LoopProcess processo) {
+        processo.liberarReserva();
+        recusados.add(processo);
+    }
+
+    /**
+     * Interrompe o agendamento de todos os processos do lote, aguardando o
+     * término das execuções em andamento.
+     *
+     * @return Número de processos interrompidos.
+     * @see #interromper(boolean)
+     */
+    public int interromper() {
+        return interromper(false);
+    }
+
+    /**
+     * Interrompe o agendamento de todos os processos do lote, como
+     * {@link LoopProcess#interromper(boolean)}, retirando as tarefas de cada
+     * motor em um único lote.
+     *
+     * @param imediatamente Quando verdadeiro interrompe também as execuções
+     * em andamento.
+     * @return Número de processos interrompidos.
+     */
+    public synchronized int interromper(boolean imediatamente) {
+        long inicio = System.nanoTime();
+        List<TarefaAgendada> remocoes = new ArrayList<TarefaAgendada>();
+        int interrompidos = 0;
+        for (LoopProcess processo : processos) {
+            try {
+                if (processo.cancelar(imediatamente, remocoes)) {
+                    interrompidos++;
+                }
+            } catch (RuntimeException ex) {
+                log.error("Exceção tentando interromper o processo "
+                        + processo.getNome(), ex);
+            }
+        }
+        Map<AbstractSchedulerEngine, List<TarefaAgendada>> porMotor
+                = new IdentityHashMap<AbstractSchedulerEngine,
+                        List<TarefaAgendada>>();
+        for (TarefaAgendada tarefa : remocoes) {
+            List<TarefaAgendada> doMotor = porMotor.get(tarefa.getMotor());
+            if (doMotor == null) {
+                doMotor = new ArrayList<TarefaAgendada>();
+                porMotor.put(tarefa.getMotor(), doMotor);
+            }
+            doMotor.add(tarefa);
+        }
+        for (Map.Entry<AbstractSchedulerEngine, List<TarefaAgendada>> grupo
+                : porMotor.entrySet()) {
+            grupo.getKey().removerTodos(grupo.getValue());
+        }
+        log.info("Lote de {} processos interrompido em {} ms", interrompidos,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+        return interrompidos;
+    }
+}
@@ -0,0 +1,345 @@
+package com.fabriciojf.threadpool;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Métricas de execução de um processo ou de um pool de threads: número de
+ * execuções, falhas e sobreposições, além de histogramas da duração das
+ * execuções e do atraso entre o instante previsto e o início de cada
+ * execução. O registro é feito sem bloqueio e sem alocação, a cada execução.
+ * As métricas podem ser publicadas via JMX ou copiadas com
+ * {@link #getInstantaneo()}.
+ *
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+public class MetricasDeExecucao implements MetricasDeExecucaoMBean {
+
+    static Logger log = LoggerFactory.getLogger(MetricasDeExecucao.class);
+
+    /**
+     * Domínio JMX dos MBeans publicados pela biblioteca.
+     */
+    public static final String DOMINIO_JMX = "com.fabriciojf.threadpool";
+
+    private volatile String nome;
+    private final AtomicLong execucoes = new AtomicLong();
+    private final AtomicLong falhas = new AtomicLong();
+    private final AtomicLong sobreposicoes = new AtomicLong();
+    private final AtomicLong descartes = new AtomicLong();
+    private final AtomicLong recuperacoes = new AtomicLong();
+    private final AtomicLong simultaneas = new AtomicLong();
+    private final AtomicLong rejeicoes = new AtomicLong();
+    private final AtomicLong pendentes = new AtomicLong();
+    private final AtomicLong limitacoes = new AtomicLong();
+    private final AtomicLong prazosPerdidos = new AtomicLong();
+    private final AtomicLong expiracoes = new AtomicLong();
+    private final Histograma duracao = new Histograma();
+    private final Histograma atraso = new Histograma();
+
+    private volatile ObjectName nomeJmx;
+
+    /**
+     * Instancia as métricas.
+     *
+     * @param nome Nome do processo ou do pool de threads medido.
+     */
+    public MetricasDeExecucao(String nome) {
+        this.nome = nome;
+    }
+
+    /**
+     * Registra uma execução.
+     *
+     * @param previstoNanos Instante previsto para o início, conforme
+     * {@link System#nanoTime()}.
+     * @param inicioNanos Instante real do início.
+     * @param fimNanos Instante do fim.
+     * @param falhou Verdadeiro se a execução terminou com exceção.
+     * @param sobreposicao Verdadeiro se a execução durou mais que o intervalo
+     * de um processo periódico.
+     */
+    public void registrar(long previstoNanos, long inicioNanos, long fimNanos,
+            boolean falhou, boolean sobreposicao) {
+        execucoes.incrementAndGet();
+        if (falhou) {
+            falhas.incrementAndGet();
+        }
+        if (sobreposicao) {
+            sobreposicoes.incrementAndGet();
+        }
+        atraso.registrar(inicioNanos - previstoNanos);
+        duracao.registrar(fimNanos - inicioNanos);
+    }
+
+    /**
+     * Registra disparos periódicos perdidos e não executados, conforme a
+     * política de sobreposição do processo.
+     *
+     * @param quantidade Número de disparos descartados.
+     */
+    public void registrarDescartes(long quantidade) {
+        descartes.addAndGet(quantidade);
+    }
+
+    /**
+     * Registra uma execução periódica de recuperação, disparada com a grade
+     * já atrasada.
+     */
+    public void registrarRecuperacao() {
+        recuperacoes.incrementAndGet();
+    }
+
+    /**
+     * Registra uma execução iniciada enquanto outra execução do mesmo
+     * processo ainda estava em andamento.
+     */
+    public void registrarSimultanea() {
+        simultaneas.incrementAndGet();
+    }
+
+    /**
+     * Registra uma execução única rejeitada ou descartada por falta de
+     * capacidade no pool.
+     */
+    public void registrarRejeicao() {
+        rejeicoes.incrementAndGet();
+    }
+
+    /**
+     * Atualiza o número de execuções únicas aguardando o disparo.
+     *
+     * @param variacao Variação no número de execuções pendentes.
+     */
+    public void registrarPendentes(long variacao) {
+        pendentes.addAndGet(variacao);
+    }
+
+    /**
+     * Registra um disparo adiado por um {@link Limitador}.
+     */
+    public void registrarLimitacao() {
+        limitacoes.incrementAndGet();
+    }
+
+    /**
+     * Registra uma execução iniciada depois do prazo do processo.
+     */
+    public void registrarPrazoPerdido() {
+        prazosPerdidos.incrementAndGet();
+    }
+
+    /**
+     * Registra uma execução interrompida por exceder o tempo limite.
+     */
+    public void registrarExpiracao() {
+        expiracoes.incrementAndGet();
+    }
+
+    /**
+     * Nome do processo ou do pool de threads medido.
+     *
+     * @return Nome do processo ou do pool de threads medido.
+     */
+    public String getNome() {
+        return nome;
+    }
+
+    void setNome(String nome) {
+        this.nome = nome;
+    }
+
+    /**
+     * Histograma da duração das execuções, em nanossegundos.
+     *
+     * @return Histograma da duração das execuções.
+     */
+    public Histograma getDuracao() {
+        return duracao;
+    }
+
+    /**
+     * Histograma do atraso de início das execuções, em nanossegundos.
+     *
+     * @return Histograma do atraso de início das execuções.
+     */
+    public Histograma getAtraso() {
+        return atraso;
+    }
+
+    /**
+     * Cópia imutável das métricas neste instante.
+     *
+     * @return Cópia imutável das métricas.
+     */
+    public MetricasInstantaneas getInstantaneo() {
+        return new MetricasInstantaneas(nome, execucoes.get(), falhas.get(),
+                sobreposicoes.get(), descartes.get(), recuperacoes.get(),
+                simultaneas.get(), rejeicoes.get(), pendentes.get(),
+                limitacoes.get(), prazosPerdidos.get(), expiracoes.get(), duracao,
+                atraso);
+    }
+
+    @Override
+    public long getExecucoes() {
+        return execucoes.get();
+    }
+
+    @Override
+    public long getFalhas() {
+        return falhas.get();
+    }
+
+    @Override
+    public long getSobreposicoes() {
+        return sobreposicoes.get();
+    }
+
+    @Override
+    public long getDescartes() {
+        return descartes.get();
+    }
+
+    @Override
+    public long getRecuperacoes() {
+        return recuperacoes.get();
+    }
+
+    @Override
+    public long getSimultaneas() {
+        return simultaneas.get();
+    }
+
+    @Override
+    public long getRejeicoes() {
+        return rejeicoes.get();
+    }
+
+    @Override
+    public long getPendentes() {
+        return pendentes.get();
+    }
+
+    @Override
+    public long getLimitacoes() {
+        return limitacoes.get();
+    }
+
+    @Override
+    public long getPrazosPerdidos() {
+        return prazosPerdidos.get();
+    }
+
+    @Override
+    public long getExpiracoes() {
+        return expiracoes.get();
+    }
+
+    @Override
+    public long getDuracaoMediaMicros() {
+        return micros(duracao.getMedia());
+    }
+
+    @Override
+    public long getDuracaoP99Micros() {
+        return micros(duracao.percentil(0.99));
+    }
+
+    @Override
+    public long getDuracaoMaximaMicros() {
+        return micros(duracao.getMaximo());
+    }
+
+    @Override
+    public long getAtrasoMedioMicros() {
+        return micros(atraso.getMedia());
+    }
+
+    @Override
+    public long getAtrasoP99Micros() {
+        return micros(atraso.percentil(0.99));
+    }
+
+    @Override
+    public long getAtrasoMaximoMicros() {
+        return micros(atraso.getMaximo());
+    }
+
+    @Override
+    public void zerar() {
+        execucoes.set(0);
+        falhas.set(0);
+        sobreposicoes.set(0);
+        descartes.set(0);
+        recuperacoes.set(0);
+        simultaneas.set(0);
+        rejeicoes.set(0);
+        limitacoes.set(0);
+        prazosPerdidos.set(0);
+        expiracoes.set(0);
+        duracao.zerar();
+        atraso.zerar();
+    }
+
+    /**
+     * Publica as métricas no servidor JMX da plataforma com as propriedades
+     * indicadas, por exemplo "type=PoolDeThreads,name=padrao". Uma segunda
+     * chamada não tem efeito.
+     *
+     * @param propriedades Propriedades do nome JMX dentro do domínio
+     * {@link #DOMINIO_JMX}.
+     */
+    public synchronized void registrarJmx(String propriedades) {
+        if (nomeJmx != null) {
+            return;
+        }
+        try {
+            ObjectName nome = new ObjectName(DOMINIO_JMX + ":" + propriedades);
+            MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+            servidor.registerMBean(this, nome);
+            nomeJmx = nome;
+        } catch (InstanceAlreadyExistsException ex) {
+            log.warn("Métricas já publicadas com o nome {}", propriedades);
+        } catch (Exception ex) {
+            log.error("Exceção publicando métricas " + propriedades, ex);
+        }
+    }
+
+    /**
+     * Remove a publicação das métricas do servidor JMX da plataforma.
+     */
+    public synchronized void removerJmx() {
+        if (nomeJmx == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(nomeJmx);
+        } catch (Exception ex) {
+            log.error("Exceção removendo métricas " + nomeJmx, ex);
+        }
+        nomeJmx = null;
+    }
+
+    /**
+     * Diz se as métricas estão publicadas via JMX.
+     *
+     * @return Verdadeiro se as métricas estão publicadas via JMX.
+     */
+    public boolean isRegistradoJmx() {
+        return nomeJmx != null;
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+}
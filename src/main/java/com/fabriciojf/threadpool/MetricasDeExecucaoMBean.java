@@ -0,0 +1,145 @@
+package com.fabriciojf.threadpool;
+
+/**
+ * Interface JMX das métricas de execução de um processo ou de um pool de
+ * threads. Tempos em microssegundos.
+ *
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+public interface MetricasDeExecucaoMBean {
+
+    /**
+     * Número de execuções iniciadas.
+     *
+     * @return Número de execuções iniciadas.
+     */
+    long getExecucoes();
+
+    /**
+     * Número de execuções encerradas com exceção.
+     *
+     * @return Número de execuções encerradas com exceção.
+     */
+    long getFalhas();
+
+    /**
+     * Número de execuções periódicas que duraram mais que o intervalo.
+     *
+     * @return Número de execuções periódicas que duraram mais que o intervalo.
+     */
+    long getSobreposicoes();
+
+    /**
+     * Número de disparos periódicos perdidos e descartados pela política de
+     * sobreposição.
+     *
+     * @return Número de disparos periódicos descartados.
+     */
+    long getDescartes();
+
+    /**
+     * Número de execuções periódicas de recuperação, disparadas com a grade
+     * já atrasada.
+     *
+     * @return Número de execuções periódicas de recuperação.
+     */
+    long getRecuperacoes();
+
+    /**
+     * Número de execuções iniciadas enquanto outra execução do mesmo processo
+     * estava em andamento.
+     *
+     * @return Número de execuções simultâneas.
+     */
+    long getSimultaneas();
+
+    /**
+     * Número de execuções únicas rejeitadas ou descartadas por falta de
+     * capacidade no pool.
+     *
+     * @return Número de execuções rejeitadas.
+     */
+    long getRejeicoes();
+
+    /**
+     * Número de execuções únicas agendadas e ainda não iniciadas. Não é
+     * afetado por {@link #zerar()}.
+     *
+     * @return Número de execuções pendentes.
+     */
+    long getPendentes();
+
+    /**
+     * Número de disparos adiados por um {@link Limitador} por excesso de
+     * taxa ou de execuções simultâneas.
+     *
+     * @return Número de disparos adiados.
+     */
+    long getLimitacoes();
+
+    /**
+     * Número de execuções iniciadas depois do prazo definido em
+     * {@link LoopProcess#setPrazo(long, java.util.concurrent.TimeUnit)}.
+     *
+     * @return Número de prazos perdidos.
+     */
+    long getPrazosPerdidos();
+
+    /**
+     * Número de execuções interrompidas por exceder o tempo limite definido
+     * em
+     * {@link LoopProcess#setTempoLimite(long, java.util.concurrent.TimeUnit)}.
+     *
+     * @return Número de execuções expiradas.
+     */
+    long getExpiracoes();
+
+    /**
+     * Duração média das execuções.
+     *
+     * @return Duração média das execuções.
+     */
+    long getDuracaoMediaMicros();
+
+    /**
+     * Percentil 99 da duração das execuções.
+     *
+     * @return Percentil 99 da duração das execuções.
+     */
+    long getDuracaoP99Micros();
+
+    /**
+     * Maior duração de execução registrada.
+     *
+     * @return Maior duração de execução registrada.
+     */
+    long getDuracaoMaximaMicros();
+
+    /**
+     * Atraso médio entre o instante previsto e o início das execuções.
+     *
+     * @return Atraso médio entre o instante previsto e o início das execuções.
+     */
+    long getAtrasoMedioMicros();
+
+    /**
+     * Percentil 99 do atraso de início das execuções.
+     *
+     * @return Percentil 99 do atraso de início das execuções.
+     */
+    long getAtrasoP99Micros();
+
+    /**
+     * Maior atraso de início registrado.
+     *
+     * @return Maior atraso de início registrado.
+     */
+    long getAtrasoMaximoMicros();
+
+    /**
+     * Zera todas as métricas.
+     */
+    void zerar();
+}
@@ -0,0 +1,261 @@
+package com.fabriciojf.threadpool;
+
+/**
+ * Cópia imutável das métricas de execução em um dado instante. Tempos em
+ * nanossegundos.
+ *
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+public final class MetricasInstantaneas {
+
+    private final String nome;
+    private final long execucoes;
+    private final long falhas;
+    private final long sobreposicoes;
+    private final long descartes;
+    private final long recuperacoes;
+    private final long simultaneas;
+    private final long rejeicoes;
+    private final long pendentes;
+    private final long limitacoes;
+    private final long prazosPerdidos;
+    private final long expiracoes;
+    private final long duracaoMedia;
+    private final long duracaoP50;
+    private final long duracaoP99;
+    private final long duracaoMaxima;
+    private final long atrasoMedio;
+    private final long atrasoP50;
+    private final long atrasoP99;
+    private final long atrasoMaximo;
+
+    MetricasInstantaneas(String nome, long execucoes, long falhas,
+            long sobreposicoes, long descartes, long recuperacoes,
+            long simultaneas, long rejeicoes, long pendentes,
+            long limitacoes, long prazosPerdidos, long expiracoes,
+            Histograma duracao, Histograma atraso) {
+        this.nome = nome;
+        this.execucoes = execucoes;
+        this.falhas = falhas;
+        this.sobreposicoes = sobreposicoes;
+        this.descartes = descartes;
+        this.recuperacoes = recuperacoes;
+        this.simultaneas = simultaneas;
+        this.rejeicoes = rejeicoes;
+        this.pendentes = pendentes;
+        this.limitacoes = limitacoes;
+        this.prazosPerdidos = prazosPerdidos;
+        this.expiracoes = expiracoes;
+        this.duracaoMedia = duracao.getMedia();
+        this.duracaoP50 = duracao.percentil(0.5);
+        this.duracaoP99 = duracao.percentil(0.99);
+        this.duracaoMaxima = duracao.getMaximo();
+        this.atrasoMedio = atraso.getMedia();
+        this.atrasoP50 = atraso.percentil(0.5);
+        this.atrasoP99 = atraso.percentil(0.99);
+        this.atrasoMaximo = atraso.getMaximo();
+    }
+
+    /**
+     * Nome do processo ou do pool de threads medido.
+     *
+     * @return Nome do processo ou do pool de threads medido.
+     */
+    public String getNome() {
+        return nome;
+    }
+
+    /**
+     * Número de execuções iniciadas.
+     *
+     * @return Número de execuções iniciadas.
+     */
+    public long getExecucoes() {
+        return execucoes;
+    }
+
+    /**
+     * Número de execuções encerradas com exceção.
+     *
+     * @return Número de execuções encerradas com exceção.
+     */
+    public long getFalhas() {
+        return falhas;
+    }
+
+    /**
+     * Número de execuções periódicas que duraram mais que o intervalo.
+     *
+     * @return Número de execuções periódicas que duraram mais que o
+     * intervalo.
+     */
+    public long getSobreposicoes() {
+        return sobreposicoes;
+    }
+
+    /**
+     * Número de disparos periódicos perdidos e descartados pela política de
+     * sobreposição.
+     *
+     * @return Número de disparos periódicos descartados.
+     */
+    public long getDescartes() {
+        return descartes;
+    }
+
+    /**
+     * Número de execuções periódicas de recuperação, disparadas com a grade
+     * já atrasada.
+     *
+     * @return Número de execuções periódicas de recuperação.
+     */
+    public long getRecuperacoes() {
+        return recuperacoes;
+    }
+
+    /**
+     * Número de execuções iniciadas enquanto outra execução do mesmo processo
+     * estava em andamento.
+     *
+     * @return Número de execuções simultâneas.
+     */
+    public long getSimultaneas() {
+        return simultaneas;
+    }
+
+    /**
+     * Número de execuções únicas rejeitadas ou descartadas por falta de
+     * capacidade no pool.
+     *
+     * @return Número de execuções rejeitadas.
+     */
+    public long getRejeicoes() {
+        return rejeicoes;
+    }
+
+    /**
+     * Número de execuções únicas agendadas e ainda não iniciadas.
+     *
+     * @return Número de execuções pendentes.
+     */
+    public long getPendentes() {
+        return pendentes;
+    }
+
+    /**
+     * Número de disparos adiados por um {@link Limitador}.
+     *
+     * @return Número de disparos adiados.
+     */
+    public long getLimitacoes() {
+        return limitacoes;
+    }
+
+    /**
+     * Número de execuções iniciadas depois do prazo do processo.
+     *
+     * @return Número de prazos perdidos.
+     */
+    public long getPrazosPerdidos() {
+        return prazosPerdidos;
+    }
+
+    /**
+     * Número de execuções interrompidas por exceder o tempo limite.
+     *
+     * @return Número de execuções expiradas.
+     */
+    public long getExpiracoes() {
+        return expiracoes;
+    }
+
+    /**
+     * Duração média das execuções.
+     *
+     * @return Duração média em nanossegundos.
+     */
+    public long getDuracaoMedia() {
+        return duracaoMedia;
+    }
+
+    /**
+     * Mediana da duração das execuções.
+     *
+     * @return Mediana da duração em nanossegundos.
+     */
+    public long getDuracaoP50() {
+        return duracaoP50;
+    }
+
+    /**
+     * Percentil 99 da duração das execuções.
+     *
+     * @return Percentil 99 da duração em nanossegundos.
+     */
+    public long getDuracaoP99() {
+        return duracaoP99;
+    }
+
+    /**
+     * Maior duração de execução registrada.
+     *
+     * @return Maior duração em nanossegundos.
+     */
+    public long getDuracaoMaxima() {
+        return duracaoMaxima;
+    }
+
+    /**
+     * Atraso médio entre o instante previsto e o início das execuções.
+     *
+     * @return Atraso médio em nanossegundos.
+     */
+    public long getAtrasoMedio() {
+        return atrasoMedio;
+    }
+
+    /**
+     * Mediana do atraso de início das execuções.
+     *
+     * @return Mediana do atraso em nanossegundos.
+     */
+    public long getAtrasoP50() {
+        return atrasoP50;
+    }
+
+    /**
+     * Percentil 99 do atraso de início das execuções.
+     *
+     * @return Percentil 99 do atraso em nanossegundos.
+     */
+    public long getAtrasoP99() {
+        return atrasoP99;
+    }
+
+    /**
+     * Maior atraso de início registrado.
+     *
+     * @return Maior atraso em nanossegundos.
+     */
+    public long getAtrasoMaximo() {
+        return atrasoMaximo;
+    }
+
+    @Override
+    public String toString() {
+        return nome + ": execucoes=" + execucoes + ", falhas=" + falhas
+                + ", sobreposicoes=" + sobreposicoes
+                + ", descartes=" + descartes + ", recuperacoes=" + recuperacoes
+                + ", simultaneas=" + simultaneas
+                + ", rejeicoes=" + rejeicoes + ", pendentes=" + pendentes
+                + ", limitacoes=" + limitacoes
+                + ", prazosPerdidos=" + prazosPerdidos
+                + ", expiracoes=" + expiracoes
+                + ", duracao(media/p50/p99/max ns)=" + duracaoMedia + "/"
+                + duracaoP50 + "/" + duracaoP99 + "/" + duracaoMaxima
+                + ", atraso(media/p50/p99/max ns)=" + atrasoMedio + "/"
+                + atrasoP50 + "/" + atrasoP99 + "/" + atrasoMaximo;
+    }
+}
@@ -0,0 +1,28 @@
+package com.fabriciojf.threadpool;
+
+/**
+ * What a process recovered from a {@link DiarioDeAgendamentos} does with the
+ * fires it missed while the application was down.
+ *
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+public enum MisfireEnum {
+
+    /**
+     * Run once right away for all the missed fires, then resume the schedule
+     */
+    FIRE_NOW,
+
+    /**
+     * Drop the missed fires and wait for the next fire on the schedule
+     */
+    SKIP,
+
+    /**
+     * Ignore the journal timing and schedule with the configured delay, as on
+     * a first start
+     */
+    IGNORE,
+}
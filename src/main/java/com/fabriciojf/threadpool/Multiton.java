@@ -1,10 +1,10 @@
 package com.fabriciojf.threadpool;
 
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
-
-import edu.emory.mathcs.backport.java.util.Collections;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
 
 /**
  * Gerenciar de cópias nomeadas de objetos. Enquanto o padrao singleton garante
@@ -19,25 +19,25 @@ import edu.emory.mathcs.backport.java.util.Collections;
 @SuppressWarnings("all")
 public class Multiton {
 
-    private static Multiton instance;
-	private Map<Class, Map<String, Object>> instanciasPorTipo;
+    private static final Multiton instance = new Multiton();
+    private final ClassValue<ConcurrentMap<String, Object>> instanciasPorTipo;
 
-    private Object lock = new Object();
-    
     /**
      * Instancia padrao do multiton.
      * 
      * @return Instancia padrao do multiton.
      */
     public static Multiton getInstance() {
-        if (instance == null) {
-            instance = new Multiton();
-        }
         return instance;
     }
 
     private Multiton() {
-        this.instanciasPorTipo = new HashMap<Class, Map<String, Object>>();
+        this.instanciasPorTipo = new ClassValue<ConcurrentMap<String, Object>>() {
+            @Override
+            protected ConcurrentMap<String, Object> computeValue(Class<?> tipo) {
+                return new ConcurrentHashMap<String, Object>();
+            }
+        };
     }
 
     /**
@@ -51,12 +51,7 @@ public class Multiton {
      * @return Verdadeiro se a instância do tipo com o nome definido existe.
      */
     public <T> boolean existe(String nome, Class<T> tipo) {
-        synchronized (lock) {
-            if (!this.instanciasPorTipo.containsKey(tipo)) {
-                return false;
-            }
-            return this.instanciasPorTipo.get(tipo).containsKey(nome);
-        }
+        return this.instanciasPorTipo.get(tipo).containsKey(nome);
     }
 
     /**
@@ -65,7 +60,8 @@ public class Multiton {
      * garantido que o metodo retornara sempre a mesma instancia da classe para
      * o nome indicado a menos que o metodo {@link #descartar(String)} tenha
      * sido invocado previamente. É esperado que a classe possua um construtor
-     * vazio.
+     * vazio. A consulta de uma instancia existente nao usa bloqueio; a criacao
+     * acontece uma unica vez mesmo com chamadas concorrentes.
      * 
      * @param nome
      *            O nome da instancia requerida.
@@ -75,26 +71,22 @@ public class Multiton {
      * @throws InstantiationException
      * @throws IllegalAccessException
      */
-    public <T> T obter(String nome, Class<T> tipo) {
-        synchronized (lock) {
-            try {
-                Map<String, Object> instancias = this.instanciasPorTipo.get(tipo);
-                if (instancias == null) {
-                    instancias = new HashMap<String, Object>();
-                    this.instanciasPorTipo.put(tipo, instancias);
-                }
-    
-                Object instancia = instancias.get(nome);
-                if (instancia == null) {
-                    instancia = tipo.newInstance();
-                    instancias.put(nome, instancia);
+    public <T> T obter(String nome, final Class<T> tipo) {
+        ConcurrentMap<String, Object> instancias = this.instanciasPorTipo.get(tipo);
+        Object instancia = instancias.get(nome);
+        if (instancia != null) {
+            return (T) instancia;
+        }
+        return (T) instancias.computeIfAbsent(nome, new Function<String, Object>() {
+            @Override
+            public Object apply(String nome) {
+                try {
+                    return tipo.newInstance();
+                } catch (Exception ex) {
+                    throw new RuntimeException(ex);
                 }
-    
-                return (T) instancia;
-            } catch (Exception ex) {
-                throw new RuntimeException(ex);
             }
-        }
+        });
     }
 
     /**
@@ -103,7 +95,8 @@ public class Multiton {
      * garantido que o metodo retornara sempre a mesma instancia da classe para
      * o nome indicado a menos que o metodo {@link #descartar(String)} tenha
      * sido invocado previamente. Caso seja necessario instanciar um objeto da
-     * classe a fabrica informada sera utilizada.
+     * classe a fabrica informada sera utilizada. A fabrica nao deve registrar
+     * instancias do mesmo tipo neste multiton.
      * 
      * @param nome
      *            O nome da instancia requerida.
@@ -114,28 +107,18 @@ public class Multiton {
      * @throws InstantiationException
      * @throws IllegalAccessException
      */
-    public <T> T obter(String nome, Class<T> tipo, LoopFactory<T> fabrica) {
-        synchronized (lock) {
-            try {
-                Map<String, Object> instancias = this.instanciasPorTipo.get(tipo);
-                if (instancias == null) {
-                    instancias = new HashMap<String, Object>();
-                    this.instanciasPorTipo.put(tipo, instancias);
-                }
-    
-                Object instancia = instancias.get(nome);
-                if (instancia == null) {
-                    instancia = fabrica.fabricar();
-                    instancias.put(nome, instancia);
-                }
-    
-                return (T) instancia;
-            } catch (RuntimeException ex) {
-                throw ex;
-            } catch (Exception ex) {
-                throw new RuntimeException(ex);
-            }
+    public <T> T obter(String nome, Class<T> tipo, final LoopFactory<T> fabrica) {
+        ConcurrentMap<String, Object> instancias = this.instanciasPorTipo.get(tipo);
+        Object instancia = instancias.get(nome);
+        if (instancia != null) {
+            return (T) instancia;
         }
+        return (T) instancias.computeIfAbsent(nome, new Function<String, Object>() {
+            @Override
+            public Object apply(String nome) {
+                return fabrica.fabricar();
+            }
+        });
     }
 
 	/**
@@ -150,27 +133,10 @@ public class Multiton {
 	 *            A instancia que deve ser registrada.
 	 */
     public <T> void definir(String nome, Class<T> tipo, T instancia) {
-        synchronized (lock) {
-            try {
-                Map<String, Object> instancias = this.instanciasPorTipo.get(tipo);
-                if (instancias == null) {
-                    instancias = new HashMap<String, Object>();
-                    this.instanciasPorTipo.put(tipo, instancias);
-                }
-                
-                if (instancias.containsKey(nome)) {
-                    throw new RuntimeException(
-                    		"Ja existe uma instancia com o nome " +
-                    		nome + " para o tipo " + tipo.getName());
-                }
-                
-	            instancias.put(nome, instancia);
-	            
-            } catch (RuntimeException ex) {
-                throw ex;
-            } catch (Exception ex) {
-                throw new RuntimeException(ex);
-            }
+        if (this.instanciasPorTipo.get(tipo).putIfAbsent(nome, instancia) != null) {
+            throw new RuntimeException(
+            		"Ja existe uma instancia com o nome " +
+            		nome + " para o tipo " + tipo.getName());
         }
     }
 
@@ -182,13 +148,8 @@ public class Multiton {
      * @return A lista de nomes de instâncias.
      */
     public <T> Collection<String> obterInstancias(Class<T> tipo) {
-        synchronized (lock) {
-            Map<String, Object> instancias = this.instanciasPorTipo.get(tipo);
-            if (instancias == null) {
-                return Collections.emptyList();
-            }
-            return Collections.unmodifiableCollection(instancias.keySet());
-        }
+        return Collections.unmodifiableCollection(
+                this.instanciasPorTipo.get(tipo).keySet());
     }
 
     /**
@@ -198,19 +159,6 @@ public class Multiton {
      *            O nome da instancia a ser descartada.
      */
     public <T> void descartar(String nome, Class<T> tipo) {
-        synchronized (lock) {
-            if (!this.instanciasPorTipo.containsKey(tipo)) {
-                return;
-            }
-    
-            Map<String, Object> instancias = this.instanciasPorTipo.get(tipo);
-            if (instancias.containsKey(nome)) {
-                instancias.remove(nome);
-    
-                if (instancias.size() == 0) {
-                    this.instanciasPorTipo.remove(tipo);
-                }
-            }
-        }
+        this.instanciasPorTipo.get(tipo).remove(nome);
     }
 }
@@ -0,0 +1,31 @@
+package com.fabriciojf.threadpool;
+
+/**
+ * Observador das execuções de um {@link LoopProcess}, usado por
+ * {@link FluxoDeProcessos} para saber quando cada processo começa e termina,
+ * inclusive processos assíncronos.
+ *
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+interface ObservadorDeExecucao {
+
+    /**
+     * Chamado na thread do pool imediatamente antes da execução.
+     *
+     * @return Falso para descartar a execução sem executar o processo.
+     */
+    boolean aoIniciar();
+
+    /**
+     * Chamado ao fim da execução, na thread que a concluiu.
+     *
+     * @param inicioNanos Instante do início, conforme
+     * {@link System#nanoTime()}.
+     * @param fimNanos Instante do fim.
+     * @param erro Exceção que encerrou a execução, ou nulo em caso de
+     * sucesso.
+     */
+    void aoConcluir(long inicioNanos, long fimNanos, Throwable erro);
+}
@@ -0,0 +1,95 @@
+package com.fabriciojf.threadpool;
+
+import java.util.Comparator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.PriorityBlockingQueue;
+
+/**
+ * Ordem de despacho das tarefas prontas de um pool com despacho por
+ * prioridade. Cada tarefa recebe um instante limite fixo, calculado a partir
+ * do instante previsto do disparo: quanto maior a prioridade, mais cedo o
+ * limite, em um {@link PoolDeThreads#getEnvelhecimento envelhecimento} por
+ * nível; dentro da mesma prioridade o prazo da tarefa antecipa o limite. As
+ * tarefas prontas são executadas em ordem crescente de limite. O limite é
+ * calculado uma vez, quando a tarefa entra na {@link #criarFila() fila}, e
+ * não muda enquanto ela espera, mesmo que o disparo seguinte da tarefa seja
+ * reagendado; assim a fila de prioridade se mantém consistente e uma tarefa
+ * de baixa prioridade passa à frente das tarefas mais prioritárias que
+ * ficaram prontas muito depois dela, sem inanição.
+ *
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+final class OrdemDePrioridade implements Comparator<Runnable> {
+
+    // cerca de 36 anos; a diferença entre dois limites nunca transborda
+    private static final long ANTECIPACAO_MAXIMA = Long.MAX_VALUE / 8;
+
+    private final long envelhecimentoNanos;
+
+    OrdemDePrioridade(long envelhecimentoNanos) {
+        this.envelhecimentoNanos = envelhecimentoNanos;
+    }
+
+    /**
+     * Cria a fila das tarefas prontas nesta ordem. O limite de cada tarefa é
+     * calculado quando ela entra na fila.
+     *
+     * @return Fila de prioridade das tarefas prontas.
+     */
+    BlockingQueue<Runnable> criarFila() {
+        return new Fila(this);
+    }
+
+    @Override
+    public int compare(Runnable uma, Runnable outra) {
+        boolean umaAgendada = uma instanceof TarefaAgendada;
+        boolean outraAgendada = outra instanceof TarefaAgendada;
+        // tarefas internas dos executores passam à frente
+        if (!umaAgendada || !outraAgendada) {
+            return umaAgendada == outraAgendada ? 0 : (umaAgendada ? 1 : -1);
+        }
+        long diferenca = ((TarefaAgendada) uma).limiteNaFila
+                - ((TarefaAgendada) outra).limiteNaFila;
+        return diferenca < 0 ? -1 : (diferenca > 0 ? 1 : 0);
+    }
+
+    private long limite(TarefaAgendada tarefa) {
+        long prazo = tarefa.getPrazoNanos();
+        long folga = Math.min(prazo > 0 && prazo < envelhecimentoNanos
+                ? prazo : envelhecimentoNanos, ANTECIPACAO_MAXIMA);
+        int prioridade = tarefa.getPrioridade();
+        long antecipacao = Math.abs((long) prioridade)
+                > ANTECIPACAO_MAXIMA / envelhecimentoNanos
+                ? (prioridade > 0 ? ANTECIPACAO_MAXIMA : -ANTECIPACAO_MAXIMA)
+                : prioridade * envelhecimentoNanos;
+        return tarefa.getDisparoNanos() + folga - antecipacao;
+    }
+
+    /**
+     * Fila de prioridade que fixa o limite da tarefa na entrada. Toda
+     * inserção passa por {@link #offer(Runnable)}, e o limite só é lido sob
+     * a trava da fila.
+     */
+    private static final class Fila extends PriorityBlockingQueue<Runnable> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final OrdemDePrioridade ordem;
+
+        Fila(OrdemDePrioridade ordem) {
+            super(64, ordem);
+            this.ordem = ordem;
+        }
+
+        @Override
+        public boolean offer(Runnable tarefa) {
+            if (tarefa instanceof TarefaAgendada) {
+                TarefaAgendada agendada = (TarefaAgendada) tarefa;
+                agendada.limiteNaFila = ordem.limite(agendada);
+            }
+            return super.offer(tarefa);
+        }
+    }
+}
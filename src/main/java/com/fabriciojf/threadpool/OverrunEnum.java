@@ -0,0 +1,41 @@
+package com.fabriciojf.threadpool;
+
+/**
+ * What a PERIODIC process does with the ticks it missed because a run, a GC
+ * pause or a busy pool delayed it beyond its interval. SEQUENTIAL processes
+ * count the interval from the end of the previous run and never miss ticks.
+ *
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+public enum OverrunEnum {
+
+    /**
+     * Run every missed tick back-to-back until the schedule is back on time
+     */
+    CATCH_UP,
+
+    /**
+     * Drop the missed ticks and wait for the next tick on the original grid
+     */
+    SKIP,
+
+    /**
+     * Run once right away for all the missed ticks, then resume the original
+     * grid
+     */
+    COALESCE,
+
+    /**
+     * Run every missed tick, but no more than the process' catch-up rate per
+     * interval
+     */
+    CATCH_UP_LIMITED,
+
+    /**
+     * Fire on the original grid even while previous runs are in progress, up
+     * to the process' maximum of concurrent runs; ticks beyond it are dropped
+     */
+    CONCURRENT,
+}
@@ -1,9 +1,20 @@
 package com.fabriciojf.threadpool;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.ObjectName;
 
 import org.apache.log4j.LogManager;
 import org.apache.log4j.Logger;
@@ -20,8 +31,36 @@ public class PoolDeThreads {
 
     static Logger log = LogManager.getLogger(PoolDeThreads.class.getName());
 
-    private int maximoDeThreads;
-    private ScheduledExecutorService servico;
+    private volatile int maximoDeThreads;
+    private volatile int minimoDeThreads = 1;
+    private boolean elastico;
+    private volatile long atrasoAlvoNanos = TimeUnit.MILLISECONDS.toNanos(10);
+    private volatile long ociosidadeNanos = TimeUnit.SECONDS.toNanos(60);
+    private long amostragemNanos = TimeUnit.SECONDS.toNanos(1);
+    private int particoes = 1;
+    private boolean rouboDeTarefas;
+    private SchedulerEnum motor;
+    private long resolucaoNanos = TimeUnit.MILLISECONDS.toNanos(
+            TimingWheelSchedulerEngine.TICK_PADRAO_MILIS);
+    private int capacidade = Integer.MAX_VALUE;
+    private RejectionEnum rejeicao = RejectionEnum.FAIL_FAST;
+    private long esperaMaximaNanos = TimeUnit.SECONDS.toNanos(1);
+    private boolean despachoPorPrioridade;
+    private volatile boolean suavizacao;
+    private final Map<Long, AtomicLong> fases
+            = new ConcurrentHashMap<Long, AtomicLong>();
+    private long envelhecimentoNanos = TimeUnit.MILLISECONDS.toNanos(100);
+    private volatile SchedulerEngine agendador;
+    private Relogio relogio = Relogio.SISTEMA;
+    private volatile ControleDeAdmissao admissao;
+    private volatile DiarioDeAgendamentos diario;
+    private MisfireEnum disparosPerdidos = MisfireEnum.FIRE_NOW;
+    private volatile Limitador limitador;
+    private final Map<String, Limitador> limitadores
+            = new ConcurrentHashMap<String, Limitador>();
+    private DimensionamentoElastico dimensionamento;
+    private final MetricasDeExecucao metricas = new MetricasDeExecucao(null);
+    private final AtomicBoolean metricasPublicadas = new AtomicBoolean();
 
     /**
      * Instancia o pool de threads com uma única thread.
@@ -37,7 +76,72 @@ public class PoolDeThreads {
      * @param threads
      */
     public PoolDeThreads(int threads) {
+        this(threads, SchedulerEnum.EXECUTOR);
+    }
+
+    /**
+     * Instancia o pool de threads com o número de threads e o motor de
+     * agendamento informados.
+     *
+     * @param threads Número máximo de threads disponível no pool.
+     * @param motor Motor de agendamento usado pelo pool.
+     */
+    public PoolDeThreads(int threads, SchedulerEnum motor) {
         setMaximoDeThreads(threads);
+        setMotor(motor);
+    }
+
+    /**
+     * Instancia um pool sobre um motor já criado, usado pela
+     * {@link Simulacao}.
+     *
+     * @param threads Número de threads do motor.
+     * @param motor Motor de agendamento do pool.
+     */
+    PoolDeThreads(int threads, AbstractSchedulerEngine motor) {
+        this(threads, SchedulerEnum.EXECUTOR);
+        this.agendador = motor;
+        this.relogio = motor.getRelogio();
+    }
+
+    /**
+     * Registra no {@link Multiton} um pool de threads nomeado com o número de
+     * threads e o motor de agendamento informados. Processos cujo
+     * {@link LoopProcess#getPoolDeThreads()} seja este nome passam a usar o
+     * pool registrado. O registro deve acontecer antes da primeira execução de
+     * um processo no pool, caso contrário uma exceção será lançada.
+     *
+     * @param nome Nome do pool de threads.
+     * @param threads Número máximo de threads disponível no pool.
+     * @param motor Motor de agendamento usado pelo pool.
+     * @return O pool registrado.
+     */
+    public static PoolDeThreads registrar(String nome, int threads,
+            SchedulerEnum motor) {
+        PoolDeThreads pool = new PoolDeThreads(threads, motor);
+        Multiton.getInstance().definir(nome, PoolDeThreads.class, pool);
+        return pool;
+    }
+
+    /**
+     * Registra no {@link Multiton} um pool de threads particionado. Cada
+     * processo é atribuído a uma das partições pelo hash do seu nome, e as
+     * threads são divididas igualmente entre as partições.
+     *
+     * @param nome Nome do pool de threads.
+     * @param threads Número máximo de threads disponível no pool, somadas
+     * todas as partições.
+     * @param motor Motor de agendamento usado por cada partição.
+     * @param particoes Número de partições.
+     * @return O pool registrado.
+     * @see #setParticoes(int)
+     */
+    public static PoolDeThreads registrarParticionado(String nome, int threads,
+            SchedulerEnum motor, int particoes) {
+        PoolDeThreads pool = new PoolDeThreads(threads, motor);
+        pool.setParticoes(particoes);
+        Multiton.getInstance().definir(nome, PoolDeThreads.class, pool);
+        return pool;
     }
 
     /**
@@ -50,7 +154,10 @@ public class PoolDeThreads {
     }
 
     /**
-     * Define o número máximo de threads disponível no pool.
+     * Define o número máximo de threads disponível no pool. Em pools
+     * elásticos é o limite superior do redimensionamento e pode ser alterado
+     * a qualquer momento; nos demais só tem efeito antes do primeiro
+     * agendamento.
      *
      * @param threads Número máximo de threads disponível no pool.
      */
@@ -58,17 +165,736 @@ public class PoolDeThreads {
         this.maximoDeThreads = threads;
     }
 
+    /**
+     * Número mínimo de threads de um pool elástico.
+     *
+     * @return Número mínimo de threads de um pool elástico.
+     */
+    public int getMinimoDeThreads() {
+        return minimoDeThreads;
+    }
+
+    /**
+     * Número mínimo de threads de um pool elástico, com o qual o pool é
+     * iniciado. Pode ser alterado a qualquer momento.
+     *
+     * @param threads Número mínimo de threads de um pool elástico.
+     */
+    public void setMinimoDeThreads(int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException(
+                    "O mínimo de threads deve ser maior que zero: " + threads);
+        }
+        this.minimoDeThreads = threads;
+    }
+
+    /**
+     * Diz se o número de threads do pool é ajustado conforme a carga.
+     *
+     * @return Verdadeiro se o pool é elástico.
+     */
+    public boolean isElastico() {
+        return elastico;
+    }
+
+    /**
+     * Ajusta o número de threads do pool conforme a carga, entre
+     * {@link #getMinimoDeThreads()} e {@link #getMaximoDeThreads()}. O pool
+     * cresce quando o atraso de início das execuções passa de
+     * {@link #getAtrasoAlvo(TimeUnit)} ou há disparos vencidos aguardando
+     * thread, e encolhe quando sobram threads por um período prolongado.
+     * Threads ociosas são encerradas após {@link #getOciosidade(TimeUnit)}.
+     * Só tem efeito antes do primeiro agendamento.
+     *
+     * @param elastico Verdadeiro para ajustar o pool conforme a carga.
+     */
+    public void setElastico(boolean elastico) {
+        this.elastico = elastico;
+    }
+
+    /**
+     * Atraso médio de início das execuções acima do qual um pool elástico
+     * cresce.
+     *
+     * @param unidade Unidade de tempo desejada.
+     * @return Atraso médio tolerado.
+     */
+    public long getAtrasoAlvo(TimeUnit unidade) {
+        return unidade.convert(atrasoAlvoNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Atraso médio de início das execuções acima do qual um pool elástico
+     * cresce. O pool só encolhe com o atraso abaixo da metade deste valor.
+     *
+     * @param atraso Atraso médio tolerado.
+     * @param unidade Unidade de tempo do atraso.
+     */
+    public void setAtrasoAlvo(long atraso, TimeUnit unidade) {
+        this.atrasoAlvoNanos = unidade.toNanos(atraso);
+    }
+
+    /**
+     * Tempo após o qual uma thread ociosa de um pool elástico é encerrada.
+     *
+     * @param unidade Unidade de tempo desejada.
+     * @return Tempo máximo de ociosidade de uma thread.
+     */
+    public long getOciosidade(TimeUnit unidade) {
+        return unidade.convert(ociosidadeNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Tempo após o qual uma thread ociosa de um pool elástico é encerrada.
+     * Novas threads são criadas conforme a demanda.
+     *
+     * @param ociosidade Tempo máximo de ociosidade de uma thread.
+     * @param unidade Unidade de tempo da ociosidade.
+     */
+    public void setOciosidade(long ociosidade, TimeUnit unidade) {
+        if (ociosidade <= 0) {
+            throw new IllegalArgumentException(
+                    "A ociosidade deve ser maior que zero: " + ociosidade);
+        }
+        this.ociosidadeNanos = unidade.toNanos(ociosidade);
+    }
+
+    /**
+     * Intervalo entre as medições de carga de um pool elástico.
+     *
+     * @param unidade Unidade de tempo desejada.
+     * @return Intervalo entre as medições de carga.
+     */
+    public long getAmostragem(TimeUnit unidade) {
+        return unidade.convert(amostragemNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Intervalo entre as medições de carga de um pool elástico. Só tem efeito
+     * antes do primeiro agendamento.
+     *
+     * @param amostragem Intervalo entre as medições de carga.
+     * @param unidade Unidade de tempo do intervalo.
+     */
+    public void setAmostragem(long amostragem, TimeUnit unidade) {
+        this.amostragemNanos = unidade.toNanos(amostragem);
+    }
+
+    /**
+     * Número de partições do pool.
+     *
+     * @return Número de partições do pool.
+     */
+    public int getParticoes() {
+        return particoes;
+    }
+
+    /**
+     * Número de partições do pool. Com mais de uma partição cada processo
+     * usa um motor e um executor próprios da sua partição, escolhida pelo
+     * hash do nome do processo, e agendar, cancelar e disparar não disputam
+     * estruturas com as demais partições. Indicado para máquinas com muitos
+     * núcleos; o número de núcleos é um bom ponto de partida. Só tem efeito
+     * antes do primeiro agendamento.
+     *
+     * @param particoes Número de partições do pool.
+     */
+    public void setParticoes(int particoes) {
+        if (particoes <= 0) {
+            throw new IllegalArgumentException(
+                    "O número de partições deve ser maior que zero: "
+                    + particoes);
+        }
+        this.particoes = particoes;
+    }
+
+    /**
+     * Diz se partições ociosas executam tarefas vencidas de partições
+     * sobrecarregadas.
+     *
+     * @return Verdadeiro se há roubo de tarefas entre partições.
+     */
+    public boolean isRouboDeTarefas() {
+        return rouboDeTarefas;
+    }
+
+    /**
+     * Permite que partições ociosas executem tarefas vencidas de partições
+     * com todas as threads ocupadas. Aplica-se ao motor
+     * {@link SchedulerEnum#TIMING_WHEEL}; no motor
+     * {@link SchedulerEnum#EXECUTOR} a fila pertence ao executor e não pode
+     * ser compartilhada. Só tem efeito antes do primeiro agendamento.
+     *
+     * @param rouboDeTarefas Verdadeiro para permitir o roubo de tarefas.
+     */
+    public void setRouboDeTarefas(boolean rouboDeTarefas) {
+        this.rouboDeTarefas = rouboDeTarefas;
+    }
+
+    /**
+     * Número de threads configurado no momento. Em pools elásticos varia
+     * entre o mínimo e o máximo conforme a carga.
+     *
+     * @return Número de threads configurado no momento.
+     */
+    public int getThreads() {
+        SchedulerEngine atual = agendador;
+        int threads = atual == null ? -1
+                : ((AbstractSchedulerEngine) atual).getThreads();
+        return threads < 0 ? getThreadsIniciais() : threads;
+    }
+
+    private int getThreadsIniciais() {
+        return isElastico()
+                ? Math.min(getMinimoDeThreads(), getMaximoDeThreads())
+                : getMaximoDeThreads();
+    }
+
+    /**
+     * Motor de agendamento usado pelo pool. Os valores possíveis são
+     * {@link SchedulerEnum#EXECUTOR}, padrão;
+     * {@link SchedulerEnum#TIMING_WHEEL}, indicado para pools com muitos
+     * processos agendados; ou, {@link SchedulerEnum#VIRTUAL_THREADS}, indicado
+     * para processos que passam a maior parte do tempo bloqueados em I/O. No
+     * modo de threads virtuais o número máximo de threads limita quantas
+     * execuções acontecem ao mesmo tempo no pool.
+     *
+     * @return Motor de agendamento usado pelo pool.
+     */
+    public SchedulerEnum getMotor() {
+        return motor;
+    }
+
+    /**
+     * Motor de agendamento usado pelo pool. Só tem efeito antes do primeiro
+     * agendamento.
+     *
+     * @param motor Motor de agendamento usado pelo pool.
+     */
+    public void setMotor(SchedulerEnum motor) {
+        this.motor = motor;
+    }
+
+    /**
+     * Resolução dos motores baseados em roda de tempo, isto é, a duração de um
+     * tick. Disparos acontecem com até um tick de atraso. O motor
+     * {@link SchedulerEnum#EXECUTOR} não usa ticks e dispara com a precisão do
+     * relógio do sistema.
+     *
+     * @param unidade Unidade de tempo desejada.
+     * @return Resolução dos motores baseados em roda de tempo.
+     */
+    public long getResolucao(TimeUnit unidade) {
+        return unidade.convert(resolucaoNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Resolução dos motores baseados em roda de tempo. Valores menores
+     * permitem intervalos mais curtos ao custo de acordar a thread de disparo
+     * com mais frequência. Só tem efeito antes do primeiro agendamento.
+     *
+     * @param resolucao Duração de um tick da roda de tempo.
+     * @param unidade Unidade de tempo da resolução.
+     */
+    public void setResolucao(long resolucao, TimeUnit unidade) {
+        this.resolucaoNanos = unidade.toNanos(resolucao);
+    }
+
+    /**
+     * Número máximo de execuções únicas agendadas e ainda não iniciadas no
+     * pool. Sem limite por padrão.
+     *
+     * @return Número máximo de execuções únicas pendentes.
+     */
+    public int getCapacidade() {
+        return capacidade;
+    }
+
+    /**
+     * Número máximo de execuções únicas agendadas e ainda não iniciadas no
+     * pool. Ao atingir o limite, novas execuções únicas seguem a política de
+     * rejeição do pool. Processos repetitivos não são limitados. Só tem efeito
+     * antes do primeiro agendamento.
+     *
+     * @param capacidade Número máximo de execuções únicas pendentes.
+     */
+    public void setCapacidade(int capacidade) {
+        if (capacidade <= 0) {
+            throw new IllegalArgumentException(
+                    "A capacidade deve ser maior que zero: " + capacidade);
+        }
+        this.capacidade = capacidade;
+    }
+
+    /**
+     * Fonte de tempo dos disparos do pool e das medições dos seus processos.
+     *
+     * @return O relógio do sistema, ou o relógio virtual de uma
+     * {@link Simulacao}.
+     */
+    public Relogio getRelogio() {
+        return relogio;
+    }
+
+    /**
+     * Indica se o pool distribui ao longo do intervalo o primeiro disparo dos
+     * processos periódicos e sequenciais sem dispersão própria.
+     *
+     * @return Verdadeiro com suavização.
+     */
+    public boolean isSuavizacao() {
+        return suavizacao;
+    }
+
+    /**
+     * Distribui ao longo do intervalo o primeiro disparo dos processos
+     * {@link RepetitionEnum#PERIODIC} e {@link RepetitionEnum#SEQUENTIAL} com
+     * {@link SpreadEnum#NONE}, somando ao atraso de cada um uma fase da
+     * sequência da razão áurea. Processos com o mesmo intervalo recebem fases
+     * bem espaçadas qualquer que seja a quantidade deles, achatando os picos
+     * de carga. Desligada por padrão; afeta apenas os processos executados
+     * depois da alteração.
+     *
+     * @param suavizacao Verdadeiro para suavizar os disparos.
+     * @see LoopProcess#setDispersao(SpreadEnum)
+     */
+    public void setSuavizacao(boolean suavizacao) {
+        this.suavizacao = suavizacao;
+    }
+
+    /**
+     * Próxima fase da sequência dos processos com o intervalo informado.
+     *
+     * @param intervaloNanos Intervalo do processo.
+     * @param limite Limite exclusivo da fase.
+     * @return Fase do primeiro disparo, em nanossegundos.
+     */
+    long proximaFase(long intervaloNanos, long limite) {
+        AtomicLong contador = fases.get(intervaloNanos);
+        if (contador == null) {
+            AtomicLong novo = new AtomicLong();
+            contador = fases.putIfAbsent(intervaloNanos, novo);
+            if (contador == null) {
+                contador = novo;
+            }
+        }
+        return fracao(contador.getAndIncrement(), limite);
+    }
+
+    /**
+     * Fração de um limite dada pelo múltiplo da razão áurea de uma semente:
+     * sementes consecutivas ficam bem espaçadas em qualquer quantidade.
+     *
+     * @param semente Índice na sequência ou valor a espalhar.
+     * @param limite Limite exclusivo do resultado, maior que zero.
+     * @return Valor entre zero e o limite.
+     */
+    static long fracao(long semente, long limite) {
+        double fracao = ((semente * 0x9E3779B97F4A7C15L) >>> 11) * 0x1.0p-53;
+        return Math.min((long) (fracao * limite), limite - 1);
+    }
+
+    /**
+     * Indica se as tarefas vencidas aguardando thread são executadas por
+     * ordem de prioridade em vez da ordem de disparo.
+     *
+     * @return Verdadeiro com despacho por prioridade.
+     */
+    public boolean isDespachoPorPrioridade() {
+        return despachoPorPrioridade;
+    }
+
+    /**
+     * Executa as tarefas vencidas aguardando thread por ordem de
+     * {@link LoopProcess#setPrioridade(int) prioridade} e, dentro da mesma
+     * prioridade, de {@link LoopProcess#setPrazo(long, TimeUnit) prazo}. Só
+     * faz diferença com o pool saturado e só tem efeito antes do primeiro
+     * agendamento. Desligado por padrão.
+     *
+     * @param despachoPorPrioridade Verdadeiro para despachar por prioridade.
+     */
+    public void setDespachoPorPrioridade(boolean despachoPorPrioridade) {
+        this.despachoPorPrioridade = despachoPorPrioridade;
+    }
+
+    /**
+     * Tempo de espera que equivale a um nível de prioridade no despacho por
+     * prioridade.
+     *
+     * @param unidade Unidade de tempo desejada.
+     * @return Envelhecimento por nível de prioridade.
+     */
+    public long getEnvelhecimento(TimeUnit unidade) {
+        return unidade.convert(envelhecimentoNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Tempo de espera que equivale a um nível de prioridade no despacho por
+     * prioridade: uma tarefa vencida há mais tempo que este passa à frente
+     * das tarefas um nível mais prioritárias que venceram depois dela, o que
+     * impede que processos de baixa prioridade fiquem sem executar. O padrão
+     * é de 100 milissegundos. Só tem efeito antes do primeiro agendamento.
+     *
+     * @param envelhecimento Envelhecimento por nível de prioridade.
+     * @param unidade Unidade de tempo do envelhecimento.
+     */
+    public void setEnvelhecimento(long envelhecimento, TimeUnit unidade) {
+        if (envelhecimento <= 0) {
+            throw new IllegalArgumentException(
+                    "O envelhecimento deve ser maior que zero: "
+                    + envelhecimento);
+        }
+        this.envelhecimentoNanos = unidade.toNanos(envelhecimento);
+    }
+
+    /**
+     * Política aplicada às execuções únicas que excedem a capacidade do pool.
+     *
+     * @return Política de rejeição do pool.
+     */
+    public RejectionEnum getRejeicao() {
+        return rejeicao;
+    }
+
+    /**
+     * Política aplicada às execuções únicas que excedem a capacidade do pool.
+     * Os valores possíveis são {@link RejectionEnum#FAIL_FAST}, padrão;
+     * {@link RejectionEnum#BLOCK}, que aguarda uma vaga por até
+     * {@link #getEsperaMaxima(TimeUnit)}; {@link RejectionEnum#CALLER_RUNS};
+     * ou, {@link RejectionEnum#DROP_OLDEST}. Só tem efeito antes do primeiro
+     * agendamento.
+     *
+     * @param rejeicao Política de rejeição do pool.
+     */
+    public void setRejeicao(RejectionEnum rejeicao) {
+        this.rejeicao = rejeicao;
+    }
+
+    /**
+     * Tempo máximo que a política {@link RejectionEnum#BLOCK} aguarda uma
+     * vaga antes de rejeitar a execução.
+     *
+     * @param unidade Unidade de tempo desejada.
+     * @return Tempo máximo de espera por uma vaga.
+     */
+    public long getEsperaMaxima(TimeUnit unidade) {
+        return unidade.convert(esperaMaximaNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Tempo máximo que a política {@link RejectionEnum#BLOCK} aguarda uma
+     * vaga antes de rejeitar a execução. Só tem efeito antes do primeiro
+     * agendamento.
+     *
+     * @param espera Tempo máximo de espera por uma vaga.
+     * @param unidade Unidade de tempo da espera.
+     */
+    public void setEsperaMaxima(long espera, TimeUnit unidade) {
+        this.esperaMaximaNanos = unidade.toNanos(espera);
+    }
+
+    /**
+     * Número de execuções únicas agendadas e ainda não iniciadas no pool.
+     *
+     * @return Número de execuções únicas pendentes.
+     */
+    public int getPendentes() {
+        ControleDeAdmissao atual = admissao;
+        return atual == null ? 0 : atual.getPendentes();
+    }
+
+    /**
+     * Diário durável dos agendamentos dos processos deste pool.
+     *
+     * @return Diário do pool, ou nulo se os agendamentos não forem gravados.
+     */
+    public DiarioDeAgendamentos getDiario() {
+        return diario;
+    }
+
+    /**
+     * Grava os agendamentos, execuções e interrupções dos processos deste
+     * pool no diário informado, que pode ser compartilhado entre pools. Ao
+     * reiniciar a aplicação com o mesmo diário, cada processo executado pelo
+     * pool retoma a última execução gravada e aplica
+     * {@link #getDisparosPerdidos()}.
+     *
+     * @param diario Diário dos agendamentos, ou nulo para não gravar.
+     */
+    public void setDiario(DiarioDeAgendamentos diario) {
+        this.diario = diario;
+    }
+
+    /**
+     * Política aplicada aos disparos perdidos enquanto a aplicação esteve
+     * parada, para processos recuperados do diário.
+     *
+     * @return Política aplicada aos disparos perdidos.
+     */
+    public MisfireEnum getDisparosPerdidos() {
+        return disparosPerdidos;
+    }
+
+    /**
+     * Política aplicada aos disparos perdidos enquanto a aplicação esteve
+     * parada. Os valores possíveis são {@link MisfireEnum#FIRE_NOW}, padrão,
+     * que executa uma única vez em seguida e retoma o agendamento;
+     * {@link MisfireEnum#SKIP}, que aguarda o próximo disparo previsto; ou,
+     * {@link MisfireEnum#IGNORE}, que usa o atraso configurado como na
+     * primeira execução. Processos únicos pendentes retomam o atraso que
+     * faltava, disparando em seguida se já venceu.
+     *
+     * @param disparosPerdidos Política aplicada aos disparos perdidos.
+     */
+    public void setDisparosPerdidos(MisfireEnum disparosPerdidos) {
+        this.disparosPerdidos = disparosPerdidos;
+    }
+
+    /**
+     * Limitador de taxa e de execuções simultâneas aplicado a todos os
+     * processos do pool sem um limitador próprio.
+     *
+     * @return Limitador do pool, ou nulo se o pool não for limitado.
+     */
+    public Limitador getLimitador() {
+        return limitador;
+    }
+
+    /**
+     * Limitador de taxa e de execuções simultâneas aplicado a todos os
+     * processos do pool sem um limitador próprio, definido por
+     * {@link #limitar(Limitador, String...)}. Vale para os agendamentos
+     * feitos depois da chamada.
+     *
+     * @param limitador Limitador do pool, ou nulo para remover o limite.
+     */
+    public void setLimitador(Limitador limitador) {
+        this.limitador = limitador;
+    }
+
+    /**
+     * Aplica o limitador aos processos do pool com os nomes indicados, no
+     * lugar do limitador do pool. Um mesmo limitador pode ser aplicado a
+     * processos de vários pools, que passam a dividir o mesmo limite. Vale
+     * para os agendamentos feitos depois da chamada.
+     *
+     * @param limitador Limitador do grupo, ou nulo para remover o limitador
+     * próprio dos processos.
+     * @param processos Nomes dos processos, conforme
+     * {@link LoopProcess#getNome()}.
+     */
+    public void limitar(Limitador limitador, String... processos) {
+        for (String processo : processos) {
+            if (limitador == null) {
+                limitadores.remove(processo);
+            } else {
+                limitadores.put(processo, limitador);
+            }
+        }
+    }
+
+    /**
+     * Limitador aplicado ao processo com o nome indicado.
+     *
+     * @param processo Nome do processo.
+     * @return Limitador próprio do processo, o limitador do pool, ou nulo.
+     */
+    public Limitador getLimitador(String processo) {
+        Limitador proprio = processo == null ? null
+                : limitadores.get(processo);
+        return proprio != null ? proprio : limitador;
+    }
+
+    /**
+     * Métricas agregadas das execuções de processos neste pool.
+     *
+     * @return Métricas agregadas das execuções de processos neste pool.
+     */
+    public MetricasDeExecucao getMetricas() {
+        return metricas;
+    }
+
+    /**
+     * Publica as métricas do pool via JMX com o nome
+     * "com.fabriciojf.threadpool:type=PoolDeThreads,name=...". Chamado na
+     * primeira execução de um {@link LoopProcess} no pool; chamadas seguintes
+     * não têm efeito.
+     *
+     * @param nome Nome do pool no {@link Multiton}.
+     */
+    public void publicarMetricas(String nome) {
+        if (metricasPublicadas.get()
+                || !metricasPublicadas.compareAndSet(false, true)) {
+            return;
+        }
+        metricas.setNome(nome);
+        metricas.registrarJmx(
+                "type=PoolDeThreads,name=" + ObjectName.quote(nome));
+    }
+
+    /**
+     * Cópia das métricas de todos os pools de threads registrados no
+     * {@link Multiton}, própria para coleta periódica por ferramentas de
+     * monitoração.
+     *
+     * @return Cópia das métricas de cada pool registrado.
+     */
+    public static List<MetricasInstantaneas> obterMetricas() {
+        List<MetricasInstantaneas> resultado
+                = new ArrayList<MetricasInstantaneas>();
+        Multiton multiton = Multiton.getInstance();
+        for (String nome : multiton.obterInstancias(PoolDeThreads.class)) {
+            if (multiton.existe(nome, PoolDeThreads.class)) {
+                PoolDeThreads pool = multiton.obter(nome, PoolDeThreads.class);
+                pool.getMetricas().setNome(nome);
+                resultado.add(pool.getMetricas().getInstantaneo());
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Instância do motor de agendamento de processos. O motor é criado no
+     * primeiro acesso conforme {@link #getMotor()} e
+     * {@link #getMaximoDeThreads()}, ou {@link #getMinimoDeThreads()} em
+     * pools elásticos. Depois de criado o motor é lido sem trava, de modo
+     * que agendar em um pool particionado não passa por nenhum monitor do
+     * pool.
+     *
+     * @return Instância do motor de agendamento de processos.
+     */
+    public SchedulerEngine getAgendador() {
+        SchedulerEngine atual = agendador;
+        if (atual != null && admissao != null) {
+            return atual;
+        }
+        return criarAgendador();
+    }
+
+    /**
+     * Cria o motor e o controle de admissão no primeiro acesso. O motor é
+     * publicado por último, já configurado.
+     */
+    private synchronized SchedulerEngine criarAgendador() {
+        if (admissao == null) {
+            admissao = new ControleDeAdmissao(capacidade, rejeicao,
+                    esperaMaximaNanos, metricas);
+        }
+        if (agendador == null) {
+            SchedulerEngine novo;
+            int threads = getThreadsIniciais();
+            if (particoes > 1) {
+                AbstractSchedulerEngine[] motores
+                        = new AbstractSchedulerEngine[particoes];
+                ExecutorComRoubo[] grupo = rouboDeTarefas
+                        && getMotor() == SchedulerEnum.TIMING_WHEEL
+                        ? new ExecutorComRoubo[particoes] : null;
+                for (int i = 0; i < particoes; i++) {
+                    int parte = Math.max(1, threads / particoes
+                            + (i < threads % particoes ? 1 : 0));
+                    motores[i] = criarMotor(parte, grupo, i);
+                }
+                if (grupo != null) {
+                    for (ExecutorComRoubo executor : grupo) {
+                        executor.setGrupo(grupo);
+                    }
+                }
+                novo = new ShardedSchedulerEngine(motores);
+            } else {
+                novo = criarMotor(threads, null, 0);
+            }
+            if (isElastico()) {
+                AbstractSchedulerEngine motor = (AbstractSchedulerEngine) novo;
+                motor.redimensionar(threads, ociosidadeNanos);
+                dimensionamento = new DimensionamentoElastico(this, motor,
+                        amostragemNanos);
+                dimensionamento.iniciar();
+            }
+            agendador = novo;
+        }
+        return agendador;
+    }
+
+    /**
+     * Cria o motor de agendamento de uma partição conforme
+     * {@link #getMotor()}.
+     *
+     * @param threads Número de threads do motor.
+     * @param grupo Executores das partições que roubam tarefas entre si, ou
+     * nulo sem roubo de tarefas.
+     * @param indice Posição do motor no grupo.
+     * @return O motor de agendamento.
+     */
+    private AbstractSchedulerEngine criarMotor(int threads,
+            ExecutorComRoubo[] grupo, int indice) {
+        SchedulerEnum motor = getMotor();
+        if (motor == SchedulerEnum.VIRTUAL_THREADS
+                && !VirtualThreads.isDisponivel()) {
+            log.warn("Threads virtuais indisponíveis nesta JVM, "
+                    + "usando " + SchedulerEnum.TIMING_WHEEL);
+            motor = SchedulerEnum.TIMING_WHEEL;
+        }
+        switch (motor) {
+            case VIRTUAL_THREADS:
+                return new TimingWheelSchedulerEngine(
+                        new ThreadPerTaskExecutor(
+                                VirtualThreads.fabrica("PoolDeThreads-"),
+                                threads, ordem()),
+                        resolucaoNanos, TimeUnit.NANOSECONDS);
+            case TIMING_WHEEL:
+                ExecutorService trabalhadores;
+                if (grupo != null) {
+                    grupo[indice] = despachoPorPrioridade
+                            ? new ExecutorComRoubo(threads, filaPorPrioridade())
+                            : new ExecutorComRoubo(threads);
+                    trabalhadores = grupo[indice];
+                } else if (despachoPorPrioridade) {
+                    trabalhadores = executorPorPrioridade(threads);
+                } else {
+                    trabalhadores = Executors.newFixedThreadPool(threads);
+                }
+                return new TimingWheelSchedulerEngine(trabalhadores,
+                        resolucaoNanos, TimeUnit.NANOSECONDS);
+            default:
+            case EXECUTOR:
+                if (despachoPorPrioridade) {
+                    return new ExecutorSchedulerEngine(
+                            executorPorPrioridade(threads));
+                }
+                return new ExecutorSchedulerEngine(threads);
+        }
+    }
+
+    private OrdemDePrioridade ordem() {
+        return despachoPorPrioridade
+                ? new OrdemDePrioridade(envelhecimentoNanos) : null;
+    }
+
+    private BlockingQueue<Runnable> filaPorPrioridade() {
+        return ordem().criarFila();
+    }
+
+    private ExecutorService executorPorPrioridade(int threads) {
+        return new ThreadPoolExecutor(threads, threads, 0L,
+                TimeUnit.MILLISECONDS, filaPorPrioridade());
+    }
+
     /**
      * Instância do agendador de execução de processos. Por esta instância é
      * possível agendar processos para rodar uma única vez ou em períodos.
+     * Disponível apenas para o motor {@link SchedulerEnum#EXECUTOR}.
      *
      * @return Instância do agendador de execução de processos.
+     * @deprecated Utilize {@link #getAgendador()}.
      */
+    @Deprecated
     public ScheduledExecutorService getServico() {
-        if (servico == null) {
-            servico = Executors.newScheduledThreadPool(getMaximoDeThreads());
+        SchedulerEngine atual = getAgendador();
+        if (!(atual instanceof ExecutorSchedulerEngine)) {
+            throw new IllegalStateException(
+                    "Pool de threads sem executor agendado: " + getMotor());
         }
-        return servico;
+        return ((ExecutorSchedulerEngine) atual).getServico();
     }
 
     /**
@@ -79,7 +905,24 @@ public class PoolDeThreads {
      * @return O objeto para gerenciamento da execução do processo.
      */
     public Future<?> agendarUmaExecucao(Runnable processo, long atrasoEmSegundos) {
-        return getServico().schedule(processo, atrasoEmSegundos, TimeUnit.SECONDS);
+        return agendarUmaExecucao(processo, atrasoEmSegundos, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Executa uma única vez o processo indicado, respeitando a capacidade do
+     * pool.
+     *
+     * @param processo O processo a ser executado.
+     * @param atraso Tempo a esperar antes da execução.
+     * @param unidade Unidade de tempo do atraso.
+     * @return O objeto para gerenciamento da execução do processo.
+     * @throws java.util.concurrent.RejectedExecutionException Se a capacidade
+     * do pool estiver esgotada e a política de rejeição recusar a execução.
+     */
+    public Future<?> agendarUmaExecucao(Runnable processo, long atraso,
+            TimeUnit unidade) {
+        return agendar(new Agendamento(processo, RepetitionEnum.ONCE,
+                unidade.toNanos(atraso), 0));
     }
 
     /**
@@ -93,10 +936,28 @@ public class PoolDeThreads {
      */
     public Future<?> agendarPeriodo(
             Runnable processo, long atrasoEmSegundos, long intervaloEmSegundos) {
-        return getServico().scheduleAtFixedRate(processo, atrasoEmSegundos,
+        return agendarPeriodo(processo, atrasoEmSegundos,
                 intervaloEmSegundos, TimeUnit.SECONDS);
     }
 
+    /**
+     * Executa o processo em intervalo de tempo pré-definido. Os disparos
+     * seguem uma grade fixa a partir do primeiro, medida pelo relógio
+     * monotônico, de modo que execuções longas não acumulam desvio.
+     *
+     * @param processo O processo a ser executado.
+     * @param atraso Tempo a esperar antes da primeira execução.
+     * @param intervalo Tempo a considerar para a próxima execução do processo
+     * contando a partir do início da execução do processo atual.
+     * @param unidade Unidade de tempo do atraso e do intervalo.
+     * @return O objeto para gerenciamento da execução do processo.
+     */
+    public Future<?> agendarPeriodo(Runnable processo, long atraso,
+            long intervalo, TimeUnit unidade) {
+        return agendar(new Agendamento(processo, RepetitionEnum.PERIODIC,
+                unidade.toNanos(atraso), unidade.toNanos(intervalo)));
+    }
+
     /**
      * Executa o processo em sequencia.
      *
@@ -108,23 +969,136 @@ public class PoolDeThreads {
      */
     public Future<?> agendarSequencia(
             Runnable processo, long atrasoEmSegundos, long intervaloEmSegundos) {
-        return getServico().scheduleWithFixedDelay(processo, atrasoEmSegundos,
+        return agendarSequencia(processo, atrasoEmSegundos,
                 intervaloEmSegundos, TimeUnit.SECONDS);
     }
 
+    /**
+     * Executa o processo em sequencia.
+     *
+     * @param processo O processo a ser executado.
+     * @param atraso Tempo a esperar antes da primeira execução.
+     * @param intervalo Tempo a considerar para a próxima execução do processo
+     * contando a partir do fim da execução do processo atual.
+     * @param unidade Unidade de tempo do atraso e do intervalo.
+     * @return O objeto para gerenciamento da execução do processo.
+     */
+    public Future<?> agendarSequencia(Runnable processo, long atraso,
+            long intervalo, TimeUnit unidade) {
+        return agendar(new Agendamento(processo, RepetitionEnum.SEQUENTIAL,
+                unidade.toNanos(atraso), unidade.toNanos(intervalo)));
+    }
+
+    /**
+     * Executa o processo nos horários da expressão cron, sem verificações
+     * periódicas do relógio: cada disparo é agendado diretamente para o
+     * próximo horário calculado.
+     *
+     * @param processo O processo a ser executado.
+     * @param cron Expressão cron compilada.
+     * @return O objeto para gerenciamento da execução do processo.
+     * @throws IllegalArgumentException Se a expressão não tiver disparos.
+     */
+    public Future<?> agendarCron(Runnable processo, ExpressaoCron cron) {
+        Agendamento agendamento = new Agendamento(processo,
+                RepetitionEnum.CRON, 0, 0);
+        agendamento.cron = cron;
+        return agendar(agendamento);
+    }
+
+    /**
+     * Agenda o processo conforme a descrição completa do agendamento, usada
+     * por {@link LoopProcess} para as opções sem método público equivalente.
+     *
+     * @param agendamento A descrição do agendamento.
+     * @return O objeto para gerenciamento da execução do processo.
+     */
+    Future<?> agendar(Agendamento agendamento) {
+        AbstractSchedulerEngine atual = (AbstractSchedulerEngine) getAgendador();
+        if (agendamento.limitador == null) {
+            agendamento.limitador = getLimitador(agendamento.chave);
+        }
+        // uma substituta ocupa o lugar de uma execução já admitida
+        if (agendamento.repeticao == RepetitionEnum.ONCE
+                && agendamento.substituida == null) {
+            return admissao.agendar(atual, agendamento);
+        }
+        return atual.agendar(agendamento);
+    }
+
+    /**
+     * Agenda vários processos de uma só vez: as execuções únicas passam uma a
+     * uma pelo controle de capacidade, os agendamentos que substituem uma
+     * tarefa em andamento são trocados um a um e os demais são inseridos no
+     * motor em um único lote, uma vez por partição.
+     *
+     * @param agendamentos As descrições dos agendamentos.
+     * @param erros Recebe, na posição de cada agendamento recusado, o motivo
+     * da recusa.
+     * @return Os objetos de gerenciamento na ordem dos agendamentos, com nulo
+     * nas posições recusadas.
+     */
+    Future<?>[] agendarTodos(List<Agendamento> agendamentos,
+            RuntimeException[] erros) {
+        AbstractSchedulerEngine atual = (AbstractSchedulerEngine) getAgendador();
+        Future<?>[] handlers = new Future<?>[agendamentos.size()];
+        List<Agendamento> repetitivos = new ArrayList<Agendamento>(
+                handlers.length);
+        int[] posicoes = new int[handlers.length];
+        for (int i = 0; i < handlers.length; i++) {
+            Agendamento agendamento = agendamentos.get(i);
+            if (agendamento.limitador == null) {
+                agendamento.limitador = getLimitador(agendamento.chave);
+            }
+            if (agendamento.substituida != null) {
+                // a troca com a tarefa em andamento é feita uma a uma
+                try {
+                    handlers[i] = agendar(agendamento);
+                } catch (RuntimeException ex) {
+                    erros[i] = ex;
+                }
+                continue;
+            }
+            if (agendamento.repeticao != RepetitionEnum.ONCE) {
+                posicoes[repetitivos.size()] = i;
+                repetitivos.add(agendamento);
+                continue;
+            }
+            try {
+                handlers[i] = admissao.agendar(atual, agendamento);
+            } catch (RuntimeException ex) {
+                erros[i] = ex;
+            }
+        }
+        RuntimeException[] errosDoLote
+                = new RuntimeException[repetitivos.size()];
+        TarefaAgendada[] tarefas = atual.agendarTodos(repetitivos, errosDoLote);
+        for (int k = 0; k < tarefas.length; k++) {
+            handlers[posicoes[k]] = tarefas[k];
+            erros[posicoes[k]] = errosDoLote[k];
+        }
+        return handlers;
+    }
+
     /**
      * Encerra o pool de threads.
      *
      * @param desligarForcado Quando verdadeiro força a interrupção de threads
      * em andamento.
      */
-    public void shutdown(boolean desligarForcado) {
+    public synchronized void shutdown(boolean desligarForcado) {
+        if (agendador == null) {
+            return;
+        }
+        if (dimensionamento != null) {
+            dimensionamento.parar();
+        }
         if (desligarForcado) {
-            for (Runnable processo : servico.shutdownNow()) {
+            for (Runnable processo : agendador.shutdownNow()) {
                 log.warn("Processo interrompido: " + processo);
             }
         } else {
-            servico.shutdown();
+            agendador.shutdown();
         }
     }
 }
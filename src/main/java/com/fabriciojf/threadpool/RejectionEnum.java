@@ -0,0 +1,32 @@
+package com.fabriciojf.threadpool;
+
+/**
+ * What a pool with bounded capacity does when a ONCE execution arrives and
+ * the capacity is already taken by pending executions.
+ *
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+public enum RejectionEnum {
+
+    /**
+     * Wait up to the pool's maximum wait for a free slot, then reject
+     */
+    BLOCK,
+
+    /**
+     * Run the process right away in the thread that requested it
+     */
+    CALLER_RUNS,
+
+    /**
+     * Cancel the oldest pending execution to make room for the new one
+     */
+    DROP_OLDEST,
+
+    /**
+     * Reject the new execution immediately
+     */
+    FAIL_FAST,
+}
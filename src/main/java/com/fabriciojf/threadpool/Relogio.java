@@ -0,0 +1,62 @@
+package com.fabriciojf.threadpool;
+
+/**
+ * Fonte de tempo dos motores de agendamento e das medições dos processos. O
+ * relógio do {@link #SISTEMA sistema} é usado pelos pools comuns; uma
+ * {@link Simulacao} usa um relógio virtual que avança somente quando a
+ * simulação o faz andar, permitindo simular dias de agendamentos em poucos
+ * segundos.
+ *
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+public abstract class Relogio {
+
+    /**
+     * Relógio do sistema, conforme {@link System#nanoTime()} e
+     * {@link System#currentTimeMillis()}.
+     */
+    public static final Relogio SISTEMA = new Relogio() {
+        @Override
+        public long nanoTime() {
+            return System.nanoTime();
+        }
+
+        @Override
+        public long currentTimeMillis() {
+            return System.currentTimeMillis();
+        }
+
+        @Override
+        public String toString() {
+            return "SISTEMA";
+        }
+    };
+
+    /**
+     * Instante monotônico, em nanossegundos, com origem arbitrária. Serve
+     * apenas para medir intervalos, como {@link System#nanoTime()}.
+     *
+     * @return Instante atual em nanossegundos.
+     */
+    public abstract long nanoTime();
+
+    /**
+     * Horário de parede em milissegundos desde a época, como
+     * {@link System#currentTimeMillis()}.
+     *
+     * @return Horário atual em milissegundos.
+     */
+    public abstract long currentTimeMillis();
+
+    /**
+     * Chamado ao fim do corpo de cada execução síncrona de um processo, antes
+     * de medir o fim da execução. Um relógio virtual avança aqui a duração
+     * simulada da execução; o relógio do sistema não faz nada.
+     *
+     * @param processo O processo executado.
+     */
+    void executou(Object processo) {
+    }
+}
@@ -23,4 +23,10 @@ public enum RepetitionEnum {
      * Run in fixed times
      */
     SEQUENTIAL,
+
+    /**
+     * Run at the calendar times given by a cron expression, in the expression
+     * time zone
+     */
+    CRON,
 }
@@ -0,0 +1,69 @@
+package com.fabriciojf.threadpool;
+
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Motor de agendamento usado por um {@link PoolDeThreads}. O motor decide
+ * quando cada processo deve ser disparado e em qual thread ele será executado.
+ * Implementações podem ser escolhidas por pool através de
+ * {@link SchedulerEnum}.
+ *
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+public interface SchedulerEngine {
+
+    /**
+     * Executa uma única vez o processo indicado.
+     *
+     * @param processo O processo a ser executado.
+     * @param atraso Tempo a esperar antes da execução.
+     * @param unidade Unidade de tempo do atraso.
+     * @return O objeto para gerenciamento da execução do processo.
+     */
+    Future<?> agendarUmaExecucao(Runnable processo, long atraso,
+            TimeUnit unidade);
+
+    /**
+     * Executa o processo em intervalo de tempo pré-definido, contado a partir
+     * do início da execução anterior.
+     *
+     * @param processo O processo a ser executado.
+     * @param atraso Tempo a esperar antes da primeira execução.
+     * @param intervalo Intervalo entre o início de duas execuções.
+     * @param unidade Unidade de tempo do atraso e do intervalo.
+     * @return O objeto para gerenciamento da execução do processo.
+     */
+    Future<?> agendarPeriodo(Runnable processo, long atraso, long intervalo,
+            TimeUnit unidade);
+
+    /**
+     * Executa o processo em sequencia, contando o intervalo a partir do fim da
+     * execução anterior.
+     *
+     * @param processo O processo a ser executado.
+     * @param atraso Tempo a esperar antes da primeira execução.
+     * @param intervalo Intervalo entre o fim de uma execução e o início da
+     * próxima.
+     * @param unidade Unidade de tempo do atraso e do intervalo.
+     * @return O objeto para gerenciamento da execução do processo.
+     */
+    Future<?> agendarSequencia(Runnable processo, long atraso, long intervalo,
+            TimeUnit unidade);
+
+    /**
+     * Encerra o motor permitindo o término das execuções em andamento.
+     * Processos repetitivos não são mais reagendados.
+     */
+    void shutdown();
+
+    /**
+     * Encerra o motor interrompendo as execuções em andamento.
+     *
+     * @return Os processos que estavam agendados e não foram executados.
+     */
+    List<Runnable> shutdownNow();
+}
@@ -0,0 +1,27 @@
+package com.fabriciojf.threadpool;
+
+/**
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+public enum SchedulerEnum {
+
+    /**
+     * Scheduled thread pool executor, O(log n) to schedule and cancel
+     */
+    EXECUTOR,
+
+    /**
+     * Hierarchical timing wheel, O(1) to schedule and cancel with one tick
+     * of precision
+     */
+    TIMING_WHEEL,
+
+    /**
+     * Timing wheel core dispatching each run to a new virtual thread, with
+     * at most the pool's maximum number of threads running at once. Falls
+     * back to TIMING_WHEEL on JVMs without virtual threads
+     */
+    VIRTUAL_THREADS,
+}
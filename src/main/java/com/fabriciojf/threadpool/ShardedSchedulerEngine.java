@@ -0,0 +1,273 @@
+package com.fabriciojf.threadpool;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Motor de agendamento particionado. Cada processo é atribuído a uma das
+ * partições pelo hash do seu nome e passa a viver inteiramente nela:
+ * agendar, cancelar e disparar tocam apenas as estruturas de uma partição, de
+ * modo que a vazão cresce com o número de núcleos em vez de disputar uma
+ * única fila.
+ *
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+public class ShardedSchedulerEngine extends AbstractSchedulerEngine {
+
+    private final AbstractSchedulerEngine[] particoes;
+    private final ExecutorService executores = new Executores();
+
+    /**
+     * Instancia o motor sobre as partições informadas.
+     *
+     * @param particoes Motores de cada partição. São encerrados junto com
+     * este motor.
+     */
+    ShardedSchedulerEngine(AbstractSchedulerEngine[] particoes) {
+        if (particoes.length == 0) {
+            throw new IllegalArgumentException("Nenhuma partição informada");
+        }
+        this.particoes = particoes.clone();
+    }
+
+    /**
+     * Número de partições do motor.
+     *
+     * @return Número de partições do motor.
+     */
+    public int getParticoes() {
+        return particoes.length;
+    }
+
+    /**
+     * Partição de um processo com o nome informado.
+     *
+     * @param chave Nome do processo.
+     * @return Índice da partição do processo.
+     */
+    public int particao(String chave) {
+        return indice(chave.hashCode());
+    }
+
+    private int indice(int hash) {
+        hash ^= hash >>> 16;
+        return (hash & Integer.MAX_VALUE) % particoes.length;
+    }
+
+    /**
+     * Agenda o processo na partição do seu nome ou, sem nome, na partição
+     * indicada pela identidade do processo.
+     */
+    @Override
+    TarefaAgendada agendar(Agendamento agendamento) {
+        int hash = agendamento.chave != null
+                ? agendamento.chave.hashCode()
+                : System.identityHashCode(agendamento.processo);
+        return particoes[indice(hash)].agendar(agendamento);
+    }
+
+    /**
+     * Separa os agendamentos por partição e agenda cada grupo de uma só vez
+     * na sua partição.
+     */
+    @Override
+    TarefaAgendada[] agendarTodos(List<Agendamento> agendamentos,
+            RuntimeException[] erros) {
+        int[] indices = new int[agendamentos.size()];
+        int[] tamanhos = new int[particoes.length];
+        for (int i = 0; i < indices.length; i++) {
+            Agendamento agendamento = agendamentos.get(i);
+            indices[i] = indice(agendamento.chave != null
+                    ? agendamento.chave.hashCode()
+                    : System.identityHashCode(agendamento.processo));
+            tamanhos[indices[i]]++;
+        }
+        TarefaAgendada[] tarefas = new TarefaAgendada[indices.length];
+        for (int p = 0; p < particoes.length; p++) {
+            if (tamanhos[p] == 0) {
+                continue;
+            }
+            List<Agendamento> grupo = new ArrayList<Agendamento>(tamanhos[p]);
+            int[] posicoes = new int[tamanhos[p]];
+            for (int i = 0; i < indices.length; i++) {
+                if (indices[i] == p) {
+                    posicoes[grupo.size()] = i;
+                    grupo.add(agendamentos.get(i));
+                }
+            }
+            RuntimeException[] errosDoGrupo
+                    = new RuntimeException[grupo.size()];
+            TarefaAgendada[] criadas = particoes[p].agendarTodos(grupo,
+                    errosDoGrupo);
+            for (int k = 0; k < posicoes.length; k++) {
+                tarefas[posicoes[k]] = criadas[k];
+                erros[posicoes[k]] = errosDoGrupo[k];
+            }
+        }
+        return tarefas;
+    }
+
+    /**
+     * As tarefas pertencem sempre a uma partição, que as recebe.
+     */
+    @Override
+    void inserir(TarefaAgendada tarefa) {
+        tarefa.getMotor().inserir(tarefa);
+    }
+
+    @Override
+    void remover(TarefaAgendada tarefa) {
+        tarefa.getMotor().remover(tarefa);
+    }
+
+    @Override
+    boolean isDesligado() {
+        return particoes[0].isDesligado();
+    }
+
+    /**
+     * Executor que despacha cada tarefa no executor da sua partição.
+     */
+    @Override
+    ExecutorService getExecutor() {
+        return executores;
+    }
+
+    @Override
+    Relogio getRelogio() {
+        return particoes[0].getRelogio();
+    }
+
+    @Override
+    int getThreads() {
+        int total = 0;
+        for (AbstractSchedulerEngine particao : particoes) {
+            int threads = particao.getThreads();
+            if (threads < 0) {
+                return -1;
+            }
+            total += threads;
+        }
+        return total;
+    }
+
+    @Override
+    int getThreadsAtivas() {
+        int total = 0;
+        for (AbstractSchedulerEngine particao : particoes) {
+            total += particao.getThreadsAtivas();
+        }
+        return total;
+    }
+
+    @Override
+    int getProntas() {
+        int total = 0;
+        for (AbstractSchedulerEngine particao : particoes) {
+            total += particao.getProntas();
+        }
+        return total;
+    }
+
+    /**
+     * Distribui as threads igualmente entre as partições, com ao menos uma
+     * thread por partição.
+     */
+    @Override
+    boolean redimensionar(int threads, long ociosidadeNanos) {
+        boolean redimensionado = true;
+        for (int i = 0; i < particoes.length; i++) {
+            int parte = threads / particoes.length
+                    + (i < threads % particoes.length ? 1 : 0);
+            redimensionado &= particoes[i].redimensionar(Math.max(parte, 1),
+                    ociosidadeNanos);
+        }
+        return redimensionado;
+    }
+
+    @Override
+    public void shutdown() {
+        for (AbstractSchedulerEngine particao : particoes) {
+            particao.shutdown();
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        List<Runnable> naoExecutados = new ArrayList<Runnable>();
+        for (AbstractSchedulerEngine particao : particoes) {
+            naoExecutados.addAll(particao.shutdownNow());
+        }
+        return naoExecutados;
+    }
+
+    /**
+     * Executores de todas as partições vistos como um só. Uma
+     * {@link TarefaAgendada} vai para o executor do seu motor, e as demais
+     * tarefas para a partição indicada pela sua identidade.
+     */
+    private final class Executores extends AbstractExecutorService {
+
+        @Override
+        public void execute(Runnable tarefa) {
+            AbstractSchedulerEngine motor = tarefa instanceof TarefaAgendada
+                    ? ((TarefaAgendada) tarefa).getMotor()
+                    : particoes[indice(System.identityHashCode(tarefa))];
+            motor.getExecutor().execute(tarefa);
+        }
+
+        @Override
+        public void shutdown() {
+            for (AbstractSchedulerEngine particao : particoes) {
+                particao.getExecutor().shutdown();
+            }
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            List<Runnable> naoExecutados = new ArrayList<Runnable>();
+            for (AbstractSchedulerEngine particao : particoes) {
+                naoExecutados.addAll(particao.getExecutor().shutdownNow());
+            }
+            return naoExecutados;
+        }
+
+        @Override
+        public boolean isShutdown() {
+            for (AbstractSchedulerEngine particao : particoes) {
+                if (!particao.getExecutor().isShutdown()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            for (AbstractSchedulerEngine particao : particoes) {
+                if (!particao.getExecutor().isTerminated()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean awaitTermination(long tempo, TimeUnit unidade)
+                throws InterruptedException {
+            long limite = System.nanoTime() + unidade.toNanos(tempo);
+            for (AbstractSchedulerEngine particao : particoes) {
+                if (!particao.getExecutor().awaitTermination(
+                        limite - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.fabriciojf.threadpool;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Simulação determinística de pools de threads em tempo virtual, para
+ * planejamento de capacidade. Os pools registrados pela simulação usam um
+ * relógio virtual e um motor sem threads: {@link #avancar(long, TimeUnit)}
+ * executa, na thread que a chama e em ordem de tempo, todos os disparos do
+ * período, saltando diretamente de um disparo ao próximo. Uma semana com
+ * um milhão de disparos é simulada em cerca de um segundo de CPU.
+ *
+ * Os processos são executados de verdade, mas a duração de cada execução em
+ * tempo virtual é definida pela simulação com
+ * {@link #setDuracao(String, long, long, TimeUnit)}; com ela a simulação
+ * calcula a ocupação das threads, e as {@link PoolDeThreads#getMetricas()
+ * métricas dos pools} registram o atraso de cada disparo, as sobreposições e
+ * os disparos descartados ou recuperados como em produção.
+ *
+ * Para que a simulação seja reproduzível, os processos não devem usar o
+ * relógio do sistema nem depender de outras threads, e as durações sorteadas
+ * seguem a semente informada. Execuções assíncronas terminam quando o estágio
+ * for concluído, o despacho por prioridade e os tempos limite de execução
+ * não são simulados e a dispersão {@link SpreadEnum#RANDOM} não segue a
+ * semente.
+ *
+ * <pre>
+ * Simulacao simulacao = new Simulacao(inicio, 42);
+ * simulacao.registrar("monitores", 8);
+ * simulacao.setDuracaoPadrao(5, 50, TimeUnit.MILLISECONDS);
+ * // agenda os processos no pool "monitores" normalmente
+ * simulacao.avancar(7, TimeUnit.DAYS);
+ * System.out.println(simulacao);
+ * </pre>
+ *
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+public final class Simulacao {
+
+    private final Virtual relogio;
+    private final Random aleatorio;
+    private final Map<String, long[]> duracoes = new HashMap<String, long[]>();
+    private long[] duracaoPadrao = {0, 0};
+    private final List<String> nomes = new ArrayList<String>();
+    private final List<PoolDeThreads> pools = new ArrayList<PoolDeThreads>();
+    private final List<SimulatedSchedulerEngine> motores
+            = new ArrayList<SimulatedSchedulerEngine>();
+
+    /**
+     * Constrói uma simulação que começa no horário atual, com semente zero.
+     */
+    public Simulacao() {
+        this(System.currentTimeMillis(), 0);
+    }
+
+    /**
+     * Constrói uma simulação.
+     *
+     * @param inicioMillis Horário de parede do início da simulação, em
+     * milissegundos desde a época, usado pelos processos cron.
+     * @param semente Semente das durações sorteadas.
+     */
+    public Simulacao(long inicioMillis, long semente) {
+        this.relogio = new Virtual(inicioMillis);
+        this.aleatorio = new Random(semente);
+    }
+
+    /**
+     * Registra no {@link Multiton} um pool de threads simulado. Processos
+     * cujo {@link LoopProcess#getPoolDeThreads()} seja este nome passam a ser
+     * executados pela simulação.
+     *
+     * @param nome Nome do pool de threads.
+     * @param threads Número de threads simuladas do pool.
+     * @return O pool registrado.
+     */
+    public synchronized PoolDeThreads registrar(String nome, int threads) {
+        SimulatedSchedulerEngine motor
+                = new SimulatedSchedulerEngine(relogio, threads);
+        PoolDeThreads pool = new PoolDeThreads(threads, motor);
+        Multiton.getInstance().definir(nome, PoolDeThreads.class, pool);
+        nomes.add(nome);
+        pools.add(pool);
+        motores.add(motor);
+        return pool;
+    }
+
+    /**
+     * Relógio virtual da simulação.
+     *
+     * @return Relógio virtual compartilhado pelos pools simulados.
+     */
+    public Relogio getRelogio() {
+        return relogio;
+    }
+
+    /**
+     * Define a duração de cada execução do processo em tempo virtual.
+     *
+     * @param processo Nome do processo.
+     * @param duracao Duração de cada execução.
+     * @param unidade Unidade de tempo da duração.
+     */
+    public void setDuracao(String processo, long duracao, TimeUnit unidade) {
+        setDuracao(processo, duracao, duracao, unidade);
+    }
+
+    /**
+     * Define a duração de cada execução do processo em tempo virtual,
+     * sorteada uniformemente entre os limites informados.
+     *
+     * @param processo Nome do processo.
+     * @param minima Duração mínima de uma execução.
+     * @param maxima Duração máxima de uma execução.
+     * @param unidade Unidade de tempo das durações.
+     */
+    public synchronized void setDuracao(String processo, long minima,
+            long maxima, TimeUnit unidade) {
+        duracoes.put(processo, intervalo(minima, maxima, unidade));
+    }
+
+    /**
+     * Define a duração das execuções dos processos sem duração própria. O
+     * padrão é zero.
+     *
+     * @param minima Duração mínima de uma execução.
+     * @param maxima Duração máxima de uma execução.
+     * @param unidade Unidade de tempo das durações.
+     */
+    public synchronized void setDuracaoPadrao(long minima, long maxima,
+            TimeUnit unidade) {
+        duracaoPadrao = intervalo(minima, maxima, unidade);
+    }
+
+    private static long[] intervalo(long minima, long maxima,
+            TimeUnit unidade) {
+        if (minima < 0 || maxima < minima) {
+            throw new IllegalArgumentException(
+                    "Duração inválida: " + minima + " a " + maxima);
+        }
+        return new long[]{unidade.toNanos(minima), unidade.toNanos(maxima)};
+    }
+
+    private synchronized long sortearDuracao(Object processo) {
+        String nome = processo instanceof LoopProcess
+                ? ((LoopProcess) processo).getNome() : String.valueOf(processo);
+        long[] duracao = duracoes.get(nome);
+        if (duracao == null) {
+            duracao = duracaoPadrao;
+        }
+        long variacao = duracao[1] - duracao[0];
+        return variacao == 0 ? duracao[0]
+                : duracao[0] + (long) (aleatorio.nextDouble() * variacao);
+    }
+
+    /**
+     * Executa em ordem de tempo todos os disparos dos pools simulados até o
+     * fim do período, deixando o relógio virtual no fim do período.
+     *
+     * @param tempo Duração do período em tempo virtual.
+     * @param unidade Unidade de tempo do período.
+     */
+    public synchronized void avancar(long tempo, TimeUnit unidade) {
+        long fim = relogio.nanoTime() + unidade.toNanos(tempo);
+        while (true) {
+            SimulatedSchedulerEngine proximo = null;
+            long inicio = SimulatedSchedulerEngine.NENHUM;
+            for (SimulatedSchedulerEngine motor : motores) {
+                long candidato = motor.getProximoInicio();
+                if (candidato < inicio) {
+                    inicio = candidato;
+                    proximo = motor;
+                }
+            }
+            if (proximo == null || inicio > fim) {
+                break;
+            }
+            proximo.executarProxima();
+        }
+        relogio.ajustar(fim);
+    }
+
+    /**
+     * Tempo virtual decorrido desde o início da simulação.
+     *
+     * @param unidade Unidade de tempo desejada.
+     * @return Tempo simulado.
+     */
+    public long getTempoSimulado(TimeUnit unidade) {
+        return unidade.convert(relogio.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Número de disparos executados pela simulação em todos os pools.
+     *
+     * @return Número de disparos.
+     */
+    public synchronized long getDisparos() {
+        long total = 0;
+        for (SimulatedSchedulerEngine motor : motores) {
+            total += motor.getDisparos();
+        }
+        return total;
+    }
+
+    /**
+     * Fração do tempo simulado em que as threads do pool estiveram ocupadas.
+     *
+     * @param pool Nome de um pool registrado pela simulação.
+     * @return Ocupação entre zero e um.
+     */
+    public synchronized double getOcupacao(String pool) {
+        int indice = nomes.indexOf(pool);
+        if (indice < 0) {
+            throw new IllegalArgumentException("Pool não simulado: " + pool);
+        }
+        return ocupacao(motores.get(indice));
+    }
+
+    private double ocupacao(SimulatedSchedulerEngine motor) {
+        long decorrido = relogio.nanoTime();
+        return decorrido <= 0 ? 0 : Math.min(1.0, (double) motor
+                .getOcupadoNanos() / ((double) decorrido * motor.getThreads()));
+    }
+
+    /**
+     * Resumo da simulação: tempo simulado, disparos, e para cada pool a
+     * ocupação das threads e as métricas de atraso e sobreposição.
+     *
+     * @return Relatório da simulação.
+     */
+    @Override
+    public synchronized String toString() {
+        StringBuilder relatorio = new StringBuilder();
+        relatorio.append("Simulação de ")
+                .append(getTempoSimulado(TimeUnit.SECONDS)).append(" s: ")
+                .append(getDisparos()).append(" disparos");
+        for (int i = 0; i < pools.size(); i++) {
+            SimulatedSchedulerEngine motor = motores.get(i);
+            relatorio.append(String.format("%n  %s: threads=%d, "
+                    + "ocupacao=%.1f%%, agendadas=%d%n    ", nomes.get(i),
+                    motor.getThreads(), ocupacao(motor) * 100,
+                    motor.getAgendadas()))
+                    .append(pools.get(i).getMetricas().getInstantaneo());
+        }
+        return relatorio.toString();
+    }
+
+    /**
+     * Relógio virtual: o tempo só anda quando a simulação o ajusta para o
+     * início de uma execução ou quando uma execução termina, somando a
+     * duração simulada do processo.
+     */
+    final class Virtual extends Relogio {
+
+        private final long inicioMillis;
+        private volatile long agora;
+
+        Virtual(long inicioMillis) {
+            this.inicioMillis = inicioMillis;
+        }
+
+        @Override
+        public long nanoTime() {
+            return agora;
+        }
+
+        @Override
+        public long currentTimeMillis() {
+            return inicioMillis + TimeUnit.NANOSECONDS.toMillis(agora);
+        }
+
+        void ajustar(long instante) {
+            agora = instante;
+        }
+
+        @Override
+        void executou(Object processo) {
+            agora += sortearDuracao(processo);
+        }
+
+        @Override
+        public String toString() {
+            return "Simulacao";
+        }
+    }
+}
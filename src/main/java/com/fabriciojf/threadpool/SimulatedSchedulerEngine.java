@@ -0,0 +1,213 @@
+package com.fabriciojf.threadpool;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Motor de agendamento de uma {@link Simulacao}. Não possui threads: as
+ * tarefas ficam em uma fila de prioridade pelo instante em que ficam prontas
+ * e são executadas pela simulação, em tempo virtual, na thread que a faz
+ * avançar. As threads do pool são representadas apenas pelo instante em que
+ * cada uma fica livre, e cada execução ocupa a thread livre mais cedo pela
+ * duração simulada do processo, como em um executor de threads fixas com
+ * fila única.
+ *
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+final class SimulatedSchedulerEngine extends AbstractSchedulerEngine {
+
+    /**
+     * Indica que o motor não tem tarefas agendadas.
+     */
+    static final long NENHUM = Long.MAX_VALUE;
+
+    // ordena pelo instante em que a tarefa fica pronta, guardado no campo de
+    // encadeamento do motor
+    private static final Comparator<TarefaAgendada> ORDEM
+            = new Comparator<TarefaAgendada>() {
+        @Override
+        public int compare(TarefaAgendada uma, TarefaAgendada outra) {
+            long diferenca = uma.disparoTick - outra.disparoTick;
+            return diferenca < 0 ? -1 : (diferenca > 0 ? 1 : 0);
+        }
+    };
+
+    private final Simulacao.Virtual relogio;
+    private final PriorityQueue<TarefaAgendada> fila
+            = new PriorityQueue<TarefaAgendada>(1024, ORDEM);
+    // instante em que cada thread fica livre, em um heap de mínimo
+    private final long[] livres;
+    private volatile boolean desligado;
+    private long disparos;
+    private long ocupadoNanos;
+
+    SimulatedSchedulerEngine(Simulacao.Virtual relogio, int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException(
+                    "O número de threads deve ser maior que zero: " + threads);
+        }
+        this.relogio = relogio;
+        this.livres = new long[threads];
+        long agora = relogio.nanoTime();
+        for (int i = 0; i < threads; i++) {
+            livres[i] = agora;
+        }
+    }
+
+    @Override
+    Relogio getRelogio() {
+        return relogio;
+    }
+
+    @Override
+    ExecutorService getExecutor() {
+        return null;
+    }
+
+    @Override
+    int getThreads() {
+        return livres.length;
+    }
+
+    /**
+     * Uma tarefa inserida durante uma execução só fica pronta depois dela,
+     * mesmo que o disparo previsto já tenha passado.
+     */
+    @Override
+    synchronized void inserir(TarefaAgendada tarefa) {
+        if (desligado) {
+            throw new RejectedExecutionException("Motor encerrado");
+        }
+        tarefa.disparoTick = Math.max(tarefa.getDisparoNanos(),
+                relogio.nanoTime());
+        fila.add(tarefa);
+    }
+
+    @Override
+    synchronized void inserirTodos(List<TarefaAgendada> tarefas) {
+        for (TarefaAgendada tarefa : tarefas) {
+            inserir(tarefa);
+        }
+    }
+
+    /**
+     * Tarefas canceladas ficam na fila e são descartadas ao chegar à frente.
+     */
+    @Override
+    void remover(TarefaAgendada tarefa) {
+    }
+
+    /**
+     * Instante virtual em que a próxima tarefa começará a executar.
+     *
+     * @return Instante do próximo início, ou {@link #NENHUM}.
+     */
+    synchronized long getProximoInicio() {
+        TarefaAgendada topo;
+        while ((topo = fila.peek()) != null && topo.isDone()) {
+            fila.poll();
+        }
+        return topo == null ? NENHUM : Math.max(topo.disparoTick, livres[0]);
+    }
+
+    /**
+     * Executa a próxima tarefa na thread livre mais cedo, com o relógio no
+     * instante do início, e ocupa a thread até o instante em que o relógio
+     * estiver ao fim da execução.
+     */
+    synchronized void executarProxima() {
+        TarefaAgendada tarefa = fila.poll();
+        if (tarefa == null) {
+            return;
+        }
+        long inicio = Math.max(tarefa.disparoTick, livres[0]);
+        relogio.ajustar(inicio);
+        disparos++;
+        tarefa.run();
+        long fim = relogio.nanoTime();
+        if (fim > inicio) {
+            ocupadoNanos += fim - inicio;
+            livres[0] = fim;
+            descer();
+        }
+    }
+
+    private void descer() {
+        int i = 0;
+        while (true) {
+            int menor = i;
+            int esquerda = 2 * i + 1;
+            int direita = esquerda + 1;
+            if (esquerda < livres.length && livres[esquerda] < livres[menor]) {
+                menor = esquerda;
+            }
+            if (direita < livres.length && livres[direita] < livres[menor]) {
+                menor = direita;
+            }
+            if (menor == i) {
+                return;
+            }
+            long troca = livres[i];
+            livres[i] = livres[menor];
+            livres[menor] = troca;
+            i = menor;
+        }
+    }
+
+    /**
+     * Número de tarefas agendadas, incluídas as canceladas ainda na fila.
+     *
+     * @return Número de tarefas na fila.
+     */
+    synchronized int getAgendadas() {
+        return fila.size();
+    }
+
+    /**
+     * Número de tarefas retiradas da fila para execução, inclusive as que
+     * foram adiadas por um limitador.
+     *
+     * @return Número de disparos.
+     */
+    synchronized long getDisparos() {
+        return disparos;
+    }
+
+    /**
+     * Soma das durações simuladas das execuções.
+     *
+     * @return Tempo de threads ocupadas, em nanossegundos.
+     */
+    synchronized long getOcupadoNanos() {
+        return ocupadoNanos;
+    }
+
+    @Override
+    boolean isDesligado() {
+        return desligado;
+    }
+
+    @Override
+    public void shutdown() {
+        desligado = true;
+    }
+
+    @Override
+    public synchronized List<Runnable> shutdownNow() {
+        desligado = true;
+        List<Runnable> naoExecutados = new ArrayList<Runnable>();
+        TarefaAgendada tarefa;
+        while ((tarefa = fila.poll()) != null) {
+            if (tarefa.descartar()) {
+                naoExecutados.add(tarefa.getProcesso());
+            }
+        }
+        return naoExecutados;
+    }
+}
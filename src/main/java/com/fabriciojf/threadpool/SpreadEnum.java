@@ -0,0 +1,30 @@
+package com.fabriciojf.threadpool;
+
+/**
+ * How a {@link RepetitionEnum#PERIODIC} or {@link RepetitionEnum#SEQUENTIAL}
+ * process shifts its first fire within the interval, so that many processes
+ * with the same delay and interval do not fire on the same instant.
+ *
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+public enum SpreadEnum {
+
+    /**
+     * Fire after the configured delay, unless the pool smooths the phases of
+     * its processes
+     */
+    NONE,
+
+    /**
+     * Shift by an offset derived from the process name, the same on every
+     * start
+     */
+    HASH,
+
+    /**
+     * Shift by a random offset, different on every start
+     */
+    RANDOM,
+}
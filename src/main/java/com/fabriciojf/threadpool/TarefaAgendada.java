@@ -0,0 +1,1110 @@
+package com.fabriciojf.threadpool;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiConsumer;
+
+/**
+ * Agendamento de um processo em um {@link AbstractSchedulerEngine}. A tarefa é
+ * ao mesmo tempo o objeto de gerenciamento devolvido ao chamador e o item
+ * guardado nas estruturas internas do motor, evitando alocações a cada
+ * disparo. Os campos de encadeamento são manipulados exclusivamente pelo motor
+ * dono da tarefa.
+ *
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+class TarefaAgendada implements ScheduledFuture<Object>, Runnable {
+
+    static final int AGENDADA = 0;
+    static final int EXECUTANDO = 1;
+    static final int CONCLUIDA = 2;
+    static final int FALHOU = 3;
+    static final int CANCELADA = 4;
+
+    // ocupa a vaga de uma execução simultânea assíncrona; nunca é iniciada
+    private static final Thread ASSINCRONA = new Thread("assincrona");
+
+    private final AbstractSchedulerEngine motor;
+    private final Relogio relogio;
+    private final Agendamento agendamento;
+    private final Runnable processo;
+    private final Disparavel disparavel;
+    private final Limitador limitador;
+    private final RepetitionEnum repeticao;
+    private final long intervaloNanos;
+    private final AtomicInteger estado = new AtomicInteger(AGENDADA);
+    private final AtomicReferenceArray<Thread> executores;
+    private final AtomicInteger emExecucao = new AtomicInteger();
+    // ímpar durante uma execução vigiada; o vigia ou a própria execução a
+    // encerra, quem avançar primeiro
+    private final AtomicLong execucao = new AtomicLong();
+    private final AtomicLongArray limitesSimultaneas;
+    // entradas no vigia, nulas sem tempo limite vigiado
+    private final VigiaDeExecucoes.Prazo prazo;
+    private final VigiaDeExecucoes.Prazo[] prazosSimultaneas;
+    // tarefa que assume o agendamento, veja substituir
+    private final AtomicReference<TarefaAgendada> sucessora
+            = new AtomicReference<TarefaAgendada>();
+    // tarefa substituída que ainda não entregou o agendamento a esta
+    private volatile TarefaAgendada antecessora;
+
+    private volatile long disparoNanos;
+    private volatile long gradeNanos;
+    private volatile Throwable falha;
+    private volatile CompletionStage<?> estagioAtual;
+    private volatile long limiteNanos;
+    // thread de uma execução encerrada pelo vigia que ainda não retornou
+    private volatile Thread abandonada;
+    // instante a partir do qual o próximo intervalo é contado
+    private volatile long ancoraNanos;
+    private volatile boolean disparada;
+    private Conclusao conclusao;
+    private long cronMillis;
+    // ficha do limitador já reservada para o próximo disparo
+    private boolean fichaReservada;
+
+    // encadeamento usado pelo motor, sem alocação por disparo
+    TarefaAgendada anterior;
+    TarefaAgendada proxima;
+    TarefaAgendada proximaNaFila;
+    TarefaAgendada proximaCancelada;
+    Object balde;
+    long disparoTick;
+    Object gatilho;
+    // limite de despacho fixado pela OrdemDePrioridade ao entrar na fila
+    long limiteNaFila;
+
+    TarefaAgendada(AbstractSchedulerEngine motor, Agendamento agendamento,
+            long disparoNanos) {
+        this.motor = motor;
+        this.relogio = motor.getRelogio();
+        this.agendamento = agendamento;
+        this.processo = agendamento.processo;
+        this.disparavel = processo instanceof Disparavel
+                ? (Disparavel) processo : null;
+        this.repeticao = agendamento.repeticao;
+        this.limitador = agendamento.limitador;
+        this.intervaloNanos = agendamento.intervaloNanos;
+        this.executores = new AtomicReferenceArray<Thread>(
+                isSimultanea() ? agendamento.execucoesSimultaneas : 1);
+        this.disparoNanos = disparoNanos;
+        this.gradeNanos = disparoNanos;
+        this.limitesSimultaneas = isSimultanea()
+                && agendamento.tempoLimiteNanos > 0
+                ? new AtomicLongArray(agendamento.execucoesSimultaneas) : null;
+        // o vigia acompanha o relógio do sistema
+        boolean vigiada = agendamento.tempoLimiteNanos > 0
+                && relogio == Relogio.SISTEMA;
+        this.prazo = vigiada && !isSimultanea()
+                ? new VigiaDeExecucoes.Prazo(this) : null;
+        this.prazosSimultaneas = vigiada && isSimultanea()
+                ? new VigiaDeExecucoes.Prazo[agendamento.execucoesSimultaneas]
+                : null;
+        if (prazosSimultaneas != null) {
+            for (int i = 0; i < prazosSimultaneas.length; i++) {
+                prazosSimultaneas[i] = new VigiaDeExecucoes.Prazo(this);
+            }
+        }
+    }
+
+    /**
+     * Motor em que a tarefa está agendada.
+     *
+     * @return Motor da tarefa, a partição no caso de motores particionados.
+     */
+    AbstractSchedulerEngine getMotor() {
+        return motor;
+    }
+
+    /**
+     * Processo executado por esta tarefa.
+     *
+     * @return Processo executado por esta tarefa.
+     */
+    Runnable getProcesso() {
+        return processo;
+    }
+
+    /**
+     * Prioridade de despacho do processo, maior é mais urgente.
+     *
+     * @return Prioridade de despacho.
+     */
+    int getPrioridade() {
+        return agendamento.prioridade;
+    }
+
+    /**
+     * Prazo para o início de cada execução contado do instante previsto.
+     *
+     * @return Prazo em nanossegundos, ou zero se não houver prazo.
+     */
+    long getPrazoNanos() {
+        return agendamento.prazoNanos;
+    }
+
+    /**
+     * Instante monotônico, em nanossegundos, do próximo disparo.
+     *
+     * @return Instante do próximo disparo conforme {@link System#nanoTime()}.
+     */
+    long getDisparoNanos() {
+        return disparoNanos;
+    }
+
+    private boolean isSimultanea() {
+        return repeticao == RepetitionEnum.PERIODIC
+                && agendamento.sobreposicao == OverrunEnum.CONCURRENT;
+    }
+
+    /**
+     * Executa o processo caso a tarefa ainda esteja agendada e, para processos
+     * repetitivos, devolve a tarefa ao motor com o próximo disparo calculado
+     * conforme a {@link OverrunEnum política de sobreposição}. Uma exceção
+     * lançada pelo processo encerra o agendamento, assim como acontece com o
+     * {@link java.util.concurrent.ScheduledExecutorService}.
+     */
+    @Override
+    public void run() {
+        if (repeticao != RepetitionEnum.ONCE && motor.isDesligado()) {
+            descartar();
+            return;
+        }
+        if (isSimultanea()) {
+            executarSimultanea();
+            return;
+        }
+        if (limitador != null && !permitir()) {
+            return;
+        }
+        if (!estado.compareAndSet(AGENDADA, EXECUTANDO)) {
+            liberarLimitador();
+            return;
+        }
+        liberarAdmissao();
+        if (abandonada != null) {
+            // uma execução encerrada pelo vigia ainda prende uma thread
+            registrarDescartes(1);
+            liberarLimitador();
+            reagendar(0);
+            return;
+        }
+        emExecucao.incrementAndGet();
+        if (estado.get() == CANCELADA) {
+            // cancelada antes de começar por quem ainda não via a execução
+            emExecucao.decrementAndGet();
+            liberarLimitador();
+            verificarSucessora();
+            return;
+        }
+        verificarPrazo(disparoNanos);
+        ancoraNanos = gradeNanos;
+        disparada = true;
+        Thread atual = Thread.currentThread();
+        executores.set(0, atual);
+        long vez = abrirExecucao();
+        CompletionStage<?> estagio = null;
+        Throwable erro = null;
+        try {
+            estagio = iniciar(disparoNanos);
+        } catch (Throwable ex) {
+            erro = ex;
+        }
+        executores.compareAndSet(0, atual, null);
+        if (vez >= 0 && execucao.get() != vez) {
+            // o vigia já encerrou esta execução pelo tempo limite
+            abandonada = null;
+            cancelarEstagio(estagio);
+            return;
+        }
+        if (estagio != null && erro == null) {
+            // a execução só termina com a conclusão do estágio
+            estagioAtual = estagio;
+            estagio.whenComplete(getConclusao(vez));
+            if (vez >= 0 && execucao.get() != vez) {
+                cancelarEstagio(estagio);
+            }
+            return;
+        }
+        if (!fecharExecucao(vez)) {
+            abandonada = null;
+            return;
+        }
+        emExecucao.decrementAndGet();
+        liberarLimitador();
+        if (erro != null) {
+            falhar(erro);
+        } else {
+            reagendar(0);
+        }
+    }
+
+    /**
+     * Marca o início de uma execução vigiada, com o limite calculado a partir
+     * de agora.
+     *
+     * @return Identificação da execução, ou -1 se o processo não tem tempo
+     * limite.
+     */
+    private long abrirExecucao() {
+        long tempoLimite = agendamento.tempoLimiteNanos;
+        if (tempoLimite <= 0) {
+            return -1;
+        }
+        long limite = relogio.nanoTime() + tempoLimite;
+        limiteNanos = limite;
+        long vez = execucao.incrementAndGet();
+        if (prazo != null) {
+            VigiaDeExecucoes.vigiar(prazo, limite);
+        }
+        return vez;
+    }
+
+    /**
+     * Encerra a execução informada, a menos que o vigia já a tenha
+     * encerrado.
+     *
+     * @return Falso se a execução já foi encerrada pelo vigia.
+     */
+    private boolean fecharExecucao(long vez) {
+        if (vez < 0) {
+            return true;
+        }
+        if (!execucao.compareAndSet(vez, vez + 1)) {
+            return false;
+        }
+        if (prazo != null) {
+            VigiaDeExecucoes.liberar(prazo);
+        }
+        return true;
+    }
+
+    private static void cancelarEstagio(CompletionStage<?> estagio) {
+        if (estagio instanceof Future) {
+            ((Future<?>) estagio).cancel(true);
+        }
+    }
+
+    /**
+     * Compara o limite da execução em andamento com o instante informado e,
+     * se ele foi ultrapassado, interrompe a execução e aplica a
+     * {@link TimeoutEnum ação configurada}. Chamado somente pelo
+     * {@link VigiaDeExecucoes}.
+     *
+     * @param agora Instante atual, conforme {@link System#nanoTime()}.
+     */
+    void verificarTempoLimite(long agora) {
+        if (limitesSimultaneas != null) {
+            verificarSimultaneas(agora);
+            return;
+        }
+        long vez = execucao.get();
+        if ((vez & 1) == 0 || agora - limiteNanos < 0
+                || !execucao.compareAndSet(vez, vez + 1)) {
+            return;
+        }
+        Thread thread = executores.get(0);
+        if (thread != null && thread != ASSINCRONA) {
+            // marcada antes de liberar a vaga: a thread desmarca ao retornar
+            abandonada = thread;
+            if (executores.compareAndSet(0, thread, null)) {
+                thread.interrupt();
+            } else {
+                abandonada = null;
+            }
+        }
+        CompletionStage<?> estagio = estagioAtual;
+        estagioAtual = null;
+        cancelarEstagio(estagio);
+        emExecucao.decrementAndGet();
+        liberarLimitador();
+        expirar();
+    }
+
+    private void verificarSimultaneas(long agora) {
+        for (int i = 0; i < limitesSimultaneas.length(); i++) {
+            long limite = limitesSimultaneas.get(i);
+            if (limite == 0 || agora - limite < 0
+                    || !limitesSimultaneas.compareAndSet(i, limite, 0)) {
+                continue;
+            }
+            // a vaga só é liberada quando a execução retornar
+            Thread thread = executores.get(i);
+            if (thread != null && thread != ASSINCRONA) {
+                thread.interrupt();
+            }
+            registrarExpiracao();
+            log(TimeoutEnum.RESCHEDULE);
+            if (agendamento.acaoNoTempoLimite == TimeoutEnum.QUARANTINE) {
+                falhar(new TimeoutException("Processo " + this
+                        + " em quarentena por exceder o tempo limite"));
+            }
+        }
+    }
+
+    /**
+     * Aplica a ação configurada a uma execução encerrada pelo vigia.
+     */
+    private void expirar() {
+        registrarExpiracao();
+        TimeoutEnum acao = agendamento.acaoNoTempoLimite;
+        if (repeticao == RepetitionEnum.ONCE) {
+            falhar(new TimeoutException("Processo " + this
+                    + " excedeu o tempo limite"));
+            return;
+        }
+        log(acao);
+        switch (acao) {
+            case QUARANTINE:
+                falhar(new TimeoutException("Processo " + this
+                        + " em quarentena por exceder o tempo limite"));
+                break;
+            case SKIP:
+                reagendar(1);
+                break;
+            default:
+            case RESCHEDULE:
+                reagendar(0);
+                break;
+        }
+    }
+
+    private void log(TimeoutEnum acao) {
+        VigiaDeExecucoes.log.warn("Execução do processo {} interrompida por "
+                + "exceder o tempo limite de {} ms: {}", this,
+                TimeUnit.NANOSECONDS.toMillis(agendamento.tempoLimiteNanos),
+                acao);
+    }
+
+    /**
+     * Consulta o limitador antes do disparo. Um disparo sem ficha reserva a
+     * próxima e volta ao motor para o instante dela; um disparo sem vaga
+     * aguarda no limitador com a ficha já reservada. Em ambos os casos a
+     * thread é liberada.
+     *
+     * @return Verdadeiro se o disparo foi permitido.
+     */
+    private boolean permitir() {
+        if (estado.get() != AGENDADA) {
+            return false;
+        }
+        if (!fichaReservada) {
+            long agora = relogio.nanoTime();
+            long espera = limitador.reservarFicha(agora);
+            fichaReservada = true;
+            if (espera > 0) {
+                registrarLimitacao();
+                disparoNanos = agora + espera;
+                reinserir();
+                return false;
+            }
+        }
+        if (!limitador.reservarVaga()) {
+            registrarLimitacao();
+            limitador.aguardarVaga(this);
+            return false;
+        }
+        fichaReservada = false;
+        return true;
+    }
+
+    private boolean permitirSimultanea(long agora) {
+        if (!limitador.reservarVaga()) {
+            return false;
+        }
+        if (!limitador.consumirFicha(agora)) {
+            limitador.liberar();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Devolve ao motor, para disparo imediato, uma tarefa que aguardava vaga
+     * no limitador.
+     *
+     * @return Falso se a tarefa não está mais agendada.
+     */
+    boolean retomar() {
+        if (estado.get() != AGENDADA) {
+            return false;
+        }
+        disparoNanos = relogio.nanoTime();
+        reinserir();
+        return true;
+    }
+
+    private void liberarLimitador() {
+        if (limitador != null) {
+            limitador.liberar();
+        }
+    }
+
+    /**
+     * Conclusão de uma execução assíncrona. Sem tempo limite a mesma
+     * instância é reaproveitada em todas as execuções.
+     */
+    private BiConsumer<Object, Throwable> getConclusao(long vez) {
+        if (vez >= 0) {
+            return new Conclusao(vez);
+        }
+        if (conclusao == null) {
+            conclusao = new Conclusao(-1);
+        }
+        return conclusao;
+    }
+
+    /**
+     * Conclusão de uma execução assíncrona, chamada na thread que completou
+     * o estágio devolvido pelo processo.
+     */
+    private final class Conclusao implements BiConsumer<Object, Throwable> {
+
+        private final long vez;
+
+        Conclusao(long vez) {
+            this.vez = vez;
+        }
+
+        @Override
+        public void accept(Object resultado, Throwable erro) {
+            if (!fecharExecucao(vez)) {
+                return;
+            }
+            estagioAtual = null;
+            emExecucao.decrementAndGet();
+            liberarLimitador();
+            if (erro != null) {
+                falhar(causa(erro));
+            } else {
+                reagendar(0);
+            }
+        }
+    }
+
+    /**
+     * Calcula o próximo disparo de um processo repetitivo ao fim de uma
+     * execução bem sucedida e devolve a tarefa ao motor, ou conclui a tarefa
+     * se não houver próximo disparo.
+     *
+     * @param pular Número de disparos a descartar além dos perdidos.
+     */
+    private void reagendar(int pular) {
+        switch (repeticao) {
+            case PERIODIC:
+                planejarPeriodo(relogio.nanoTime());
+                if (pular > 0) {
+                    gradeNanos += pular * intervaloNanos;
+                    disparoNanos = gradeNanos;
+                    registrarDescartes(pular);
+                }
+                break;
+            case SEQUENTIAL:
+                ancoraNanos = relogio.nanoTime();
+                disparoNanos = ancoraNanos + (pular + 1) * intervaloNanos;
+                break;
+            case CRON:
+                // disparos perdidos durante a execução não são recuperados
+                long depoisDe = Math.max(cronMillis,
+                        relogio.currentTimeMillis());
+                for (int i = 0; i <= pular; i++) {
+                    if (!planejarCron(depoisDe)) {
+                        finalizar(EXECUTANDO, CONCLUIDA);
+                        verificarSucessora();
+                        return;
+                    }
+                    depoisDe = cronMillis;
+                }
+                break;
+            default:
+                finalizar(EXECUTANDO, CONCLUIDA);
+                verificarSucessora();
+                return;
+        }
+        if (estado.compareAndSet(EXECUTANDO, AGENDADA)) {
+            reinserir();
+        }
+        verificarSucessora();
+    }
+
+    /**
+     * Execução da política {@link OverrunEnum#CONCURRENT}: o próximo disparo é
+     * agendado antes da execução, que só é descartada quando o limite de
+     * execuções simultâneas já foi atingido.
+     */
+    private void executarSimultanea() {
+        if (estado.get() != AGENDADA) {
+            return;
+        }
+        long previsto = disparoNanos;
+        long agora = relogio.nanoTime();
+        ancoraNanos = previsto;
+        disparada = true;
+        long proximo = previsto + intervaloNanos;
+        if (proximo <= agora) {
+            long perdidos = (agora - proximo) / intervaloNanos + 1;
+            proximo += perdidos * intervaloNanos;
+            registrarDescartes(perdidos);
+        }
+        disparoNanos = proximo;
+        reinserir();
+
+        final int posicao = ocupar();
+        if (posicao < 0) {
+            registrarDescartes(1);
+            return;
+        }
+        // sem permissão do limitador o disparo é descartado e a grade segue
+        if (limitador != null && !permitirSimultanea(agora)) {
+            executores.set(posicao, null);
+            registrarLimitacao();
+            registrarDescartes(1);
+            return;
+        }
+        verificarPrazo(previsto);
+        if (emExecucao.incrementAndGet() > 1) {
+            registrarSimultanea();
+        }
+        if (limitesSimultaneas != null) {
+            long limite = relogio.nanoTime() + agendamento.tempoLimiteNanos;
+            limitesSimultaneas.set(posicao, limite);
+            if (prazosSimultaneas != null) {
+                VigiaDeExecucoes.vigiar(prazosSimultaneas[posicao], limite);
+            }
+        }
+        CompletionStage<?> estagio = null;
+        try {
+            estagio = iniciar(previsto);
+        } catch (Throwable ex) {
+            falhar(ex);
+        }
+        if (estagio == null) {
+            liberarLimiteSimultanea(posicao);
+            executores.set(posicao, null);
+            emExecucao.decrementAndGet();
+            liberarLimitador();
+            verificarSucessora();
+            return;
+        }
+        // a vaga fica ocupada até a conclusão do estágio, sem uma thread
+        executores.set(posicao, ASSINCRONA);
+        estagio.whenComplete(new BiConsumer<Object, Throwable>() {
+            @Override
+            public void accept(Object resultado, Throwable erro) {
+                liberarLimiteSimultanea(posicao);
+                executores.set(posicao, null);
+                emExecucao.decrementAndGet();
+                liberarLimitador();
+                if (erro != null) {
+                    falhar(causa(erro));
+                } else {
+                    verificarSucessora();
+                }
+            }
+        });
+    }
+
+    private void liberarLimiteSimultanea(int posicao) {
+        if (limitesSimultaneas != null) {
+            limitesSimultaneas.set(posicao, 0);
+            if (prazosSimultaneas != null) {
+                VigiaDeExecucoes.liberar(prazosSimultaneas[posicao]);
+            }
+        }
+    }
+
+    private int ocupar() {
+        Thread atual = Thread.currentThread();
+        for (int i = 0; i < executores.length(); i++) {
+            if (executores.compareAndSet(i, null, atual)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Calcula o próximo disparo de um processo periódico. Os disparos seguem
+     * uma grade fixa a partir do primeiro, sem acumular desvio; quando a grade
+     * já ficou para trás a política de sobreposição decide o que fazer com os
+     * disparos perdidos.
+     */
+    private void planejarPeriodo(long agora) {
+        long grade = gradeNanos + intervaloNanos;
+        long perdidos = grade <= agora
+                ? (agora - grade) / intervaloNanos + 1 : 0;
+        switch (agendamento.sobreposicao) {
+            case SKIP:
+                grade += perdidos * intervaloNanos;
+                registrarDescartes(perdidos);
+                disparoNanos = grade;
+                break;
+            case COALESCE:
+                if (perdidos > 1) {
+                    grade += (perdidos - 1) * intervaloNanos;
+                    registrarDescartes(perdidos - 1);
+                }
+                disparoNanos = grade;
+                break;
+            case CATCH_UP_LIMITED:
+                if (perdidos > 0) {
+                    registrarRecuperacao();
+                    long espacamento = intervaloNanos
+                            / Math.max(agendamento.recuperacoesPorIntervalo, 1);
+                    disparoNanos = Math.max(grade, agora + espacamento);
+                } else {
+                    disparoNanos = grade;
+                }
+                break;
+            default:
+            case CATCH_UP:
+                if (perdidos > 0) {
+                    registrarRecuperacao();
+                }
+                disparoNanos = grade;
+                break;
+        }
+        gradeNanos = grade;
+    }
+
+    /**
+     * Calcula o próximo disparo de um processo cron. O horário de parede é
+     * convertido no relógio monotônico a cada disparo, acompanhando ajustes
+     * do relógio do sistema.
+     *
+     * @param depoisDeMillis Instante após o qual procurar o disparo, em
+     * milissegundos desde a época.
+     * @return Falso se a expressão não tiver mais disparos.
+     */
+    boolean planejarCron(long depoisDeMillis) {
+        long proximo = agendamento.cron.proximo(depoisDeMillis);
+        if (proximo == ExpressaoCron.NENHUM) {
+            return false;
+        }
+        cronMillis = proximo;
+        disparoNanos = relogio.nanoTime() + TimeUnit.MILLISECONDS.toNanos(
+                proximo - relogio.currentTimeMillis());
+        gradeNanos = disparoNanos;
+        return true;
+    }
+
+    /**
+     * Inicia a execução do processo.
+     *
+     * @return Nulo se a execução terminou antes do retorno, ou o estágio cuja
+     * conclusão marca o fim de uma execução assíncrona.
+     */
+    private CompletionStage<?> iniciar(long previstoNanos) {
+        if (disparavel != null) {
+            return disparavel.disparar(previstoNanos);
+        }
+        try {
+            processo.run();
+        } finally {
+            relogio.executou(processo);
+        }
+        return null;
+    }
+
+    /**
+     * Encerra o agendamento por uma exceção lançada pelo processo, a menos
+     * que a tarefa já tenha sido concluída ou cancelada.
+     */
+    private void falhar(Throwable ex) {
+        falha = ex;
+        while (true) {
+            int atual = estado.get();
+            if (atual >= CONCLUIDA) {
+                break;
+            }
+            if (estado.compareAndSet(atual, FALHOU)) {
+                sinalizar();
+                break;
+            }
+        }
+        verificarSucessora();
+    }
+
+    static Throwable causa(Throwable erro) {
+        return erro instanceof CompletionException && erro.getCause() != null
+                ? erro.getCause() : erro;
+    }
+
+    private void reinserir() {
+        try {
+            motor.inserir(this);
+        } catch (RejectedExecutionException ex) {
+            descartar();
+        }
+    }
+
+    private void registrarDescartes(long quantidade) {
+        if (quantidade <= 0) {
+            return;
+        }
+        if (agendamento.metricasDoProcesso != null) {
+            agendamento.metricasDoProcesso.registrarDescartes(quantidade);
+        }
+        if (agendamento.metricasDoPool != null) {
+            agendamento.metricasDoPool.registrarDescartes(quantidade);
+        }
+    }
+
+    private void registrarRecuperacao() {
+        if (agendamento.metricasDoProcesso != null) {
+            agendamento.metricasDoProcesso.registrarRecuperacao();
+        }
+        if (agendamento.metricasDoPool != null) {
+            agendamento.metricasDoPool.registrarRecuperacao();
+        }
+    }
+
+    private void verificarPrazo(long previstoNanos) {
+        long prazo = agendamento.prazoNanos;
+        if (prazo > 0 && relogio.nanoTime() - previstoNanos > prazo) {
+            if (agendamento.metricasDoProcesso != null) {
+                agendamento.metricasDoProcesso.registrarPrazoPerdido();
+            }
+            if (agendamento.metricasDoPool != null) {
+                agendamento.metricasDoPool.registrarPrazoPerdido();
+            }
+        }
+    }
+
+    private void registrarLimitacao() {
+        if (agendamento.metricasDoProcesso != null) {
+            agendamento.metricasDoProcesso.registrarLimitacao();
+        }
+        if (agendamento.metricasDoPool != null) {
+            agendamento.metricasDoPool.registrarLimitacao();
+        }
+    }
+
+    private void registrarExpiracao() {
+        if (agendamento.metricasDoProcesso != null) {
+            agendamento.metricasDoProcesso.registrarExpiracao();
+        }
+        if (agendamento.metricasDoPool != null) {
+            agendamento.metricasDoPool.registrarExpiracao();
+        }
+    }
+
+    private void registrarSimultanea() {
+        if (agendamento.metricasDoProcesso != null) {
+            agendamento.metricasDoProcesso.registrarSimultanea();
+        }
+        if (agendamento.metricasDoPool != null) {
+            agendamento.metricasDoPool.registrarSimultanea();
+        }
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        return cancelar(mayInterruptIfRunning, null);
+    }
+
+    /**
+     * Cancela a tarefa como {@link #cancel(boolean)}, deixando a retirada do
+     * motor para quem cancela um lote de tarefas.
+     *
+     * @param interromper Se a execução em andamento deve ser interrompida.
+     * @param remocoes Recebe a tarefa se ela precisar ser retirada do
+     * {@link #getMotor() motor}, ou nulo para retirá-la imediatamente.
+     * @return Verdadeiro se a tarefa foi cancelada.
+     */
+    boolean cancelar(boolean interromper, List<TarefaAgendada> remocoes) {
+        while (true) {
+            int atual = estado.get();
+            if (atual >= CONCLUIDA) {
+                return false;
+            }
+            if (!estado.compareAndSet(atual, CANCELADA)) {
+                continue;
+            }
+            if (atual == AGENDADA) {
+                if (remocoes != null) {
+                    remocoes.add(this);
+                } else {
+                    motor.remover(this);
+                }
+                liberarAdmissao();
+            }
+            if (interromper) {
+                CompletionStage<?> estagio = estagioAtual;
+                if (estagio instanceof Future) {
+                    ((Future<?>) estagio).cancel(true);
+                }
+                for (int i = 0; i < executores.length(); i++) {
+                    Thread thread = executores.get(i);
+                    if (thread != null) {
+                        thread.interrupt();
+                    }
+                }
+            }
+            sinalizar();
+            return true;
+        }
+    }
+
+    /**
+     * Cancela a tarefa sem notificar o motor, usado quando o próprio motor
+     * está sendo encerrado.
+     *
+     * @return Verdadeiro se a tarefa ainda estava agendada.
+     */
+    boolean descartar() {
+        if (estado.compareAndSet(AGENDADA, CANCELADA)) {
+            liberarAdmissao();
+            sinalizar();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Passa o agendamento para outra tarefa, criada com a nova configuração
+     * do processo e possivelmente em outro motor, sem perder nem duplicar
+     * disparos. Uma tarefa que aguarda o disparo é cancelada e a substituta
+     * entra no motor na hora; com uma execução em andamento, inclusive de uma
+     * tarefa já cancelada sem interrupção, a substituta só entra no motor
+     * quando a execução terminar. Com {@link OverrunEnum#CONCURRENT} as
+     * execuções em andamento não são aguardadas.
+     *
+     * @param nova Tarefa substituta, ainda fora do motor.
+     */
+    void substituir(TarefaAgendada nova) {
+        nova.antecessora = this;
+        sucessora.set(nova);
+        while (true) {
+            int atual = estado.get();
+            if (antecessora != null) {
+                // ela mesma aguarda a entrega, que seguirá para a nova
+                return;
+            }
+            if (atual == AGENDADA) {
+                if (!estado.compareAndSet(AGENDADA, CANCELADA)) {
+                    continue;
+                }
+                motor.remover(this);
+                liberarAdmissao();
+                sinalizar();
+            } else if (atual == EXECUTANDO || emExecucao.get() > 0) {
+                // quem encerrar a execução vê a substituta e a entrega
+                return;
+            }
+            entregar();
+            return;
+        }
+    }
+
+    /**
+     * Entrega o agendamento à substituta, se houver, ao fim de uma execução:
+     * a tarefa que acabou de voltar ao motor é retirada dele.
+     */
+    private void verificarSucessora() {
+        if (sucessora.get() == null) {
+            return;
+        }
+        if (estado.compareAndSet(AGENDADA, CANCELADA)) {
+            motor.remover(this);
+            liberarAdmissao();
+            sinalizar();
+        }
+        // uma nova execução já iniciada fará a entrega ao terminar
+        if (estado.get() != EXECUTANDO) {
+            entregar();
+        }
+    }
+
+    private void entregar() {
+        TarefaAgendada nova = sucessora.getAndSet(null);
+        if (nova != null) {
+            nova.suceder(this);
+        }
+    }
+
+    /**
+     * Insere a substituta no seu motor. Com
+     * {@link Agendamento#continuarGrade} o próximo disparo é contado do
+     * último disparo da tarefa substituída com o novo intervalo, ou mantém o
+     * primeiro disparo dela se ela ainda não disparou.
+     */
+    private void suceder(TarefaAgendada anterior) {
+        if (agendamento.continuarGrade && relogio == anterior.relogio
+                && isPorIntervalo() && anterior.isPorIntervalo()) {
+            long proximo = anterior.disparada
+                    ? Math.max(anterior.ancoraNanos + intervaloNanos,
+                            relogio.nanoTime())
+                    : anterior.disparoNanos;
+            disparoNanos = proximo;
+            gradeNanos = proximo;
+        }
+        antecessora = null;
+        if (sucessora.get() != null) {
+            // substituída enquanto aguardava a entrega
+            if (estado.compareAndSet(AGENDADA, CANCELADA)) {
+                liberarAdmissao();
+                sinalizar();
+            }
+            entregar();
+            return;
+        }
+        if (estado.get() == AGENDADA) {
+            reinserir();
+        }
+    }
+
+    /**
+     * Diz se a tarefa volta ao motor depois de cada execução.
+     *
+     * @return Falso apenas para execuções únicas.
+     */
+    boolean isRepetitiva() {
+        return repeticao != RepetitionEnum.ONCE;
+    }
+
+    private boolean isPorIntervalo() {
+        return repeticao == RepetitionEnum.PERIODIC
+                || repeticao == RepetitionEnum.SEQUENTIAL;
+    }
+
+    /**
+     * Diz se há uma execução da tarefa em andamento, mesmo que a tarefa já
+     * tenha sido cancelada sem interrupção, ou se a tarefa ainda aguarda o
+     * fim da execução da tarefa que ela substituiu.
+     *
+     * @return Verdadeiro se alguma execução ainda não terminou.
+     */
+    boolean isEmAndamento() {
+        return emExecucao.get() > 0 || antecessora != null;
+    }
+
+    /**
+     * Diz se a tarefa está agendada e aguardando o disparo, sem execução em
+     * andamento.
+     *
+     * @return Verdadeiro se a tarefa aguarda o disparo.
+     */
+    boolean isPendente() {
+        return estado.get() == AGENDADA;
+    }
+
+    /**
+     * Cancela a tarefa somente se ela ainda não começou a executar.
+     *
+     * @return Verdadeiro se a tarefa foi cancelada.
+     */
+    boolean cancelarPendente() {
+        if (estado.compareAndSet(AGENDADA, CANCELADA)) {
+            motor.remover(this);
+            liberarAdmissao();
+            sinalizar();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Devolve ao pool a vaga de uma execução única limitada pela capacidade,
+     * chamado uma única vez quando a tarefa deixa o estado agendada.
+     */
+    private void liberarAdmissao() {
+        if (agendamento.admissao != null) {
+            agendamento.admissao.liberar(this);
+        }
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return estado.get() == CANCELADA;
+    }
+
+    @Override
+    public boolean isDone() {
+        return estado.get() >= CONCLUIDA;
+    }
+
+    @Override
+    public Object get() throws InterruptedException, ExecutionException {
+        synchronized (this) {
+            while (!isDone()) {
+                wait();
+            }
+        }
+        return resultado();
+    }
+
+    @Override
+    public Object get(long timeout, TimeUnit unit)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        long limite = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (this) {
+            while (!isDone()) {
+                long restante = limite - System.nanoTime();
+                if (restante <= 0) {
+                    throw new TimeoutException();
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, restante);
+            }
+        }
+        return resultado();
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+        return unit.convert(disparoNanos - relogio.nanoTime(),
+                TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed outro) {
+        if (outro == this) {
+            return 0;
+        }
+        long diferenca = getDelay(TimeUnit.NANOSECONDS)
+                - outro.getDelay(TimeUnit.NANOSECONDS);
+        return diferenca < 0 ? -1 : (diferenca > 0 ? 1 : 0);
+    }
+
+    private void finalizar(int de, int para) {
+        if (estado.compareAndSet(de, para)) {
+            sinalizar();
+        }
+    }
+
+    private synchronized void sinalizar() {
+        notifyAll();
+    }
+
+    private Object resultado() throws ExecutionException {
+        int atual = estado.get();
+        if (atual == CANCELADA) {
+            throw new CancellationException();
+        }
+        if (atual == FALHOU) {
+            throw new ExecutionException(falha);
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return processo.toString();
+    }
+}
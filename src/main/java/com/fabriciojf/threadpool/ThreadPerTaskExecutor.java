@@ -0,0 +1,241 @@
+package com.fabriciojf.threadpool;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Comparator;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor que inicia uma thread nova para cada lote de tarefas, limitando a
+ * quantidade de threads simultâneas. Tarefas recebidas com o limite atingido
+ * aguardam em fila e são assumidas pela primeira thread que terminar. Pensado
+ * para threads virtuais, baratas de criar, em que o limite protege os
+ * recursos usados pelos processos e não a memória das threads.
+ *
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+public class ThreadPerTaskExecutor extends AbstractExecutorService {
+
+    private final ThreadFactory fabrica;
+    private volatile int limite;
+    private final Queue<Runnable> fila;
+    private final AtomicInteger ativas = new AtomicInteger();
+    private final Map<Thread, Boolean> threads
+            = new ConcurrentHashMap<Thread, Boolean>();
+    private final Object terminado = new Object();
+
+    private volatile boolean desligado;
+
+    /**
+     * Instancia o executor.
+     *
+     * @param fabrica Fábrica das threads de execução.
+     * @param limite Número máximo de threads executando ao mesmo tempo.
+     */
+    public ThreadPerTaskExecutor(ThreadFactory fabrica, int limite) {
+        this(fabrica, limite, null);
+    }
+
+    /**
+     * Instancia o executor com as tarefas em fila ordenadas pelo comparador
+     * informado em vez da ordem de chegada.
+     *
+     * @param fabrica Fábrica das threads de execução.
+     * @param limite Número máximo de threads executando ao mesmo tempo.
+     * @param ordem Ordem das tarefas em fila, ou nulo para a ordem de
+     * chegada.
+     */
+    public ThreadPerTaskExecutor(ThreadFactory fabrica, int limite,
+            Comparator<Runnable> ordem) {
+        if (limite <= 0) {
+            throw new IllegalArgumentException(
+                    "O limite deve ser maior que zero: " + limite);
+        }
+        this.fabrica = fabrica;
+        this.limite = limite;
+        if (ordem == null) {
+            this.fila = new ConcurrentLinkedQueue<Runnable>();
+        } else if (ordem instanceof OrdemDePrioridade) {
+            this.fila = ((OrdemDePrioridade) ordem).criarFila();
+        } else {
+            this.fila = new PriorityBlockingQueue<Runnable>(64, ordem);
+        }
+    }
+
+    /**
+     * Número máximo de threads executando ao mesmo tempo.
+     *
+     * @return Número máximo de threads executando ao mesmo tempo.
+     */
+    public int getLimite() {
+        return limite;
+    }
+
+    /**
+     * Altera o número máximo de threads executando ao mesmo tempo. Ao
+     * aumentar, tarefas em fila são assumidas por novas threads; ao reduzir,
+     * as threads excedentes terminam ao concluir a tarefa atual.
+     *
+     * @param limite Número máximo de threads executando ao mesmo tempo.
+     */
+    public void setLimite(int limite) {
+        if (limite <= 0) {
+            throw new IllegalArgumentException(
+                    "O limite deve ser maior que zero: " + limite);
+        }
+        this.limite = limite;
+        while (!fila.isEmpty() && ativas.get() < limite) {
+            iniciar();
+        }
+    }
+
+    /**
+     * Número de threads executando no momento.
+     *
+     * @return Número de threads executando no momento.
+     */
+    public int getAtivas() {
+        return ativas.get();
+    }
+
+    /**
+     * Número de tarefas aguardando uma thread livre.
+     *
+     * @return Número de tarefas aguardando uma thread livre.
+     */
+    public int getPendentes() {
+        return fila.size();
+    }
+
+    @Override
+    public void execute(Runnable tarefa) {
+        if (tarefa == null) {
+            throw new NullPointerException();
+        }
+        if (desligado) {
+            throw new RejectedExecutionException("Executor encerrado");
+        }
+        fila.offer(tarefa);
+        iniciar();
+    }
+
+    private void iniciar() {
+        while (!fila.isEmpty()) {
+            int atual = ativas.get();
+            if (atual >= limite) {
+                return;
+            }
+            if (ativas.compareAndSet(atual, atual + 1)) {
+                Thread thread = fabrica.newThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        trabalhar();
+                    }
+                });
+                thread.start();
+                return;
+            }
+        }
+    }
+
+    private void trabalhar() {
+        Thread atual = Thread.currentThread();
+        threads.put(atual, Boolean.TRUE);
+        boolean excedente = false;
+        try {
+            while (true) {
+                // o limite pode ter sido reduzido: sobra uma thread por vez
+                int ocupadas = ativas.get();
+                if (ocupadas > limite) {
+                    if (ativas.compareAndSet(ocupadas, ocupadas - 1)) {
+                        excedente = true;
+                        break;
+                    }
+                    continue;
+                }
+                Runnable tarefa = fila.poll();
+                if (tarefa == null) {
+                    break;
+                }
+                // limpa uma interrupção direcionada à tarefa anterior
+                if (!desligado) {
+                    Thread.interrupted();
+                }
+                tarefa.run();
+            }
+        } finally {
+            threads.remove(atual);
+            if (!excedente) {
+                ativas.decrementAndGet();
+            }
+        }
+        // uma tarefa pode ter chegado entre o último poll e o decremento
+        iniciar();
+        if (isTerminated()) {
+            synchronized (terminado) {
+                terminado.notifyAll();
+            }
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        desligado = true;
+        if (isTerminated()) {
+            synchronized (terminado) {
+                terminado.notifyAll();
+            }
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown();
+        List<Runnable> naoExecutadas = new ArrayList<Runnable>();
+        Runnable tarefa;
+        while ((tarefa = fila.poll()) != null) {
+            naoExecutadas.add(tarefa);
+        }
+        for (Thread thread : threads.keySet()) {
+            thread.interrupt();
+        }
+        return naoExecutadas;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return desligado;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return desligado && ativas.get() == 0 && fila.isEmpty();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit)
+            throws InterruptedException {
+        long limiteNanos = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (terminado) {
+            while (!isTerminated()) {
+                long restante = limiteNanos - System.nanoTime();
+                if (restante <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(terminado, restante);
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.fabriciojf.threadpool;
+
+/**
+ * What the pool does with a process whose run exceeds the time limit set by
+ * {@link LoopProcess#setTempoLimite(long, java.util.concurrent.TimeUnit)},
+ * after interrupting the run.
+ *
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+public enum TimeoutEnum {
+
+    /**
+     * Schedule the next fire as if the run had finished
+     */
+    RESCHEDULE,
+
+    /**
+     * Drop the next fire as well, giving the process one more interval to
+     * recover
+     */
+    SKIP,
+
+    /**
+     * Stop scheduling the process until it is executed again
+     */
+    QUARANTINE,
+}
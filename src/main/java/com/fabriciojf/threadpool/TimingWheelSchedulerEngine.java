@@ -0,0 +1,519 @@
+package com.fabriciojf.threadpool;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+
+/**
+ * Motor de agendamento baseado em uma roda de tempo hierárquica. O tempo é
+ * dividido em ticks de duração fixa e cada nível da roda possui
+ * {@value #SLOTS} posições, cada uma cobrindo {@value #SLOTS} vezes o tempo de
+ * uma posição do nível inferior. Agendar e cancelar custam O(1): as tarefas
+ * são encadeadas diretamente nas posições da roda e as solicitações vindas de
+ * outras threads passam por pilhas sem bloqueio, consumidas por uma única
+ * thread de disparo. Quando chega o instante de uma tarefa ela é despachada
+ * para as threads de trabalho do motor.
+ *
+ * A precisão do disparo é de um tick, nunca antes do instante agendado. Cada
+ * nível guarda um mapa de bits das posições ocupadas, e a thread de disparo
+ * dorme até a próxima posição ocupada em vez de acordar a cada tick.
+ *
+ * Como no {@link java.util.concurrent.ScheduledThreadPoolExecutor}, o
+ * {@link #shutdown() encerramento} descarta na hora as tarefas repetitivas
+ * que aguardam na roda, concluindo-as como canceladas, enquanto as execuções
+ * únicas ainda são disparadas no seu instante. As threads de trabalho só são
+ * encerradas depois do último desses disparos.
+ *
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+public class TimingWheelSchedulerEngine extends AbstractSchedulerEngine {
+
+    static Logger log = LogManager.getLogger(
+            TimingWheelSchedulerEngine.class.getName());
+
+    static final int BITS = 6;
+    static final int SLOTS = 1 << BITS;
+    static final int MASCARA = SLOTS - 1;
+    static final int NIVEIS = 6;
+
+    /**
+     * Duração padrão do tick em milissegundos.
+     */
+    public static final long TICK_PADRAO_MILIS = 1;
+
+    private final ExecutorService trabalhadores;
+    private final long tickNanos;
+    private final long origemNanos;
+    private final Balde[][] roda;
+    // bit de cada posição não vazia, por nível
+    private final long[] ocupados = new long[NIVEIS];
+    private final AtomicReference<TarefaAgendada> insercoes
+            = new AtomicReference<TarefaAgendada>();
+    private final AtomicReference<TarefaAgendada> cancelamentos
+            = new AtomicReference<TarefaAgendada>();
+    private final Thread disparador;
+
+    private volatile boolean desligado;
+    private volatile boolean forcado;
+    private volatile boolean dormindo;
+    private long tickAtual;
+    private long pendentes;
+
+    /**
+     * Instancia o motor com o número de threads de trabalho informado e o
+     * tick padrão de {@value #TICK_PADRAO_MILIS} milissegundo.
+     *
+     * @param threads Número de threads de trabalho.
+     */
+    public TimingWheelSchedulerEngine(int threads) {
+        this(Executors.newFixedThreadPool(threads), TICK_PADRAO_MILIS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Instancia o motor despachando as tarefas vencidas para o executor
+     * informado.
+     *
+     * @param trabalhadores Executor das tarefas vencidas. É encerrado junto
+     * com o motor.
+     * @param tick Duração de um tick da roda.
+     * @param unidade Unidade de tempo do tick.
+     */
+    public TimingWheelSchedulerEngine(ExecutorService trabalhadores, long tick,
+            TimeUnit unidade) {
+        if (tick <= 0) {
+            throw new IllegalArgumentException(
+                    "O tick deve ser maior que zero: " + tick);
+        }
+        this.trabalhadores = trabalhadores;
+        this.tickNanos = unidade.toNanos(tick);
+        this.origemNanos = System.nanoTime();
+        this.roda = new Balde[NIVEIS][SLOTS];
+        for (int nivel = 0; nivel < NIVEIS; nivel++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                roda[nivel][slot] = new Balde(ocupados, nivel, slot);
+            }
+        }
+        this.disparador = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                girar();
+            }
+        }, "TimingWheel-" + System.identityHashCode(this));
+        this.disparador.start();
+    }
+
+    /**
+     * Duração de um tick da roda em nanossegundos.
+     *
+     * @return Duração de um tick da roda em nanossegundos.
+     */
+    public long getTickNanos() {
+        return tickNanos;
+    }
+
+    @Override
+    ExecutorService getExecutor() {
+        return trabalhadores;
+    }
+
+    @Override
+    void inserir(TarefaAgendada tarefa) {
+        if (desligado) {
+            throw new RejectedExecutionException("Motor encerrado");
+        }
+        TarefaAgendada topo;
+        do {
+            topo = insercoes.get();
+            tarefa.proximaNaFila = topo;
+        } while (!insercoes.compareAndSet(topo, tarefa));
+        acordar();
+    }
+
+    /**
+     * Encadeia o lote inteiro antes de publicá-lo com uma única troca na
+     * pilha de inserções.
+     */
+    @Override
+    void inserirTodos(List<TarefaAgendada> tarefas) {
+        if (tarefas.isEmpty()) {
+            return;
+        }
+        if (desligado) {
+            throw new RejectedExecutionException("Motor encerrado");
+        }
+        TarefaAgendada primeira = tarefas.get(0);
+        TarefaAgendada ultima = primeira;
+        for (int i = 1; i < tarefas.size(); i++) {
+            TarefaAgendada tarefa = tarefas.get(i);
+            ultima.proximaNaFila = tarefa;
+            ultima = tarefa;
+        }
+        TarefaAgendada topo;
+        do {
+            topo = insercoes.get();
+            ultima.proximaNaFila = topo;
+        } while (!insercoes.compareAndSet(topo, primeira));
+        acordar();
+    }
+
+    @Override
+    void remover(TarefaAgendada tarefa) {
+        TarefaAgendada topo;
+        do {
+            topo = cancelamentos.get();
+            tarefa.proximaCancelada = topo;
+        } while (!cancelamentos.compareAndSet(topo, tarefa));
+        acordar();
+    }
+
+    @Override
+    void removerTodos(List<TarefaAgendada> tarefas) {
+        if (tarefas.isEmpty()) {
+            return;
+        }
+        TarefaAgendada primeira = tarefas.get(0);
+        TarefaAgendada ultima = primeira;
+        for (int i = 1; i < tarefas.size(); i++) {
+            TarefaAgendada tarefa = tarefas.get(i);
+            ultima.proximaCancelada = tarefa;
+            ultima = tarefa;
+        }
+        TarefaAgendada topo;
+        do {
+            topo = cancelamentos.get();
+            ultima.proximaCancelada = topo;
+        } while (!cancelamentos.compareAndSet(topo, primeira));
+        acordar();
+    }
+
+    @Override
+    boolean isDesligado() {
+        return desligado;
+    }
+
+    private void acordar() {
+        if (dormindo) {
+            LockSupport.unpark(disparador);
+        }
+    }
+
+    /**
+     * Laço da thread de disparo. Somente esta thread altera a roda.
+     */
+    private void girar() {
+        boolean encerrado = false;
+        while (!forcado) {
+            drenarInsercoes();
+            drenarCancelamentos();
+            if (desligado && !encerrado) {
+                descartarRepetitivas();
+                encerrado = true;
+            }
+
+            long alvo = (System.nanoTime() - origemNanos) / tickNanos;
+            while (tickAtual < alvo && !forcado) {
+                // os ticks sem nenhuma posição ocupada são saltados
+                long proximo = proximoTick();
+                if (proximo > alvo) {
+                    tickAtual = alvo;
+                    break;
+                }
+                tickAtual = proximo;
+                cascatear();
+                expirar();
+            }
+
+            if (pendentes == 0) {
+                if (desligado) {
+                    if (insercoes.get() == null) {
+                        break;
+                    }
+                    continue;
+                }
+                dormindo = true;
+                if (insercoes.get() == null && cancelamentos.get() == null
+                        && !desligado) {
+                    LockSupport.park(this);
+                }
+                dormindo = false;
+            } else {
+                long proximo = origemNanos + proximoTick() * tickNanos;
+                dormindo = true;
+                if (insercoes.get() == null && cancelamentos.get() == null
+                        && !forcado) {
+                    LockSupport.parkNanos(this, proximo - System.nanoTime());
+                }
+                dormindo = false;
+            }
+        }
+        trabalhadores.shutdown();
+    }
+
+    /**
+     * Primeiro tick, depois do atual, em que alguma posição ocupada vence ou
+     * desce de nível. As posições de cada nível são percorridas em ordem a
+     * partir da seguinte à atual, então basta girar o mapa do nível até ela.
+     *
+     * @return O próximo tick com trabalho, ou {@link Long#MAX_VALUE} com a
+     * roda vazia.
+     */
+    private long proximoTick() {
+        long proximo = Long.MAX_VALUE;
+        for (int nivel = 0; nivel < NIVEIS; nivel++) {
+            long ocupado = ocupados[nivel];
+            if (ocupado == 0) {
+                continue;
+            }
+            int deslocamento = BITS * nivel;
+            long bloco = tickAtual >>> deslocamento;
+            int distancia = Long.numberOfTrailingZeros(Long.rotateRight(
+                    ocupado, (int) (bloco & MASCARA) + 1)) + 1;
+            proximo = Math.min(proximo, (bloco + distancia) << deslocamento);
+        }
+        return proximo;
+    }
+
+    private void drenarInsercoes() {
+        TarefaAgendada tarefa = insercoes.getAndSet(null);
+        while (tarefa != null) {
+            TarefaAgendada seguinte = tarefa.proximaNaFila;
+            tarefa.proximaNaFila = null;
+            if (desligado && tarefa.isRepetitiva()) {
+                // reinserida por uma execução que terminou no encerramento
+                tarefa.descartar();
+            } else if (!tarefa.isDone() && tarefa.balde == null) {
+                long tick = -Math.floorDiv(
+                        origemNanos - tarefa.getDisparoNanos(), tickNanos);
+                tarefa.disparoTick = Math.max(tick, tickAtual + 1);
+                posicionar(tarefa);
+                pendentes++;
+            }
+            tarefa = seguinte;
+        }
+    }
+
+    private void drenarCancelamentos() {
+        TarefaAgendada tarefa = cancelamentos.getAndSet(null);
+        while (tarefa != null) {
+            TarefaAgendada seguinte = tarefa.proximaCancelada;
+            tarefa.proximaCancelada = null;
+            if (tarefa.balde != null) {
+                ((Balde) tarefa.balde).remover(tarefa);
+                pendentes--;
+            }
+            tarefa = seguinte;
+        }
+    }
+
+    /**
+     * Retira da roda as tarefas repetitivas no encerramento do motor,
+     * deixando apenas as execuções únicas.
+     */
+    private void descartarRepetitivas() {
+        for (Balde[] nivel : roda) {
+            for (Balde balde : nivel) {
+                TarefaAgendada tarefa = balde.esvaziar();
+                while (tarefa != null) {
+                    TarefaAgendada seguinte = tarefa.proxima;
+                    tarefa.proxima = null;
+                    if (tarefa.isRepetitiva()) {
+                        pendentes--;
+                        tarefa.descartar();
+                    } else {
+                        balde.adicionar(tarefa);
+                    }
+                    tarefa = seguinte;
+                }
+            }
+        }
+    }
+
+    /**
+     * Coloca a tarefa no nível cuja faixa de tempo contém o seu disparo. Um
+     * disparo além do alcance do último nível fica na posição mais distante e
+     * é reposicionado quando ela vencer.
+     */
+    private void posicionar(TarefaAgendada tarefa) {
+        long distancia = tarefa.disparoTick - tickAtual;
+        for (int nivel = 0; nivel < NIVEIS; nivel++) {
+            if (distancia < (1L << (BITS * (nivel + 1)))) {
+                int slot = (int) (tarefa.disparoTick >>> (BITS * nivel))
+                        & MASCARA;
+                roda[nivel][slot].adicionar(tarefa);
+                return;
+            }
+        }
+        int nivel = NIVEIS - 1;
+        int slot = (int) ((tickAtual >>> (BITS * nivel)) - 1) & MASCARA;
+        roda[nivel][slot].adicionar(tarefa);
+    }
+
+    /**
+     * Ao completar uma volta de um nível as tarefas da posição correspondente
+     * do nível superior descem para posições mais precisas. Os níveis mais
+     * altos são tratados primeiro para que as tarefas possam descer mais de um
+     * nível no mesmo tick.
+     */
+    private void cascatear() {
+        for (int nivel = NIVEIS - 1; nivel > 0; nivel--) {
+            long mascara = (1L << (BITS * nivel)) - 1;
+            if ((tickAtual & mascara) != 0) {
+                continue;
+            }
+            int slot = (int) (tickAtual >>> (BITS * nivel)) & MASCARA;
+            TarefaAgendada tarefa = roda[nivel][slot].esvaziar();
+            while (tarefa != null) {
+                TarefaAgendada seguinte = tarefa.proxima;
+                tarefa.proxima = null;
+                posicionar(tarefa);
+                tarefa = seguinte;
+            }
+        }
+    }
+
+    private void expirar() {
+        TarefaAgendada tarefa = roda[0][(int) tickAtual & MASCARA].esvaziar();
+        while (tarefa != null) {
+            TarefaAgendada seguinte = tarefa.proxima;
+            tarefa.proxima = null;
+            if (tarefa.disparoTick > tickAtual) {
+                posicionar(tarefa);
+            } else {
+                pendentes--;
+                despachar(tarefa);
+            }
+            tarefa = seguinte;
+        }
+    }
+
+    private void despachar(TarefaAgendada tarefa) {
+        try {
+            trabalhadores.execute(tarefa);
+        } catch (RejectedExecutionException ex) {
+            log.warn("Processo descartado pelo executor: " + tarefa);
+            tarefa.descartar();
+        }
+    }
+
+    /**
+     * Encerra o motor. As tarefas repetitivas são descartadas e as execuções
+     * únicas pendentes ainda são disparadas no seu instante, depois do qual
+     * as threads de trabalho são encerradas.
+     */
+    @Override
+    public void shutdown() {
+        desligado = true;
+        LockSupport.unpark(disparador);
+    }
+
+    /**
+     * Encerra o motor sem disparar mais nenhuma tarefa. As tarefas que
+     * aguardavam na roda são descartadas e devolvidas.
+     */
+    @Override
+    public List<Runnable> shutdownNow() {
+        forcado = true;
+        shutdown();
+        List<Runnable> naoExecutados = new ArrayList<Runnable>();
+        naoExecutados.addAll(trabalhadores.shutdownNow());
+        try {
+            disparador.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return naoExecutados;
+        }
+        drenarInsercoes();
+        drenarCancelamentos();
+        for (Balde[] nivel : roda) {
+            for (Balde balde : nivel) {
+                TarefaAgendada tarefa = balde.esvaziar();
+                while (tarefa != null) {
+                    TarefaAgendada seguinte = tarefa.proxima;
+                    tarefa.proxima = null;
+                    if (tarefa.descartar()) {
+                        naoExecutados.add(tarefa);
+                    }
+                    tarefa = seguinte;
+                }
+            }
+        }
+        pendentes = 0;
+        return naoExecutados;
+    }
+
+    /**
+     * Posição da roda: lista duplamente encadeada intrusiva de tarefas. Mantém
+     * o seu bit no mapa de posições ocupadas do nível.
+     */
+    static final class Balde {
+
+        private final long[] ocupados;
+        private final int nivel;
+        private final long bit;
+        private TarefaAgendada primeira;
+
+        Balde(long[] ocupados, int nivel, int slot) {
+            this.ocupados = ocupados;
+            this.nivel = nivel;
+            this.bit = 1L << slot;
+        }
+
+        void adicionar(TarefaAgendada tarefa) {
+            if (primeira == null) {
+                ocupados[nivel] |= bit;
+            }
+            tarefa.balde = this;
+            tarefa.anterior = null;
+            tarefa.proxima = primeira;
+            if (primeira != null) {
+                primeira.anterior = tarefa;
+            }
+            primeira = tarefa;
+        }
+
+        void remover(TarefaAgendada tarefa) {
+            if (tarefa.anterior != null) {
+                tarefa.anterior.proxima = tarefa.proxima;
+            } else {
+                primeira = tarefa.proxima;
+                if (primeira == null) {
+                    ocupados[nivel] &= ~bit;
+                }
+            }
+            if (tarefa.proxima != null) {
+                tarefa.proxima.anterior = tarefa.anterior;
+            }
+            tarefa.anterior = null;
+            tarefa.proxima = null;
+            tarefa.balde = null;
+        }
+
+        /**
+         * Retira todas as tarefas da posição.
+         *
+         * @return A primeira tarefa, encadeada às demais por
+         * {@link TarefaAgendada#proxima}.
+         */
+        TarefaAgendada esvaziar() {
+            TarefaAgendada tarefa = primeira;
+            primeira = null;
+            ocupados[nivel] &= ~bit;
+            for (TarefaAgendada t = tarefa; t != null; t = t.proxima) {
+                t.balde = null;
+                t.anterior = null;
+            }
+            return tarefa;
+        }
+    }
+}
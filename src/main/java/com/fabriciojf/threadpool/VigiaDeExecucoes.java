@@ -0,0 +1,195 @@
+package com.fabriciojf.threadpool;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Vigia compartilhado por todos os pools que verifica o tempo limite das
+ * execuções em andamento. Cada execução com tempo limite entra no vigia ao
+ * começar e sai ao terminar, e as execuções em andamento ficam em um heap
+ * ordenado pelo limite. Uma única thread dorme até o menor limite, ou
+ * indefinidamente quando nenhuma execução é vigiada, e é acordada apenas
+ * quando uma execução entra com um limite anterior a todos os demais.
+ *
+ * As entradas do heap são {@link Prazo prazos} criados junto com a tarefa e
+ * reaproveitados em todas as execuções, sem alocação por execução.
+ *
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+final class VigiaDeExecucoes implements Runnable {
+
+    static Logger log = LoggerFactory.getLogger(VigiaDeExecucoes.class);
+
+    private static final VigiaDeExecucoes INSTANCIA = new VigiaDeExecucoes();
+
+    private Prazo[] fila = new Prazo[16];
+    private int tamanho;
+    private Thread thread;
+
+    private VigiaDeExecucoes() {
+    }
+
+    /**
+     * Passa a vigiar uma execução que acaba de começar.
+     *
+     * @param prazo Prazo da execução, de uma tarefa ou de uma das suas
+     * execuções simultâneas.
+     * @param limiteNanos Instante limite da execução, conforme
+     * {@link System#nanoTime()}.
+     */
+    static void vigiar(Prazo prazo, long limiteNanos) {
+        INSTANCIA.incluir(prazo, limiteNanos);
+    }
+
+    /**
+     * Deixa de vigiar uma execução que terminou dentro do limite.
+     *
+     * @param prazo Prazo da execução.
+     */
+    static void liberar(Prazo prazo) {
+        INSTANCIA.retirar(prazo);
+    }
+
+    private synchronized void incluir(Prazo prazo, long limiteNanos) {
+        if (prazo.indice >= 0) {
+            remover(prazo.indice);
+        }
+        prazo.limiteNanos = limiteNanos;
+        if (tamanho == fila.length) {
+            fila = Arrays.copyOf(fila, tamanho * 2);
+        }
+        subir(tamanho++, prazo);
+        if (fila[0] != prazo) {
+            return;
+        }
+        if (thread == null) {
+            thread = new Thread(this, "VigiaDeExecucoes");
+            thread.setDaemon(true);
+            thread.start();
+        } else {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private synchronized void retirar(Prazo prazo) {
+        if (prazo.indice >= 0) {
+            remover(prazo.indice);
+        }
+    }
+
+    /**
+     * Retira o menor prazo se ele já venceu.
+     *
+     * @param agora Instante atual.
+     * @return O prazo vencido, ou nulo.
+     */
+    private synchronized Prazo vencido(long agora) {
+        if (tamanho == 0 || agora - fila[0].limiteNanos < 0) {
+            return null;
+        }
+        Prazo topo = fila[0];
+        remover(0);
+        return topo;
+    }
+
+    /**
+     * Tempo até o menor prazo.
+     *
+     * @return Nanossegundos até o menor prazo, ou -1 sem prazos.
+     */
+    private synchronized long espera(long agora) {
+        return tamanho == 0 ? -1 : Math.max(fila[0].limiteNanos - agora, 0);
+    }
+
+    private void remover(int indice) {
+        fila[indice].indice = -1;
+        Prazo ultimo = fila[--tamanho];
+        fila[tamanho] = null;
+        if (indice < tamanho) {
+            descer(indice, ultimo);
+            if (fila[indice] == ultimo) {
+                subir(indice, ultimo);
+            }
+        }
+    }
+
+    private void subir(int indice, Prazo prazo) {
+        while (indice > 0) {
+            int pai = (indice - 1) >>> 1;
+            Prazo acima = fila[pai];
+            if (prazo.limiteNanos - acima.limiteNanos >= 0) {
+                break;
+            }
+            fila[indice] = acima;
+            acima.indice = indice;
+            indice = pai;
+        }
+        fila[indice] = prazo;
+        prazo.indice = indice;
+    }
+
+    private void descer(int indice, Prazo prazo) {
+        int metade = tamanho >>> 1;
+        while (indice < metade) {
+            int filho = 2 * indice + 1;
+            Prazo abaixo = fila[filho];
+            int direito = filho + 1;
+            if (direito < tamanho
+                    && fila[direito].limiteNanos - abaixo.limiteNanos < 0) {
+                filho = direito;
+                abaixo = fila[filho];
+            }
+            if (prazo.limiteNanos - abaixo.limiteNanos <= 0) {
+                break;
+            }
+            fila[indice] = abaixo;
+            abaixo.indice = indice;
+            indice = filho;
+        }
+        fila[indice] = prazo;
+        prazo.indice = indice;
+    }
+
+    @Override
+    public void run() {
+        while (true) {
+            long agora = System.nanoTime();
+            Prazo prazo = vencido(agora);
+            if (prazo != null) {
+                try {
+                    prazo.tarefa.verificarTempoLimite(agora);
+                } catch (RuntimeException ex) {
+                    log.error("Exceção verificando o tempo limite do processo "
+                            + prazo.tarefa, ex);
+                }
+                continue;
+            }
+            // uma inclusão no topo depois daqui deixa a licença do unpark
+            long espera = espera(agora);
+            if (espera < 0) {
+                LockSupport.park(this);
+            } else {
+                LockSupport.parkNanos(this, espera);
+            }
+        }
+    }
+
+    /**
+     * Entrada do heap de uma execução vigiada, guardada pela tarefa.
+     */
+    static final class Prazo {
+
+        private final TarefaAgendada tarefa;
+        private long limiteNanos;
+        private int indice = -1;
+
+        Prazo(TarefaAgendada tarefa) {
+            this.tarefa = tarefa;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.fabriciojf.threadpool;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Acesso às threads virtuais da plataforma. Esta é a versão para Java 8, sem
+ * threads virtuais; o jar multi-release traz em META-INF/versions/21 a versão
+ * que as utiliza.
+ *
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Diz se a JVM em uso oferece threads virtuais.
+     *
+     * @return Verdadeiro se a JVM em uso oferece threads virtuais.
+     */
+    static boolean isDisponivel() {
+        return false;
+    }
+
+    /**
+     * Fábrica de threads virtuais nomeadas com o prefixo indicado seguido de
+     * um contador.
+     *
+     * @param prefixo Prefixo do nome das threads.
+     * @return Fábrica de threads virtuais.
+     */
+    static ThreadFactory fabrica(String prefixo) {
+        throw new UnsupportedOperationException(
+                "Threads virtuais exigem Java 21 ou superior");
+    }
+}
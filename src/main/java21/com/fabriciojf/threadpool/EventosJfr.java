@@ -0,0 +1,143 @@
+package com.fabriciojf.threadpool;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Eventos do JDK Flight Recorder para as execuções dos processos. Versão
+ * para Java 21 ou superior, publicada em META-INF/versions/21 do jar
+ * multi-release. Os eventos só custam algo enquanto houver uma gravação do
+ * Flight Recorder em andamento, por exemplo com
+ * {@code -XX:StartFlightRecording}.
+ *
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+final class EventosJfr {
+
+    private EventosJfr() {
+    }
+
+    /**
+     * Publica o agendamento de um processo.
+     *
+     * @param pool Nome do pool de threads.
+     * @param processo Nome do processo.
+     * @param atrasoNanos Atraso do primeiro disparo.
+     */
+    static void agendado(String pool, String processo, long atrasoNanos) {
+        Agendado evento = new Agendado();
+        if (evento.isEnabled()) {
+            evento.pool = pool;
+            evento.processo = processo;
+            evento.atraso = atrasoNanos;
+            evento.commit();
+        }
+    }
+
+    /**
+     * Publica uma execução concluída de um processo.
+     *
+     * @param pool Nome do pool de threads.
+     * @param processo Nome do processo.
+     * @param atrasoNanos Atraso do início em relação ao previsto.
+     * @param duracaoNanos Duração da execução.
+     * @param erro Exceção que encerrou a execução, ou nulo.
+     */
+    static void executado(String pool, String processo, long atrasoNanos,
+            long duracaoNanos, Throwable erro) {
+        Executado evento = new Executado();
+        if (evento.isEnabled()) {
+            evento.pool = pool;
+            evento.processo = processo;
+            evento.atraso = atrasoNanos;
+            evento.duracao = duracaoNanos;
+            evento.falha = erro == null ? null : erro.getClass().getName();
+            evento.commit();
+        }
+    }
+
+    /**
+     * Publica o cancelamento do agendamento de um processo.
+     *
+     * @param pool Nome do pool de threads.
+     * @param processo Nome do processo.
+     * @param imediatamente Se a execução em andamento foi interrompida.
+     */
+    static void cancelado(String pool, String processo,
+            boolean imediatamente) {
+        Cancelado evento = new Cancelado();
+        if (evento.isEnabled()) {
+            evento.pool = pool;
+            evento.processo = processo;
+            evento.imediatamente = imediatamente;
+            evento.commit();
+        }
+    }
+
+    @Name("com.fabriciojf.threadpool.Agendamento")
+    @Label("Agendamento de processo")
+    @Category("Thread Pool")
+    @StackTrace(false)
+    static final class Agendado extends Event {
+
+        @Label("Pool")
+        String pool;
+
+        @Label("Processo")
+        String processo;
+
+        @Label("Atraso")
+        @Description("Atraso do primeiro disparo")
+        @Timespan(Timespan.NANOSECONDS)
+        long atraso;
+    }
+
+    @Name("com.fabriciojf.threadpool.Execucao")
+    @Label("Execução de processo")
+    @Category("Thread Pool")
+    @StackTrace(false)
+    static final class Executado extends Event {
+
+        @Label("Pool")
+        String pool;
+
+        @Label("Processo")
+        String processo;
+
+        @Label("Atraso")
+        @Description("Atraso do início em relação ao disparo previsto")
+        @Timespan(Timespan.NANOSECONDS)
+        long atraso;
+
+        @Label("Duração")
+        @Timespan(Timespan.NANOSECONDS)
+        long duracao;
+
+        @Label("Falha")
+        @Description("Classe da exceção que encerrou a execução")
+        String falha;
+    }
+
+    @Name("com.fabriciojf.threadpool.Cancelamento")
+    @Label("Cancelamento de processo")
+    @Category("Thread Pool")
+    static final class Cancelado extends Event {
+
+        @Label("Pool")
+        String pool;
+
+        @Label("Processo")
+        String processo;
+
+        @Label("Imediatamente")
+        @Description("Se a execução em andamento foi interrompida")
+        boolean imediatamente;
+    }
+}
@@ -0,0 +1,37 @@
+package com.fabriciojf.threadpool;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Acesso às threads virtuais da plataforma. Versão para Java 21 ou superior,
+ * publicada em META-INF/versions/21 do jar multi-release.
+ *
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Diz se a JVM em uso oferece threads virtuais.
+     *
+     * @return Verdadeiro se a JVM em uso oferece threads virtuais.
+     */
+    static boolean isDisponivel() {
+        return true;
+    }
+
+    /**
+     * Fábrica de threads virtuais nomeadas com o prefixo indicado seguido de
+     * um contador.
+     *
+     * @param prefixo Prefixo do nome das threads.
+     * @return Fábrica de threads virtuais.
+     */
+    static ThreadFactory fabrica(String prefixo) {
+        return Thread.ofVirtual().name(prefixo, 0).factory();
+    }
+}
@@ -0,0 +1,136 @@
+package com.fabriciojf.threadpool;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Verifica que a execução periódica de um {@link LoopProcess} não aloca
+ * memória em nenhum dos motores. A thread do pool é medida com
+ * {@code ThreadMXBean.getThreadAllocatedBytes} ao longo de muitas execuções
+ * e comparada a um {@link ThreadPoolExecutor} puro alimentado no mesmo ritmo,
+ * porque a espera da própria thread por trabalho aloca alguns bytes em
+ * algumas versões do JDK. Como uma espera a mais de vez em quando também
+ * aloca, cada motor tem algumas tentativas e vale a menor medida.
+ *
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+public class AlocacaoPorExecucaoTest {
+
+    private static final int AQUECIMENTO = 500;
+    private static final int EXECUCOES = 2000;
+    // bem menor que o menor objeto, de 16 bytes, mesmo que alocado apenas
+    // a cada dez execuções
+    private static final double TOLERANCIA = 1;
+    private static final int TENTATIVAS = 3;
+
+    private final com.sun.management.ThreadMXBean threads
+            = (com.sun.management.ThreadMXBean)
+            ManagementFactory.getThreadMXBean();
+
+    @Test
+    public void execucaoPeriodicaNaoAloca() throws Exception {
+        assumeTrue(threads.isThreadAllocatedMemorySupported()
+                && threads.isThreadAllocatedMemoryEnabled());
+        double referencia = medirExecutorPuro();
+        for (SchedulerEnum motor : SchedulerEnum.values()) {
+            if (motor == SchedulerEnum.VIRTUAL_THREADS
+                    && VirtualThreads.isDisponivel()) {
+                // cada execução tem a sua própria thread, que não é medida
+                continue;
+            }
+            double processo = Double.MAX_VALUE;
+            for (int i = 0; i < TENTATIVAS
+                    && processo - referencia >= TOLERANCIA; i++) {
+                processo = Math.min(processo, medirProcesso(motor, i));
+            }
+            assertTrue(motor + ", bytes por execução: " + processo
+                    + ", referência: " + referencia,
+                    processo - referencia < TOLERANCIA);
+        }
+    }
+
+    private double medirProcesso(SchedulerEnum motor, int tentativa)
+            throws InterruptedException {
+        String nome = "alocacao-" + motor + "-" + tentativa;
+        PoolDeThreads.registrar(nome, 1, motor);
+        final Medidor medidor = new Medidor();
+        LoopProcess processo = new LoopProcess(nome) {
+            @Override
+            public void run() {
+                medidor.medir();
+            }
+        };
+        processo.setPoolDeThreads(nome);
+        processo.setRepeticao(RepetitionEnum.PERIODIC);
+        processo.setIntervalo(1, TimeUnit.MILLISECONDS);
+        processo.executar();
+        try {
+            return medidor.aguardar();
+        } finally {
+            processo.interromper();
+            Multiton.getInstance().obter(nome, PoolDeThreads.class)
+                    .shutdown(true);
+        }
+    }
+
+    private double medirExecutorPuro() throws InterruptedException {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0,
+                TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+        final Medidor medidor = new Medidor();
+        Runnable tarefa = new Runnable() {
+            @Override
+            public void run() {
+                medidor.medir();
+            }
+        };
+        try {
+            while (medidor.fim.getCount() > 0) {
+                executor.execute(tarefa);
+                Thread.sleep(1);
+            }
+            return medidor.aguardar();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Lê os bytes alocados pela thread atual no início e no fim da janela
+     * medida. Chamado sempre pela mesma thread.
+     */
+    private final class Medidor {
+
+        final CountDownLatch fim = new CountDownLatch(1);
+        private int execucoes;
+        private long inicio;
+        private long termino;
+
+        void medir() {
+            long bytes = threads.getThreadAllocatedBytes(
+                    Thread.currentThread().getId());
+            execucoes++;
+            if (execucoes == AQUECIMENTO) {
+                inicio = bytes;
+            } else if (execucoes == AQUECIMENTO + EXECUCOES) {
+                termino = bytes;
+                fim.countDown();
+            }
+        }
+
+        double aguardar() throws InterruptedException {
+            assertTrue("Execuções não concluídas",
+                    fim.await(60, TimeUnit.SECONDS));
+            return (termino - inicio) / (double) EXECUCOES;
+        }
+    }
+}
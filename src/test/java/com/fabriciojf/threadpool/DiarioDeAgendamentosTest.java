@@ -0,0 +1,243 @@
+package com.fabriciojf.threadpool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+/**
+ * Verifica a recuperação do {@link DiarioDeAgendamentos}: um último registro
+ * incompleto ou corrompido é descartado sem perder os anteriores, e as
+ * últimas execuções gravadas sem trava sobrevivem às compactações feitas
+ * enquanto outras threads gravam.
+ *
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+public class DiarioDeAgendamentosTest {
+
+    // posição do primeiro registro e tamanho do cabeçalho de cada registro,
+    // com o tamanho do conteúdo seguido do CRC
+    private static final int INICIO = 8;
+    private static final int CABECALHO = 8;
+
+    private static final int THREADS = 4;
+    private static final int EXECUCOES = 40000;
+
+    @Test
+    public void registroSemTamanhoEhDescartado() throws IOException {
+        File arquivo = criarDiario();
+        try {
+            int ultimo = ultimoRegistro(arquivo);
+            // interrompido antes de o tamanho ser escrito
+            RandomAccessFile acesso = new RandomAccessFile(arquivo, "rw");
+            try {
+                acesso.seek(ultimo);
+                acesso.writeInt(0);
+            } finally {
+                acesso.close();
+            }
+            conferirRecuperacao(arquivo);
+        } finally {
+            apagar(arquivo);
+        }
+    }
+
+    @Test
+    public void registroComCrcInvalidoEhDescartado() throws IOException {
+        File arquivo = criarDiario();
+        try {
+            int ultimo = ultimoRegistro(arquivo);
+            RandomAccessFile acesso = new RandomAccessFile(arquivo, "rw");
+            try {
+                // instante da execução, depois do tipo e do identificador
+                long posicao = ultimo + CABECALHO + 5;
+                acesso.seek(posicao);
+                long valor = acesso.readLong();
+                acesso.seek(posicao);
+                acesso.writeLong(valor ^ 1);
+            } finally {
+                acesso.close();
+            }
+            conferirRecuperacao(arquivo);
+        } finally {
+            apagar(arquivo);
+        }
+    }
+
+    @Test
+    public void arquivoTruncadoNoMeioDoRegistro() throws IOException {
+        File arquivo = criarDiario();
+        try {
+            int ultimo = ultimoRegistro(arquivo);
+            RandomAccessFile acesso = new RandomAccessFile(arquivo, "rw");
+            try {
+                acesso.setLength(ultimo + CABECALHO + 3);
+            } finally {
+                acesso.close();
+            }
+            conferirRecuperacao(arquivo);
+        } finally {
+            apagar(arquivo);
+        }
+    }
+
+    @Test
+    public void compactacaoDuranteExecucoesConcorrentes() throws Exception {
+        File arquivo = arquivoTemporario();
+        try {
+            final DiarioDeAgendamentos diario
+                    = DiarioDeAgendamentos.abrir(arquivo);
+            final int[] ids = new int[THREADS];
+            for (int i = 0; i < THREADS; i++) {
+                ids[i] = diario.registrar(registro("processo-" + i));
+            }
+            final CountDownLatch largada = new CountDownLatch(1);
+            final CountDownLatch fim = new CountDownLatch(THREADS);
+            final AtomicReference<Throwable> erro
+                    = new AtomicReference<Throwable>();
+            for (int i = 0; i < THREADS; i++) {
+                final int id = ids[i];
+                new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            largada.await();
+                            // cada execução grava 21 bytes: o arquivo enche
+                            // várias vezes
+                            for (int j = 1; j <= EXECUCOES; j++) {
+                                diario.executado(id, j);
+                            }
+                        } catch (Throwable ex) {
+                            erro.set(ex);
+                        } finally {
+                            fim.countDown();
+                        }
+                    }
+                }).start();
+            }
+            largada.countDown();
+            while (!fim.await(1, TimeUnit.MILLISECONDS)) {
+                diario.compactar();
+            }
+            assertEquals(null, erro.get());
+            for (int i = 0; i < THREADS; i++) {
+                assertEquals(EXECUCOES,
+                        diario.getUltimaExecucao("processo-" + i));
+            }
+            diario.close();
+            assertEquals(DiarioDeAgendamentos.CAPACIDADE_INICIAL,
+                    arquivo.length());
+
+            DiarioDeAgendamentos reaberto = DiarioDeAgendamentos.abrir(arquivo);
+            try {
+                for (int i = 0; i < THREADS; i++) {
+                    assertEquals(EXECUCOES,
+                            reaberto.getUltimaExecucao("processo-" + i));
+                }
+            } finally {
+                reaberto.close();
+            }
+        } finally {
+            apagar(arquivo);
+        }
+    }
+
+    /**
+     * Diário com dois processos cujo último registro é a terceira execução
+     * do primeiro processo.
+     */
+    private static File criarDiario() throws IOException {
+        File arquivo = arquivoTemporario();
+        DiarioDeAgendamentos diario = DiarioDeAgendamentos.abrir(arquivo);
+        try {
+            int primeiro = diario.registrar(registro("primeiro"));
+            int segundo = diario.registrar(registro("segundo"));
+            diario.executado(primeiro, 1000);
+            diario.executado(segundo, 2000);
+            diario.executado(primeiro, 3000);
+        } finally {
+            diario.close();
+        }
+        return arquivo;
+    }
+
+    /**
+     * Reabre o diário criado por {@link #criarDiario()} sem o último registro
+     * e confere que ele continua gravando normalmente.
+     */
+    private static void conferirRecuperacao(File arquivo) throws IOException {
+        DiarioDeAgendamentos diario = DiarioDeAgendamentos.abrir(arquivo);
+        try {
+            assertEquals(2, diario.getProcessos().size());
+            assertEquals(1000, diario.getUltimaExecucao("primeiro"));
+            assertEquals(2000, diario.getUltimaExecucao("segundo"));
+            diario.executado(diario.obter("primeiro").id, 4000);
+        } finally {
+            diario.close();
+        }
+        diario = DiarioDeAgendamentos.abrir(arquivo);
+        try {
+            assertEquals(4000, diario.getUltimaExecucao("primeiro"));
+            assertEquals(2000, diario.getUltimaExecucao("segundo"));
+        } finally {
+            diario.close();
+        }
+    }
+
+    /**
+     * Percorre os registros do arquivo como a recuperação do diário.
+     *
+     * @return Posição do último registro.
+     */
+    private static int ultimoRegistro(File arquivo) throws IOException {
+        RandomAccessFile acesso = new RandomAccessFile(arquivo, "r");
+        try {
+            int atual = INICIO;
+            int ultimo = -1;
+            while (atual + CABECALHO <= acesso.length()) {
+                acesso.seek(atual);
+                int tamanho = acesso.readInt();
+                if (tamanho <= 0) {
+                    break;
+                }
+                ultimo = atual;
+                atual += CABECALHO + tamanho;
+            }
+            assertTrue("Diário sem registros", ultimo >= 0);
+            return ultimo;
+        } finally {
+            acesso.close();
+        }
+    }
+
+    private static DiarioDeAgendamentos.Registro registro(String nome) {
+        DiarioDeAgendamentos.Registro registro
+                = new DiarioDeAgendamentos.Registro();
+        registro.nome = nome;
+        registro.pool = "diario";
+        registro.repeticao = RepetitionEnum.PERIODIC;
+        registro.intervaloNanos = TimeUnit.SECONDS.toNanos(1);
+        return registro;
+    }
+
+    private static File arquivoTemporario() throws IOException {
+        File arquivo = File.createTempFile("diario", ".bin");
+        // o diário cria o arquivo ao abrir
+        assertTrue(arquivo.delete());
+        return arquivo;
+    }
+
+    private static void apagar(File arquivo) {
+        arquivo.delete();
+        new File(arquivo.getPath() + ".tmp").delete();
+    }
+}
@@ -0,0 +1,212 @@
+package com.fabriciojf.threadpool;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Verifica o cálculo do próximo disparo de {@link ExpressaoCron}: as
+ * transições de horário de verão, a combinação de dia do mês com dia da
+ * semana e, para expressões variadas, o resultado de uma busca exaustiva que
+ * percorre o calendário segundo a segundo, ou minuto a minuto, com
+ * {@code java.time}.
+ *
+ * @author Fabricio S Costa fabriciojf@gmail.com
+ * @since 17/10/2026
+ * @version 1.0
+ */
+public class ExpressaoCronTest {
+
+    private static final ZoneId NOVA_YORK = ZoneId.of("America/New_York");
+    private static final ZoneId SAO_PAULO = ZoneId.of("America/Sao_Paulo");
+    private static final ZoneId UTC = ZoneOffset.UTC;
+
+    @Test
+    public void horarioPuladoDisparaNaTransicao() {
+        // 08/03/2026: 02:00 salta para 03:00
+        assertDisparos("0 30 2 * * *", NOVA_YORK, "2026-03-07T00:00-05:00",
+                "2026-03-07T02:30-05:00",
+                "2026-03-08T03:00-04:00",
+                "2026-03-09T02:30-04:00");
+    }
+
+    @Test
+    public void variosHorariosPuladosDisparamUmaVez() {
+        assertDisparos("0 */15 2 * * *", NOVA_YORK, "2026-03-08T00:00-05:00",
+                "2026-03-08T03:00-04:00",
+                "2026-03-09T02:00-04:00",
+                "2026-03-09T02:15-04:00");
+        assertDisparos("0 0 3 * * *", NOVA_YORK, "2026-03-08T00:00-05:00",
+                "2026-03-08T03:00-04:00",
+                "2026-03-09T03:00-04:00");
+    }
+
+    @Test
+    public void saltoDaMeiaNoite() {
+        // 04/11/2018: 00:00 salta para 01:00
+        assertDisparos("0 30 0 * * *", SAO_PAULO, "2018-11-03T00:00-03:00",
+                "2018-11-03T00:30-03:00",
+                "2018-11-04T01:00-02:00",
+                "2018-11-05T00:30-02:00");
+    }
+
+    @Test
+    public void horarioRepetidoDisparaNaPrimeiraPassagem() {
+        // 01/11/2026: 02:00 volta para 01:00
+        assertDisparos("0 30 1 * * *", NOVA_YORK, "2026-10-31T00:00-04:00",
+                "2026-10-31T01:30-04:00",
+                "2026-11-01T01:30-04:00",
+                "2026-11-02T01:30-05:00");
+        assertDisparos("0 * * * * *", NOVA_YORK, "2026-11-01T01:58:30-04:00",
+                "2026-11-01T01:59-04:00",
+                "2026-11-01T02:00-05:00",
+                "2026-11-01T02:01-05:00");
+    }
+
+    @Test
+    public void diaDoMesOuDiaDaSemana() {
+        // 13/04/2026 é uma segunda-feira
+        assertDisparos("0 0 13 * 5", UTC, "2026-04-01T00:00Z",
+                "2026-04-03T00:00Z",
+                "2026-04-10T00:00Z",
+                "2026-04-13T00:00Z",
+                "2026-04-17T00:00Z");
+        assertDisparos("0 0 * * FRI", UTC, "2026-04-01T00:00Z",
+                "2026-04-03T00:00Z",
+                "2026-04-10T00:00Z",
+                "2026-04-17T00:00Z");
+        assertDisparos("0 0 13 * ?", UTC, "2026-04-01T00:00Z",
+                "2026-04-13T00:00Z",
+                "2026-05-13T00:00Z");
+        assertDisparos("0 0 13 * 7", UTC, "2026-04-01T00:00Z",
+                "2026-04-05T00:00Z",
+                "2026-04-12T00:00Z",
+                "2026-04-13T00:00Z");
+    }
+
+    @Test
+    public void diasInexistentes() {
+        assertDisparos("0 0 29 2 *", UTC, "2026-02-01T00:00Z",
+                "2028-02-29T00:00Z",
+                "2032-02-29T00:00Z");
+        assertEquals(ExpressaoCron.NENHUM,
+                ExpressaoCron.compilar("0 0 30 2 *", UTC).proximo(0));
+    }
+
+    @Test
+    public void conferePorBuscaExaustiva() {
+        conferir("*/5 * 9-17 * * MON-FRI", 1, new Regra() {
+            @Override
+            public boolean confere(ZonedDateTime t) {
+                return t.getSecond() % 5 == 0 && t.getHour() >= 9
+                        && t.getHour() <= 17
+                        && t.getDayOfWeek().getValue() <= 5;
+            }
+        });
+        conferir("0 0 13 * 5", 60, new Regra() {
+            @Override
+            public boolean confere(ZonedDateTime t) {
+                return t.getMinute() == 0 && t.getHour() == 0
+                        && (t.getDayOfMonth() == 13
+                        || t.getDayOfWeek() == DayOfWeek.FRIDAY);
+            }
+        });
+        conferir("30 4 1,15 * *", 60, new Regra() {
+            @Override
+            public boolean confere(ZonedDateTime t) {
+                return t.getMinute() == 30 && t.getHour() == 4
+                        && (t.getDayOfMonth() == 1
+                        || t.getDayOfMonth() == 15);
+            }
+        });
+        conferir("15,45 7-19/4 * JAN,JUL,OCT-DEC SUN", 60, new Regra() {
+            @Override
+            public boolean confere(ZonedDateTime t) {
+                int mes = t.getMonthValue();
+                return (t.getMinute() == 15 || t.getMinute() == 45)
+                        && t.getHour() >= 7 && (t.getHour() - 7) % 4 == 0
+                        && (mes == 1 || mes == 7 || mes >= 10)
+                        && t.getDayOfWeek() == DayOfWeek.SUNDAY;
+            }
+        });
+        conferir("@weekly", 60, new Regra() {
+            @Override
+            public boolean confere(ZonedDateTime t) {
+                return t.getMinute() == 0 && t.getHour() == 0
+                        && t.getDayOfWeek() == DayOfWeek.SUNDAY;
+            }
+        });
+    }
+
+    /**
+     * Regra equivalente a uma expressão, escrita diretamente sobre os campos
+     * do horário local.
+     */
+    private interface Regra {
+
+        boolean confere(ZonedDateTime t);
+    }
+
+    /**
+     * Compara a expressão com a regra a partir de instantes sorteados,
+     * inclusive o próprio disparo anterior, em UTC e em um fuso de
+     * deslocamento fixo.
+     */
+    private static void conferir(String expressao, int passoSegundos,
+            Regra regra) {
+        Random sorteio = new Random(expressao.hashCode());
+        long inicio = OffsetDateTime.parse("2026-01-01T00:00Z").toInstant()
+                .toEpochMilli();
+        long ano = 366L * 24 * 60 * 60 * 1000;
+        for (ZoneId fuso : new ZoneId[]{UTC, ZoneOffset.ofHours(-3)}) {
+            ExpressaoCron cron = ExpressaoCron.compilar(expressao, fuso);
+            for (int i = 0; i < 20; i++) {
+                long depoisDe = inicio + (long) (sorteio.nextDouble() * ano);
+                for (int j = 0; j < 3; j++) {
+                    long esperado = buscar(regra, fuso, depoisDe,
+                            passoSegundos);
+                    long obtido = cron.proximo(depoisDe);
+                    assertEquals(expressao + " em " + fuso + " depois de "
+                            + Instant.ofEpochMilli(depoisDe), esperado,
+                            obtido);
+                    depoisDe = obtido;
+                }
+            }
+        }
+    }
+
+    /**
+     * Primeiro instante estritamente posterior ao informado, múltiplo do
+     * passo, que confere com a regra.
+     */
+    private static long buscar(Regra regra, ZoneId fuso, long depoisDe,
+            int passoSegundos) {
+        long segundo = Math.floorDiv(depoisDe, 1000) + 1;
+        segundo += Math.floorMod(-segundo, passoSegundos);
+        ZonedDateTime t = Instant.ofEpochSecond(segundo).atZone(fuso);
+        while (!regra.confere(t)) {
+            t = t.plusSeconds(passoSegundos);
+        }
+        return t.toInstant().toEpochMilli();
+    }
+
+    private static void assertDisparos(String expressao, ZoneId fuso,
+            String desde, String... esperados) {
+        ExpressaoCron cron = ExpressaoCron.compilar(expressao, fuso);
+        long instante = OffsetDateTime.parse(desde).toInstant().toEpochMilli();
+        for (String esperado : esperados) {
+            instante = cron.proximo(instante);
+            assertEquals(expressao + " depois de " + desde,
+                    OffsetDateTime.parse(esperado).toInstant(),
+                    Instant.ofEpochMilli(instante));
+        }
+    }
+}